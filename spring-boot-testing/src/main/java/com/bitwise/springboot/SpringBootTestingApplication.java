@@ -1,13 +1,22 @@
 package com.bitwise.springboot;
 
+import com.bitwise.springboot.config.EmployeeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(EmployeeRuntimeHints.class)
 public class SpringBootTestingApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(SpringBootTestingApplication.class, args);
+		SpringApplication application = new SpringApplication(SpringBootTestingApplication.class);
+		// Records the startup steps for the startup report and the /actuator/startup endpoint
+		application.setApplicationStartup(new BufferingApplicationStartup(10000));
+		application.run(args);
 	}
 
 }
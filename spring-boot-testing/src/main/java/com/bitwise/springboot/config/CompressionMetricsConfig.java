@@ -0,0 +1,28 @@
+package com.bitwise.springboot.config;
+
+import com.bitwise.springboot.filter.CompressionMetricsValve;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Per endpoint metrics of the response compression done by the embedded server, see
+ * {@link CompressionMetricsValve}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionMetricsConfig {
+
+    // The registry is only looked up once requests come in, the server is created before it
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> compressionMetricsCustomizer(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return factory -> factory.addContextValves(
+            new CompressionMetricsValve(SingletonSupplier.of(meterRegistry::getIfAvailable)));
+    }
+}
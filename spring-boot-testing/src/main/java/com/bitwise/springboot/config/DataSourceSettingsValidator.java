@@ -0,0 +1,121 @@
+package com.bitwise.springboot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Checks the production datasource settings at startup and keeps comparing the pool size
+ * with the load the pool actually sees, logging a warning when they do not match.
+ */
+@Component
+@Profile("prod")
+public class DataSourceSettingsValidator {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceSettingsValidator.class);
+
+    private static final Map<String, String> REQUIRED_DRIVER_PROPERTIES = Map.of(
+        "cachePrepStmts", "true",
+        "useServerPrepStmts", "true",
+        "rewriteBatchedStatements", "true");
+
+    private static final int MIN_PREPARED_STATEMENT_CACHE_SIZE = 100;
+
+    private final HikariDataSource dataSource;
+    private final int webThreads;
+
+    private int peakActive;
+    private int peakWaiting;
+    private int samples;
+
+    public DataSourceSettingsValidator(DataSource dataSource,
+                                       @Value("${server.tomcat.threads.max:200}") int webThreads) {
+        // Unwraps the query timeout wrapper
+        this.dataSource = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+        this.webThreads = webThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validateSettings() {
+        checkSettings().forEach(log::warn);
+    }
+
+    List<String> checkSettings() {
+        List<String> problems = new ArrayList<>();
+        if (dataSource == null) {
+            problems.add("The datasource is not a Hikari pool, its settings can not be validated");
+            return problems;
+        }
+
+        Properties driverProperties = dataSource.getDataSourceProperties();
+        REQUIRED_DRIVER_PROPERTIES.forEach((name, value) -> {
+            if (!value.equalsIgnoreCase(driverProperties.getProperty(name))
+                    && !dataSource.getJdbcUrl().contains(name + "=" + value)) {
+                problems.add("Driver property " + name + " should be set to " + value);
+            }
+        });
+
+        int cacheSize = Integer.parseInt(driverProperties.getProperty("prepStmtCacheSize", "25"));
+        if (cacheSize < MIN_PREPARED_STATEMENT_CACHE_SIZE) {
+            problems.add("prepStmtCacheSize is " + cacheSize + ", it should be at least "
+                + MIN_PREPARED_STATEMENT_CACHE_SIZE + " to hold every repository query");
+        }
+
+        if (dataSource.getMaximumPoolSize() > webThreads) {
+            problems.add("maximum-pool-size (" + dataSource.getMaximumPoolSize() + ") is larger than the "
+                + webThreads + " request threads, the extra connections are never used");
+        }
+
+        if (dataSource.getMinimumIdle() != dataSource.getMaximumPoolSize()) {
+            problems.add("minimum-idle (" + dataSource.getMinimumIdle() + ") differs from maximum-pool-size ("
+                + dataSource.getMaximumPoolSize() + "), the pool will open connections under load spikes");
+        }
+
+        return problems;
+    }
+
+    /**
+     * Samples the pool and, once per window, reports whether it was saturated or mostly idle.
+     */
+    @Scheduled(fixedDelayString = "${employee.datasource.sample-interval:5000}")
+    public void sampleLoad() {
+        HikariPoolMXBean pool = dataSource != null ? dataSource.getHikariPoolMXBean() : null;
+        if (pool == null) {
+            return;
+        }
+
+        peakActive = Math.max(peakActive, pool.getActiveConnections());
+        peakWaiting = Math.max(peakWaiting, pool.getThreadsAwaitingConnection());
+
+        if (++samples < 12) {
+            return;
+        }
+
+        int maximumPoolSize = dataSource.getMaximumPoolSize();
+        if (peakWaiting > 0) {
+            log.warn("Connection pool saturated: up to {} threads waited for one of the {} connections",
+                peakWaiting, maximumPoolSize);
+        } else if (peakActive < maximumPoolSize / 4) {
+            log.info("Connection pool mostly idle: at most {} of {} connections were in use",
+                peakActive, maximumPoolSize);
+        }
+
+        peakActive = 0;
+        peakWaiting = 0;
+        samples = 0;
+    }
+}
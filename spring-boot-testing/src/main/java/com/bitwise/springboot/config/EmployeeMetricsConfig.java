@@ -0,0 +1,176 @@
+package com.bitwise.springboot.config;
+
+import com.bitwise.springboot.event.EmployeeEventBroadcaster;
+import com.bitwise.springboot.limit.AdaptiveConcurrencyLimiter;
+import com.bitwise.springboot.limit.Bulkhead;
+import com.bitwise.springboot.limit.CircuitBreaker;
+import com.bitwise.springboot.limit.ConcurrencyLimitAspect;
+import com.bitwise.springboot.limit.OperationType;
+import com.bitwise.springboot.limit.RepositoryGuardAspect;
+import com.bitwise.springboot.limit.RepositoryOperation;
+import com.bitwise.springboot.service.AsyncEmployeeServiceImpl;
+import com.bitwise.springboot.service.EmployeeCache;
+import com.bitwise.springboot.service.EmployeeEmailFilter;
+import com.bitwise.springboot.service.EmployeeLookupCoalescer;
+import com.bitwise.springboot.service.EmployeeServiceImpl;
+import com.bitwise.springboot.service.WriteBehindEmployeeService;
+import com.bitwise.springboot.warmup.EmployeeWarmUp;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EmployeeMetricsConfig {
+
+    @Bean
+    public MeterBinder employeeLookupMetrics(EmployeeServiceImpl employeeService) {
+        EmployeeLookupCoalescer lookups = employeeService.getEmployeeLookups();
+
+        return registry -> {
+            FunctionCounter.builder("employee.lookups", lookups, EmployeeLookupCoalescer::getLookups)
+                .description("Employee lookups by id")
+                .register(registry);
+            FunctionCounter.builder("employee.lookups.database.calls", lookups, EmployeeLookupCoalescer::getDatabaseCalls)
+                .description("Database calls made for employee lookups by id")
+                .register(registry);
+            FunctionCounter.builder("employee.lookups.saved.calls", lookups, EmployeeLookupCoalescer::getSavedCalls)
+                .description("Employee lookups served by a shared in-flight call or batch")
+                .register(registry);
+            FunctionCounter.builder("employee.lookups.batches", lookups, EmployeeLookupCoalescer::getBatches)
+                .register(registry);
+            Gauge.builder("employee.lookups.last.batch.saved", lookups, EmployeeLookupCoalescer::getLastBatchSaved)
+                .description("Database calls saved by the last batch")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder employeeCacheMetrics(EmployeeServiceImpl employeeService, ObjectProvider<EmployeeWarmUp> warmUp) {
+        EmployeeCache cache = employeeService.getEmployeeCache();
+
+        return registry -> {
+            FunctionCounter.builder("employee.cache.gets", cache, EmployeeCache::getHits)
+                .tag("result", "hit")
+                .register(registry);
+            FunctionCounter.builder("employee.cache.gets", cache, EmployeeCache::getMisses)
+                .tag("result", "miss")
+                .register(registry);
+            FunctionCounter.builder("employee.cache.stale.puts", cache, EmployeeCache::getStalePuts)
+                .description("Employees not cached because they changed while being loaded")
+                .register(registry);
+            Gauge.builder("employee.cache.size", cache, EmployeeCache::size)
+                .register(registry);
+            Gauge.builder("employee.cache.tenants", cache, EmployeeCache::getTenantCount)
+                .description("Tenants with employees in the cache, each keeps its fair share of the max size")
+                .register(registry);
+            warmUp.ifAvailable(employeeWarmUp -> Gauge.builder("employee.cache.warmed.up", employeeWarmUp, EmployeeWarmUp::getWarmedUp)
+                .description("Employees loaded into the cache by the startup warm-up")
+                .register(registry));
+        };
+    }
+
+    @Bean
+    public MeterBinder employeeWriteBehindMetrics(ObjectProvider<WriteBehindEmployeeService> writeBehind) {
+        return registry -> writeBehind.ifAvailable(service ->
+            FunctionCounter.builder("employee.write.behind.rejected", service, WriteBehindEmployeeService::getRejected)
+                .description("Pending employee updates dropped because the database rejected them")
+                .register(registry));
+    }
+
+    @Bean
+    public MeterBinder employeeAsyncMetrics(AsyncEmployeeServiceImpl asyncEmployeeService) {
+        return registry -> {
+            Gauge.builder("employee.async.active.calls", asyncEmployeeService, AsyncEmployeeServiceImpl::getActiveCount)
+                .register(registry);
+            Gauge.builder("employee.async.queued.calls", asyncEmployeeService, AsyncEmployeeServiceImpl::getQueueSize)
+                .description("Async employee calls waiting for a thread")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder employeeStreamMetrics(EmployeeEventBroadcaster broadcaster) {
+        return registry -> {
+            Gauge.builder("employee.stream.subscribers", broadcaster, EmployeeEventBroadcaster::getSubscriberCount)
+                .description("Connected employee change stream subscribers")
+                .register(registry);
+            FunctionCounter.builder("employee.stream.dropped.events", broadcaster, EmployeeEventBroadcaster::getDroppedEvents)
+                .description("Events dropped for slow employee change stream subscribers")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder employeeConcurrencyLimitMetrics(ObjectProvider<ConcurrencyLimitAspect> concurrencyLimits) {
+        return registry -> concurrencyLimits.ifAvailable(limits -> {
+            for (OperationType type : OperationType.values()) {
+                AdaptiveConcurrencyLimiter limiter = limits.getLimiter(type);
+                Gauge.builder("employee.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("type", type.name())
+                    .register(registry);
+                Gauge.builder("employee.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("type", type.name())
+                    .register(registry);
+                FunctionCounter.builder("employee.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .tag("type", type.name())
+                    .description("Employee service calls rejected by the concurrency limit")
+                    .register(registry);
+            }
+        });
+    }
+
+    @Bean
+    public MeterBinder employeeBulkheadMetrics(ObjectProvider<RepositoryGuardAspect> repositoryGuard) {
+        return registry -> repositoryGuard.ifAvailable(guard -> {
+            for (RepositoryOperation operation : RepositoryOperation.values()) {
+                Bulkhead bulkhead = guard.getBulkhead(operation);
+                Gauge.builder("employee.bulkhead.active.calls", bulkhead, Bulkhead::getActiveCalls)
+                    .tag("bulkhead", bulkhead.getName())
+                    .register(registry);
+                Gauge.builder("employee.bulkhead.max.calls", bulkhead, Bulkhead::getMaxConcurrentCalls)
+                    .tag("bulkhead", bulkhead.getName())
+                    .register(registry);
+                Gauge.builder("employee.bulkhead.saturation", bulkhead, Bulkhead::getSaturation)
+                    .tag("bulkhead", bulkhead.getName())
+                    .description("Share of the bulkhead's permits in use")
+                    .register(registry);
+                FunctionCounter.builder("employee.bulkhead.rejected", bulkhead, Bulkhead::getRejected)
+                    .tag("bulkhead", bulkhead.getName())
+                    .register(registry);
+            }
+            Gauge.builder("employee.circuit.breaker.open", guard.getCircuitBreaker(),
+                    breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("1 while the employee database circuit breaker is open or half-open")
+                .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder employeeEmailFilterMetrics(ObjectProvider<EmployeeEmailFilter> emailFilter) {
+        return registry -> emailFilter.ifAvailable(filter -> {
+            FunctionCounter.builder("employee.email.filter.checks", filter, EmployeeEmailFilter::getAbsent)
+                .tag("result", "absent")
+                .description("Employee creates whose email the filter ruled out, skipping the lookup")
+                .register(registry);
+            FunctionCounter.builder("employee.email.filter.checks", filter, EmployeeEmailFilter::getMaybe)
+                .tag("result", "maybe")
+                .register(registry);
+            FunctionCounter.builder("employee.email.filter.false.positives", filter, EmployeeEmailFilter::getFalsePositives)
+                .description("Emails the filter answered maybe for that were not taken")
+                .register(registry);
+            Gauge.builder("employee.email.filter.false.positive.rate", filter, EmployeeEmailFilter::getFalsePositiveRate)
+                .description("Observed share of the emails not taken that still needed a lookup")
+                .register(registry);
+            Gauge.builder("employee.email.filter.expected.false.positive.rate", filter, EmployeeEmailFilter::getExpectedFalsePositiveRate)
+                .register(registry);
+            Gauge.builder("employee.email.filter.emails", filter, EmployeeEmailFilter::getEmails)
+                .register(registry);
+            Gauge.builder("employee.email.filter.memory", filter, EmployeeEmailFilter::getSizeInBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.bitwise.springboot.config;
+
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.hibernate.RequestStatisticsCollector;
+import com.bitwise.springboot.id.EmployeeIdGenerator;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import com.bitwise.springboot.model.EmployeeStats;
+import com.bitwise.springboot.tenant.TenantIdentifierResolver;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Native image metadata for what AOT processing of the context does not find by itself. Entities,
+ * repositories, aspects and controller bodies are covered by Spring's AOT processing; this adds
+ * the types serialized with the ObjectMapper outside of controllers, the Hibernate id generator
+ * and the Lucene attribute classes, which are instantiated reflectively.
+ */
+public class EmployeeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<String> LUCENE_ATTRIBUTES = List.of(
+        "org.apache.lucene.analysis.tokenattributes.BytesTermAttributeImpl",
+        "org.apache.lucene.analysis.tokenattributes.CharTermAttributeImpl",
+        "org.apache.lucene.analysis.tokenattributes.FlagsAttributeImpl",
+        "org.apache.lucene.analysis.tokenattributes.KeywordAttributeImpl",
+        "org.apache.lucene.analysis.tokenattributes.OffsetAttributeImpl",
+        "org.apache.lucene.analysis.tokenattributes.PackedTokenAttributeImpl",
+        "org.apache.lucene.analysis.tokenattributes.PayloadAttributeImpl",
+        "org.apache.lucene.analysis.tokenattributes.PositionIncrementAttributeImpl",
+        "org.apache.lucene.analysis.tokenattributes.PositionLengthAttributeImpl",
+        "org.apache.lucene.analysis.tokenattributes.SentenceAttributeImpl",
+        "org.apache.lucene.analysis.tokenattributes.TermFrequencyAttributeImpl",
+        "org.apache.lucene.analysis.tokenattributes.TypeAttributeImpl",
+        "org.apache.lucene.search.BoostAttributeImpl",
+        "org.apache.lucene.search.FuzzyTermsEnum$AutomatonAttributeImpl",
+        "org.apache.lucene.search.MaxNonCompetitiveBoostAttributeImpl");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Journal, outbox payloads, the event file and the change stream
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+            Employee.class, EmployeeLookupResult.class, EmployeeStats.class, EmployeeOutboxEvent.class, EmployeeChangedEvent.class);
+        hints.reflection().registerType(TypeReference.of("com.bitwise.springboot.service.EmployeeUpdateJournal$Entry"),
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+
+        // Created by Hibernate from the @EmployeeId annotation and from application.properties
+        hints.reflection().registerType(EmployeeIdGenerator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(RequestStatisticsCollector.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(TenantIdentifierResolver.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        for (String attribute : LUCENE_ATTRIBUTES) {
+            hints.reflection().registerType(TypeReference.of(attribute), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        hints.resources().registerPattern("META-INF/services/org.apache.lucene.*");
+
+        // Schema migrations, found by scanning the class path
+        hints.resources().registerPattern("db/migration/*/*.sql");
+    }
+}
@@ -0,0 +1,75 @@
+package com.bitwise.springboot.config;
+
+import com.bitwise.springboot.id.EmployeeIdGenerator;
+import com.bitwise.springboot.id.IdAllocator;
+import com.bitwise.springboot.id.PrefetchingIdAllocator;
+import com.bitwise.springboot.id.SequenceIdBlockSource;
+import com.bitwise.springboot.id.SnowflakeIdGenerator;
+import com.bitwise.springboot.id.TableHiLoIdBlockSource;
+import com.bitwise.springboot.shard.Shards;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Chooses how employee ids are generated (employee.id.generator):
+ * <ul>
+ *     <li>time-ordered: 64-bit snowflake-style ids, no database access at all</li>
+ *     <li>sequence: blocks of a pooled database sequence</li>
+ *     <li>table: hi/lo blocks from the id_blocks table, for MySQL</li>
+ * </ul>
+ * The sequence and the table come with the schema migrations. Time-ordered ids are only unique if
+ * every instance writing to the same database has its own employee.id.node-id, so it has no default.
+ */
+@Configuration
+public class IdGenerationConfig {
+
+    private final String generator;
+    private final Long nodeId;
+
+    public IdGenerationConfig(@Value("${employee.id.generator:time-ordered}") String generator,
+                              @Value("${employee.id.node-id:#{null}}") Long nodeId) {
+        // Checked on startup, the allocator itself is only created with the first id
+        if ("time-ordered".equals(generator) && nodeId == null) {
+            throw new IllegalStateException("employee.id.node-id must be set to the node id of this instance (0-1023) "
+                + "for employee.id.generator=time-ordered");
+        }
+        this.generator = generator;
+        this.nodeId = nodeId;
+    }
+
+    // Created with the first id, the sequence and the table are migrated by then
+    @Bean
+    @Lazy
+    public IdAllocator employeeIdAllocator(@Value("${employee.id.block-size:1000}") int blockSize,
+                                           JdbcTemplate jdbcTemplate,
+                                           TransactionTemplate transactionTemplate) {
+        return switch (generator) {
+            case "time-ordered" -> new SnowflakeIdGenerator(nodeId);
+            case "sequence" -> {
+                SequenceIdBlockSource source = new SequenceIdBlockSource(jdbcTemplate, "employee_id_seq", blockSize);
+                source.validate();
+                yield new PrefetchingIdAllocator(source, blockSize / 2);
+            }
+            case "table" -> {
+                TableHiLoIdBlockSource source = new TableHiLoIdBlockSource(jdbcTemplate, transactionTemplate, "employees", blockSize);
+                yield new PrefetchingIdAllocator(source, blockSize / 2);
+            }
+            default -> throw new IllegalStateException("Unknown employee.id.generator: " + generator);
+        };
+    }
+
+    /**
+     * Hands the allocator to {@link EmployeeIdGenerator} through the Hibernate settings.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer employeeIdSource(ObjectProvider<IdAllocator> employeeIdAllocator, Shards shards) {
+        return properties -> properties.put(EmployeeIdGenerator.ID_SOURCE,
+            shards.idSource(() -> employeeIdAllocator.getObject().nextId()));
+    }
+}
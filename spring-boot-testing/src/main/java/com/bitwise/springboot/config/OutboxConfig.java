@@ -0,0 +1,34 @@
+package com.bitwise.springboot.config;
+
+import com.bitwise.springboot.outbox.EmployeeEventPublisher;
+import com.bitwise.springboot.outbox.FileEmployeeEventPublisher;
+import com.bitwise.springboot.outbox.InMemoryEmployeeEventPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Picks the outbox publisher with employee.outbox.publisher. A broker-backed publisher can be
+ * plugged in by declaring an {@link EmployeeEventPublisher} bean.
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.outbox.publisher", havingValue = "file")
+    public EmployeeEventPublisher fileEmployeeEventPublisher(@Value("${employee.outbox.file}") Path path,
+                                                             ObjectMapper objectMapper) {
+        return new FileEmployeeEventPublisher(path, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EmployeeEventPublisher inMemoryEmployeeEventPublisher(@Value("${employee.outbox.memory-capacity:10000}") int capacity) {
+        return new InMemoryEmployeeEventPublisher(capacity);
+    }
+}
@@ -0,0 +1,34 @@
+package com.bitwise.springboot.config;
+
+import com.bitwise.springboot.limit.QueryTimeoutDataSource;
+import com.bitwise.springboot.shard.ShardRoutingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Applies the query timeouts of the repository guard (see {@code RepositoryGuardAspect}) to the
+ * statements, so only with {@code employee.bulkhead.enabled}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.bulkhead.enabled", havingValue = "true")
+public class QueryTimeoutConfig {
+
+    // Sharding wraps each shard itself, the routing data source only hands out their connections
+    @Bean
+    public static BeanPostProcessor queryTimeoutDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryTimeoutDataSource)
+                        && !(bean instanceof ShardRoutingDataSource)) {
+                    return new QueryTimeoutDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.bitwise.springboot.config;
+
+import com.bitwise.springboot.migration.SchemaMigrationStrategy;
+import com.bitwise.springboot.shard.ShardRoutingDataSource;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Migrates the schema with Flyway, which Spring Boot runs before the entity manager factory is
+ * created, so Hibernate validates the mapping against the migrated schema. With sharding every
+ * shard is migrated.
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+    @Bean
+    public FlywayMigrationStrategy schemaMigrationStrategy(DataSource dataSource) {
+        return new SchemaMigrationStrategy(dataSource instanceof ShardRoutingDataSource routing
+            ? routing.getShards()
+            : List.of(dataSource));
+    }
+}
@@ -0,0 +1,17 @@
+package com.bitwise.springboot.config;
+
+import com.bitwise.springboot.search.EmployeeSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class SearchConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmployeeSearchIndex employeeSearchIndex(@Value("${employee.search.index-path:}") String indexPath) {
+        return new EmployeeSearchIndex(indexPath.isBlank() ? null : Path.of(indexPath));
+    }
+}
@@ -0,0 +1,62 @@
+package com.bitwise.springboot.config;
+
+import com.bitwise.springboot.limit.QueryTimeoutDataSource;
+import com.bitwise.springboot.shard.ShardRoutingDataSource;
+import com.bitwise.springboot.tracing.ObservedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spreads employees over the databases listed in {@code employee.sharding.urls}. The first one
+ * also holds the email to shard directory, keyed by tenant and email. The schema migrations run
+ * on all of them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    public ShardingConfig(@Value("${employee.lookup.batch-window:0ms}") Duration lookupBatchWindow) {
+        // Batched lookups are loaded on a background thread, outside of the shard of each id
+        if (!lookupBatchWindow.isZero()) {
+            throw new IllegalStateException("employee.lookup.batch-window must be 0ms when sharding is enabled");
+        }
+    }
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(@Value("${employee.sharding.urls}") List<String> urls,
+                                             @Value("${employee.sharding.username:sa}") String username,
+                                             @Value("${employee.sharding.password:}") String password,
+                                             @Value("${employee.tracing.enabled:true}") boolean tracing,
+                                             @Value("${employee.bulkhead.enabled:false}") boolean queryTimeouts,
+                                             ObjectProvider<ObservationRegistry> observationRegistry) {
+        SingletonSupplier<ObservationRegistry> registry =
+            SingletonSupplier.of(() -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        List<DataSource> shards = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariDataSource shard = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+            shard.setPoolName("shard-" + shards.size());
+            DataSource timed = queryTimeouts ? new QueryTimeoutDataSource(shard) : shard;
+            shards.add(tracing ? new ObservedDataSource(timed, registry) : timed);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bitwise.springboot.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Beans that must be created at startup even with lazy initialization (the lazy profile):
+     * {@link SmartInitializingSingleton} callbacks only run for beans that exist at startup.
+     * Beans with scheduled methods are kept eager by Spring Boot itself.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(SmartInitializingSingleton.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.bitwise.springboot.config;
+
+import com.bitwise.springboot.shard.ShardRoutingDataSource;
+import com.bitwise.springboot.tracing.FileSpanExporter;
+import com.bitwise.springboot.tracing.InMemorySpanExporter;
+import com.bitwise.springboot.tracing.ObservedDataSource;
+import com.bitwise.springboot.tracing.SpanExporter;
+import com.bitwise.springboot.tracing.SpanRecordingHandler;
+import com.bitwise.springboot.tracing.TailSampler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Traces requests through the controller, the service and the JDBC statements. Spans are kept by
+ * a tail sampler and exported with employee.tracing.exporter (memory or file), another exporter can
+ * be plugged in by declaring a {@link SpanExporter} bean.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    @Bean
+    public SpanRecordingHandler spanRecordingHandler(SpanExporter spanExporter,
+                                                     @Value("${employee.tracing.slow-threshold:500ms}") Duration slowThreshold,
+                                                     @Value("${employee.tracing.sample-rate:0.01}") double sampleRate) {
+        return new SpanRecordingHandler(new TailSampler(slowThreshold, sampleRate), spanExporter);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.tracing.exporter", havingValue = "file")
+    public SpanExporter fileSpanExporter(@Value("${employee.tracing.file}") Path path, ObjectMapper objectMapper) {
+        return new FileSpanExporter(path, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SpanExporter inMemorySpanExporter(@Value("${employee.tracing.memory-capacity:1000}") int capacity) {
+        return new InMemorySpanExporter(capacity);
+    }
+
+    // Sharding wraps each shard itself, the routing data source only hands out their connections
+    @Bean
+    public static BeanPostProcessor observedDataSourcePostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        SingletonSupplier<ObservationRegistry> registry =
+            SingletonSupplier.of(() -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ObservedDataSource)
+                        && !(bean instanceof ShardRoutingDataSource)) {
+                    return new ObservedDataSource(dataSource, registry);
+                }
+                return bean;
+            }
+        };
+    }
+}
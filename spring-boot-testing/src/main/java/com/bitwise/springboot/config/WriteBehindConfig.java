@@ -0,0 +1,22 @@
+package com.bitwise.springboot.config;
+
+import com.bitwise.springboot.service.EmployeeUpdateJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class WriteBehindConfig {
+
+    @Bean
+    public EmployeeUpdateJournal employeeUpdateJournal(@Value("${employee.write-behind.journal}") Path path,
+                                                       @Value("${employee.write-behind.sync:true}") boolean sync,
+                                                       ObjectMapper objectMapper) {
+        return new EmployeeUpdateJournal(path, sync, objectMapper);
+    }
+}
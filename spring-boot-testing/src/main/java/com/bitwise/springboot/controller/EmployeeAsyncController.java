@@ -0,0 +1,91 @@
+package com.bitwise.springboot.controller;
+
+import com.bitwise.springboot.exception.ResourceNotFoundException;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
+import com.bitwise.springboot.service.AsyncEmployeeService;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * The employee endpoints on the {@link AsyncEmployeeService}: the request thread is released
+ * while the call runs, and the response is written once its future completes.
+ */
+@Observed(name = "employee.controller")
+@RestController
+@RequestMapping("/api/employees/async")
+public class EmployeeAsyncController {
+
+    private final AsyncEmployeeService asyncEmployeeService;
+
+    private final Duration timeout;
+
+    @Value("${employee.batch-get.max-ids:1000}")
+    private int batchGetMaxIds;
+
+    public EmployeeAsyncController(AsyncEmployeeService asyncEmployeeService,
+                                   @Value("${employee.async.timeout:10s}") Duration timeout) {
+        this.asyncEmployeeService = asyncEmployeeService;
+        this.timeout = timeout;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public CompletableFuture<Employee> createEmployee(@RequestBody Employee employee) {
+        // The tenant comes from the request, Hibernate assigns it on insert
+        employee.setTenantId(null);
+        return asyncEmployeeService.saveEmployee(employee);
+    }
+
+    // A DeferredResult rather than a future, for its timeout: the full list can take a while
+    @GetMapping
+    public DeferredResult<List<Employee>> getEmployees() {
+        DeferredResult<List<Employee>> result = new DeferredResult<>(timeout.toMillis());
+        asyncEmployeeService.getAllEmployees().whenComplete((employees, e) -> {
+            if (e != null) {
+                result.setErrorResult(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            } else {
+                result.setResult(employees);
+            }
+        });
+        return result;
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<Employee> getEmployeeById(@PathVariable("id") Long id) {
+        return asyncEmployeeService.getEmployeeById(id)
+            .thenApply(employee -> employee
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id)));
+    }
+
+    @PostMapping("/batch-get")
+    public CompletableFuture<List<EmployeeLookupResult>> getEmployeesByIds(@RequestBody List<Long> ids) {
+        EmployeeController.checkBatchGetIds(ids, batchGetMaxIds);
+        return asyncEmployeeService.getEmployeesByIds(ids);
+    }
+
+    @PutMapping("/{id}")
+    public CompletableFuture<Employee> updateEmployee(@PathVariable("id") Long id, @RequestBody Employee employee) {
+        return asyncEmployeeService.updateEmployee(Employee.builder()
+            .id(id)
+            .firstName(employee.getFirstName())
+            .lastName(employee.getLastName())
+            .email(employee.getEmail())
+            .build());
+    }
+
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<String>> deleteEmployee(@PathVariable("id") Long id) {
+        return asyncEmployeeService.deleteEmployee(id)
+            .thenApply(deleted -> new ResponseEntity<>("Employee deleted successfully", HttpStatus.OK));
+    }
+}
@@ -0,0 +1,41 @@
+package com.bitwise.springboot.controller;
+
+import com.bitwise.springboot.exception.InvalidRequestException;
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import com.bitwise.springboot.service.EmployeeChangeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/employees/changes")
+public class EmployeeChangeController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private EmployeeChangeService employeeChangeService;
+
+    @Autowired
+    public EmployeeChangeController(EmployeeChangeService employeeChangeService) {
+        this.employeeChangeService = employeeChangeService;
+    }
+
+    @GetMapping
+    public List<EmployeeOutboxEvent> getChanges(@RequestParam(value = "since", defaultValue = "0") long since,
+                                                @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                @RequestParam(value = "shard", defaultValue = "0") int shard) {
+        if (since < 0) {
+            throw new InvalidRequestException("since", "since must not be negative, got " + since);
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("limit", "limit must be between 1 and " + MAX_LIMIT + ", got " + limit);
+        }
+        int shardCount = employeeChangeService.getShardCount();
+        if (shard < 0 || shard >= shardCount) {
+            throw new InvalidRequestException("shard", "shard must be between 0 and " + (shardCount - 1) + ", got " + shard);
+        }
+
+        return employeeChangeService.getChangesSince(shard, since, limit);
+    }
+}
@@ -1,20 +1,29 @@
 package com.bitwise.springboot.controller;
 
+import com.bitwise.springboot.exception.InvalidRequestException;
+import com.bitwise.springboot.exception.ResourceNotFoundException;
 import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
 import com.bitwise.springboot.service.EmployeeService;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+@Observed(name = "employee.controller")
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
     private EmployeeService employeeService;
 
+    @Value("${employee.batch-get.max-ids:1000}")
+    private int batchGetMaxIds;
+
     @Autowired
     public EmployeeController(EmployeeService employeeService) {
         this.employeeService = employeeService;
@@ -23,6 +32,8 @@ public class EmployeeController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Employee createEmployee(@RequestBody Employee employee) {
+        // The tenant comes from the request, Hibernate assigns it on insert
+        employee.setTenantId(null);
         return employeeService.saveEmployee(employee);
     }
 
@@ -32,23 +43,26 @@ public class EmployeeController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") Long id) {
+    public Employee getEmployeeById(@PathVariable("id") Long id) {
         return employeeService.getEmployeeById(id)
-            .map(ResponseEntity::ok)
-            .orElseGet(() -> ResponseEntity.notFound().build());
+            .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
     }
 
-    @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") Long id, @RequestBody Employee employee) {
-        return employeeService.getEmployeeById(id)
-            .map(savedEmployee -> {
-                savedEmployee.setFirstName(employee.getFirstName());
-                savedEmployee.setLastName(employee.getLastName());
-                savedEmployee.setEmail(employee.getEmail());
+    @PostMapping("/batch-get")
+    public List<EmployeeLookupResult> getEmployeesByIds(@RequestBody List<Long> ids) {
+        checkBatchGetIds(ids, batchGetMaxIds);
+        return employeeService.getEmployeesByIds(ids);
+    }
 
-                return ResponseEntity.ok(employeeService.updateEmployee(savedEmployee));
-            })
-            .orElseGet(() -> ResponseEntity.notFound().build());
+    @PutMapping("/{id}")
+    public Employee updateEmployee(@PathVariable("id") Long id, @RequestBody Employee employee) {
+        // The service looks the employee up, or leaves it to the write-behind flush
+        return employeeService.updateEmployee(Employee.builder()
+            .id(id)
+            .firstName(employee.getFirstName())
+            .lastName(employee.getLastName())
+            .email(employee.getEmail())
+            .build());
     }
 
     @DeleteMapping("/{id}")
@@ -57,4 +71,16 @@ public class EmployeeController {
 
         return new ResponseEntity<>("Employee deleted successfully", HttpStatus.OK);
     }
+
+    static void checkBatchGetIds(List<Long> ids, int maxIds) {
+        if (ids.isEmpty()) {
+            throw new InvalidRequestException("ids", "At least one employee id is required");
+        }
+        if (ids.size() > maxIds) {
+            throw new InvalidRequestException("ids", "At most " + maxIds + " employee ids can be requested at once, got " + ids.size());
+        }
+        if (ids.contains(null)) {
+            throw new InvalidRequestException("ids", "Employee ids must not be null");
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package com.bitwise.springboot.controller;
+
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.search.EmployeeSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/employees/search")
+public class EmployeeSearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private EmployeeSearchService employeeSearchService;
+
+    @Autowired
+    public EmployeeSearchController(EmployeeSearchService employeeSearchService) {
+        this.employeeSearchService = employeeSearchService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Employee>> searchEmployees(@RequestParam("q") String query,
+                                                          @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (query.isBlank() || limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(employeeSearchService.searchEmployees(query, limit));
+    }
+}
@@ -0,0 +1,23 @@
+package com.bitwise.springboot.controller;
+
+import com.bitwise.springboot.model.EmployeeStats;
+import com.bitwise.springboot.stats.EmployeeStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/employees/stats")
+public class EmployeeStatsController {
+
+    private EmployeeStatsService employeeStatsService;
+
+    @Autowired
+    public EmployeeStatsController(EmployeeStatsService employeeStatsService) {
+        this.employeeStatsService = employeeStatsService;
+    }
+
+    @GetMapping
+    public EmployeeStats getStats() {
+        return employeeStatsService.getStats();
+    }
+}
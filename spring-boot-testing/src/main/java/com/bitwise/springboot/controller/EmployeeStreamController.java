@@ -0,0 +1,24 @@
+package com.bitwise.springboot.controller;
+
+import com.bitwise.springboot.event.EmployeeEventBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/employees/stream")
+public class EmployeeStreamController {
+
+    private EmployeeEventBroadcaster employeeEventBroadcaster;
+
+    @Autowired
+    public EmployeeStreamController(EmployeeEventBroadcaster employeeEventBroadcaster) {
+        this.employeeEventBroadcaster = employeeEventBroadcaster;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeChanges() {
+        return employeeEventBroadcaster.subscribe();
+    }
+}
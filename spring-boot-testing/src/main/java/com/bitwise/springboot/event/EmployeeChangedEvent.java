@@ -0,0 +1,34 @@
+package com.bitwise.springboot.event;
+
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.tenant.TenantContext;
+
+/**
+ * Published by the employee service for every create, update and delete.
+ * The employee is null for deletes. The tenant is the employee's, or the current one while it
+ * has none yet and for deletes.
+ */
+public record EmployeeChangedEvent(Type type, Long id, String tenantId, Employee employee) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static EmployeeChangedEvent created(Employee employee) {
+        return new EmployeeChangedEvent(Type.CREATED, employee.getId(), tenantOf(employee), employee);
+    }
+
+    public static EmployeeChangedEvent updated(Employee employee) {
+        return new EmployeeChangedEvent(Type.UPDATED, employee.getId(), tenantOf(employee), employee);
+    }
+
+    public static EmployeeChangedEvent deleted(Long id) {
+        return new EmployeeChangedEvent(Type.DELETED, id, TenantContext.current(), null);
+    }
+
+    private static String tenantOf(Employee employee) {
+        return employee.getTenantId() != null ? employee.getTenantId() : TenantContext.current();
+    }
+}
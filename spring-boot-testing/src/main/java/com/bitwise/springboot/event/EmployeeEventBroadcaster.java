@@ -0,0 +1,197 @@
+package com.bitwise.springboot.event;
+
+import com.bitwise.springboot.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed employee changes out to Server-Sent Events subscribers. Connections are held
+ * by the servlet container in async mode, so an idle subscriber costs no thread. Every subscriber
+ * has a bounded buffer drained by a small shared pool; when a slow subscriber's buffer is full
+ * the overflow policy either drops its oldest event or disconnects it. Subscribers only get the
+ * changes of the tenant they subscribed as.
+ * <p>
+ * Events are queued as immutable {@link StreamEvent}s, shared by all subscribers; every send
+ * builds its own frame, as an {@link SseEmitter.SseEventBuilder} is changed by building it.
+ */
+@Component
+public class EmployeeEventBroadcaster {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        DISCONNECT
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeEventBroadcaster.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Executor executor;
+
+    @Autowired
+    public EmployeeEventBroadcaster(@Value("${employee.stream.buffer-size:256}") int bufferSize,
+                                    @Value("${employee.stream.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                                    @Value("${employee.stream.dispatch-threads:4}") int dispatchThreads) {
+        this(bufferSize, overflowPolicy, Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "employee-stream-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    EmployeeEventBroadcaster(int bufferSize, OverflowPolicy overflowPolicy, Executor executor) {
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.executor = executor;
+    }
+
+    public SseEmitter subscribe() {
+        // No timeout: the connection stays open until the client leaves or a send fails
+        return subscribe(new SseEmitter(0L));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, TenantContext.current(), new ArrayBlockingQueue<>(bufferSize));
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        StreamEvent sseEvent = StreamEvent.of(Long.toString(eventIds.incrementAndGet()), event.type().name(),
+            event.employee() != null ? event.employee().toBuilder().build() : Map.of("id", event.id()));
+
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.sees(event)) {
+                continue;
+            }
+            if (!subscriber.queue.offer(sseEvent)) {
+                droppedEvents.incrementAndGet();
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    disconnect(subscriber, "slow consumer");
+                    continue;
+                }
+                subscriber.queue.poll();
+                subscriber.queue.offer(sseEvent);
+            }
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Sends a comment to every subscriber, which keeps proxies from closing idle connections
+     * and detects the clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${employee.stream.heartbeat-interval:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.offer(StreamEvent.HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            StreamEvent sseEvent;
+            while ((sseEvent = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(sseEvent.toSseEvent());
+            }
+        } catch (IOException | IllegalStateException e) {
+            disconnect(subscriber, e.getMessage());
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // An event may have been queued after the last poll but before the flag was cleared
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            log.debug("Disconnecting employee stream subscriber: {}", reason);
+            subscriber.emitter.complete();
+        }
+    }
+
+    record StreamEvent(String id, String name, Object data, String comment) {
+
+        static final StreamEvent HEARTBEAT = new StreamEvent(null, null, null, "heartbeat");
+
+        static StreamEvent of(String id, String name, Object data) {
+            return new StreamEvent(id, name, data, null);
+        }
+
+        SseEmitter.SseEventBuilder toSseEvent() {
+            if (comment != null) {
+                return SseEmitter.event().comment(comment);
+            }
+            return SseEmitter.event().id(id).name(name).data(data);
+        }
+    }
+
+    private record Subscriber(SseEmitter emitter, String tenantId, Queue<StreamEvent> queue, AtomicBoolean draining) {
+
+        Subscriber(SseEmitter emitter, String tenantId, Queue<StreamEvent> queue) {
+            this(emitter, tenantId, queue, new AtomicBoolean());
+        }
+
+        boolean sees(EmployeeChangedEvent event) {
+            return TenantContext.ROOT.equals(tenantId) || tenantId.equals(event.tenantId());
+        }
+    }
+}
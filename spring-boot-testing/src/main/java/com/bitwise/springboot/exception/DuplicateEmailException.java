@@ -0,0 +1,24 @@
+package com.bitwise.springboot.exception;
+
+/**
+ * An employee with the email already exists. Expected under client retries, so it is created
+ * without a stack trace and its message is only built when it is read.
+ */
+public class DuplicateEmailException extends RuntimeException {
+
+    private final String email;
+
+    public DuplicateEmailException(String email) {
+        super(null, null, false, false);
+        this.email = email;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Employee already exists with given email: " + email;
+    }
+}
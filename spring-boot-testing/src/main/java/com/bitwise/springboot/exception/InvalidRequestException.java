@@ -0,0 +1,22 @@
+package com.bitwise.springboot.exception;
+
+/**
+ * A request parameter or body is out of the range the endpoint accepts. A client error rather
+ * than a failure, so no stack trace is captured.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    private final String parameter;
+
+    public InvalidRequestException(String parameter, String message) {
+        super(message, null, false, false);
+        this.parameter = parameter;
+    }
+
+    /**
+     * @return the name of the request parameter, or of the request body, that is invalid
+     */
+    public String getParameter() {
+        return parameter;
+    }
+}
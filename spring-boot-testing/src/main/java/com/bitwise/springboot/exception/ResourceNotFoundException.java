@@ -1,9 +1,13 @@
 package com.bitwise.springboot.exception;
 
+/**
+ * A requested resource does not exist. An expected outcome rather than a failure, so no stack
+ * trace is captured unless there is a cause to report.
+ */
 public class ResourceNotFoundException extends RuntimeException {
 
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public ResourceNotFoundException(String message, Throwable cause) {
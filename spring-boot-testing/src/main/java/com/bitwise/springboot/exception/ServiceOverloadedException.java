@@ -0,0 +1,21 @@
+package com.bitwise.springboot.exception;
+
+import java.time.Duration;
+
+/**
+ * A limit turned the call away. Thrown in bulk exactly when the service is overloaded, so it is
+ * created without a stack trace.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,178 @@
+package com.bitwise.springboot.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.apache.catalina.AccessLog;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records, per endpoint, what the compression of {@code server.compression} does to the
+ * responses: bytes written by the application, bytes the server sent for them, and the time
+ * spent writing them. The server compresses below the servlet API, while the body is written,
+ * so the sizes come from the connector and the time is that of the body writes of compressed
+ * responses: deflating plus handing the compressed bytes over to the socket. Only the last few
+ * bytes, compressed once the application is done with the response, are not timed.
+ * <p>
+ * Recorded as an access log, which Tomcat calls once the response is complete, after the async
+ * dispatch of an async request too.
+ */
+public class CompressionMetricsValve extends ValveBase implements AccessLog {
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    private boolean requestAttributesEnabled;
+
+    public CompressionMetricsValve(Supplier<MeterRegistry> meterRegistry) {
+        // Async requests go through the valve too
+        super(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void invoke(Request request, Response response) throws IOException, ServletException {
+        // The async dispatch keeps the wrapper of the initial one
+        if (!(response.getResponse() instanceof TimedResponse)) {
+            response.setResponse(new TimedResponse(response.getResponse()));
+        }
+        getNext().invoke(request, response);
+    }
+
+    @Override
+    public void log(Request request, Response response, long time) {
+        String encoding = response.getHeader(HttpHeaders.CONTENT_ENCODING);
+        MeterRegistry registry = meterRegistry.get();
+        if (registry == null || encoding == null || !(response.getResponse() instanceof TimedResponse timedResponse)) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        long rawBytes = response.getContentWritten();
+        long wireBytes = response.getBytesWritten(false);
+
+        DistributionSummary.builder("http.server.compression.raw.bytes")
+            .baseUnit("bytes")
+            .tags("uri", uri, "encoding", encoding)
+            .register(registry)
+            .record(rawBytes);
+        DistributionSummary.builder("http.server.compression.compressed.bytes")
+            .description("Body bytes sent by the server, chunk framing included")
+            .baseUnit("bytes")
+            .tags("uri", uri, "encoding", encoding)
+            .register(registry)
+            .record(wireBytes);
+        if (rawBytes > 0) {
+            DistributionSummary.builder("http.server.compression.ratio")
+                .tags("uri", uri, "encoding", encoding)
+                .register(registry)
+                .record((double) wireBytes / rawBytes);
+        }
+        Timer.builder("http.server.compression.time")
+            .tags("uri", uri, "encoding", encoding)
+            .register(registry)
+            .record(timedResponse.writeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void setRequestAttributesEnabled(boolean requestAttributesEnabled) {
+        this.requestAttributesEnabled = requestAttributesEnabled;
+    }
+
+    @Override
+    public boolean getRequestAttributesEnabled() {
+        return requestAttributesEnabled;
+    }
+
+    /**
+     * Adds up the time spent in the writes of the body, which is where the server compresses it.
+     * Only the output stream is timed: the message converters write the body with it, and
+     * wrapping the writer would leave its buffered characters to be flushed by the application.
+     */
+    private static class TimedResponse extends HttpServletResponseWrapper {
+
+        private TimedOutputStream outputStream;
+
+        // Only written by the thread currently writing the response
+        private volatile long writeNanos;
+
+        TimedResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new TimedOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            long start = System.nanoTime();
+            super.flushBuffer();
+            writeNanos += System.nanoTime() - start;
+        }
+
+        private class TimedOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            TimedOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                long start = System.nanoTime();
+                delegate.write(b);
+                writeNanos += System.nanoTime() - start;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                long start = System.nanoTime();
+                delegate.write(b, off, len);
+                writeNanos += System.nanoTime() - start;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                long start = System.nanoTime();
+                delegate.flush();
+                writeNanos += System.nanoTime() - start;
+            }
+
+            @Override
+            public void close() throws IOException {
+                long start = System.nanoTime();
+                delegate.close();
+                writeNanos += System.nanoTime() - start;
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
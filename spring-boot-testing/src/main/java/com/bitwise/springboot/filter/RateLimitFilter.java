@@ -0,0 +1,116 @@
+package com.bitwise.springboot.filter;
+
+import com.bitwise.springboot.limit.ClientRateLimiter;
+import com.bitwise.springboot.limit.OperationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.Principal;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limits on the employee endpoints, with separate budgets for reads and writes.
+ * Clients are told apart by their authenticated user, or else by their address. Headers sent by
+ * the client are not trusted: behind a reverse proxy, the server takes the address from
+ * X-Forwarded-For only for requests through the proxies it is configured to trust
+ * ({@code server.tomcat.remoteip.internal-proxies}). Requests over the limit get a 429 with
+ * Retry-After before any other work is done, its body a problem detail like the errors of
+ * {@link com.bitwise.springboot.exception.RestExceptionHandler}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final ClientRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(@Value("${employee.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${employee.rate-limit.max-clients:10000}") int maxClients,
+                           @Value("${employee.rate-limit.read.capacity:200}") long readCapacity,
+                           @Value("${employee.rate-limit.read.per-second:100}") double readPerSecond,
+                           @Value("${employee.rate-limit.write.capacity:50}") long writeCapacity,
+                           @Value("${employee.rate-limit.write.per-second:20}") double writePerSecond,
+                           ObjectMapper objectMapper,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = enabled;
+        this.rateLimiter = new ClientRateLimiter(
+            new ClientRateLimiter.Budget(readCapacity, readPerSecond),
+            new ClientRateLimiter.Budget(writeCapacity, writePerSecond),
+            maxClients);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry.getIfAvailable();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/employees");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        OperationType type = operationType(request);
+        long waitNanos = rateLimiter.tryAcquire(clientOf(request), type);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (meterRegistry != null) {
+            Counter.builder("http.server.rate.limited")
+                .tag("type", type.name())
+                .register(meterRegistry)
+                .increment();
+        }
+        long retryAfter = Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        // Rejected ahead of the dispatcher, so the problem is written here rather than by the exception handler
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS,
+            "Rate limit of " + type.name().toLowerCase(Locale.ROOT) + " requests exceeded");
+        problem.setTitle("Too many requests");
+        problem.setInstance(URI.create(request.getRequestURI()));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.rate-limit.eviction-interval:60000}")
+    public void evictIdleClients() {
+        rateLimiter.evictIdleClients();
+    }
+
+    static OperationType operationType(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || request.getRequestURI().endsWith("/batch-get")) {
+            return OperationType.READ;
+        }
+        return OperationType.WRITE;
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        Principal user = request.getUserPrincipal();
+        return user != null ? "user:" + user.getName() : "address:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,109 @@
+package com.bitwise.springboot.filter;
+
+import com.bitwise.springboot.hibernate.RequestStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements, entity loads and flushes each employee endpoint causes, and
+ * logs the statements of requests running more than the configured number of them.
+ * <p>
+ * An async request is recorded at the end of its async dispatch, which continues the statistics
+ * of the initial dispatch. The async employee calls in between count in them from their own threads.
+ */
+@Component
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestStatisticsFilter.class);
+
+    private static final String STATISTICS_ATTRIBUTE = RequestStatisticsFilter.class.getName() + ".statistics";
+
+    private final boolean enabled;
+    private final int warnStatements;
+    private final MeterRegistry meterRegistry;
+
+    public RequestStatisticsFilter(@Value("${employee.request-statistics.enabled:true}") boolean enabled,
+                                   @Value("${employee.request-statistics.warn-statements:50}") int warnStatements,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = enabled;
+        this.warnStatements = warnStatements;
+        this.meterRegistry = meterRegistry.getIfAvailable();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/employees");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = (RequestStatistics) request.getAttribute(STATISTICS_ATTRIBUTE);
+        if (statistics != null) {
+            try (RequestStatistics.Scope scope = statistics.attach()) {
+                dispatch(request, response, filterChain, statistics);
+            }
+            return;
+        }
+
+        try (RequestStatistics started = RequestStatistics.begin()) {
+            request.setAttribute(STATISTICS_ATTRIBUTE, started);
+            dispatch(request, response, filterChain, started);
+        }
+    }
+
+    private void dispatch(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                          RequestStatistics statistics) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                record(request, statistics);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        if (statistics.getStatementCount() > warnStatements) {
+            log.warn("{} {} ran {} SQL statements: {}", request.getMethod(), uri, statistics.getStatementCount(),
+                statistics.getStatements());
+        }
+        if (meterRegistry == null) {
+            return;
+        }
+
+        DistributionSummary.builder("hibernate.request.statements")
+            .tags("method", request.getMethod(), "uri", uri)
+            .register(meterRegistry)
+            .record(statistics.getStatementCount());
+        DistributionSummary.builder("hibernate.request.entity.loads")
+            .tags("method", request.getMethod(), "uri", uri)
+            .register(meterRegistry)
+            .record(statistics.getEntityLoadCount());
+        DistributionSummary.builder("hibernate.request.flushes")
+            .tags("method", request.getMethod(), "uri", uri)
+            .register(meterRegistry)
+            .record(statistics.getFlushCount());
+    }
+}
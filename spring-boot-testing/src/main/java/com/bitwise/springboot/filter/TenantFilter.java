@@ -0,0 +1,62 @@
+package com.bitwise.springboot.filter;
+
+import com.bitwise.springboot.tenant.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Runs every employee request for the tenant named by the configured header. Requests without
+ * the header belong to the default tenant, unless a tenant is required; malformed tenant ids
+ * get a 400.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class TenantFilter extends OncePerRequestFilter {
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final boolean enabled;
+    private final String tenantHeader;
+    private final boolean required;
+
+    public TenantFilter(@Value("${employee.tenancy.enabled:true}") boolean enabled,
+                        @Value("${employee.tenancy.header:X-Tenant-Id}") String tenantHeader,
+                        @Value("${employee.tenancy.required:false}") boolean required) {
+        this.enabled = enabled;
+        this.tenantHeader = tenantHeader;
+        this.required = required;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/employees");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(tenantHeader);
+        if (tenantId == null && !required) {
+            tenantId = TenantContext.DEFAULT;
+        }
+        if (tenantId == null || !TENANT_ID.matcher(tenantId).matches()) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Missing or invalid " + tenantHeader + " header");
+            return;
+        }
+
+        try (TenantContext.Scope scope = TenantContext.enter(tenantId)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.bitwise.springboot.hibernate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements, entity loads and flushes Hibernate performs on the current thread
+ * while the scope returned by {@link #begin()} is open. Statements are counted when prepared, so a
+ * JDBC batch of inserts counts once. Scopes nest: everything counted in an
+ * inner scope is also counted in the enclosing ones. Work handed to another thread is counted
+ * when that thread {@link #attach() attaches} to the statistics, as async employee calls do;
+ * other background work, such as batched lookups or write-behind flushes, is not counted.
+ */
+public final class RequestStatistics implements AutoCloseable {
+
+    // Keeps the statement texts of a runaway request from growing without limit
+    static final int MAX_RECORDED_STATEMENTS = 100;
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final RequestStatistics parent;
+    private final List<String> statements = new ArrayList<>();
+    private final AtomicInteger statementCount = new AtomicInteger();
+    private final AtomicInteger entityLoadCount = new AtomicInteger();
+    private final AtomicInteger flushCount = new AtomicInteger();
+
+    private RequestStatistics(RequestStatistics parent) {
+        this.parent = parent;
+    }
+
+    public static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * @return the statistics counting on the current thread, null if there are none
+     */
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Counts the work of the current thread in these statistics, and the enclosing ones, until
+     * the returned scope is closed.
+     */
+    public Scope attach() {
+        RequestStatistics previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    static void statementPrepared(String sql) {
+        for (RequestStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+            statistics.statementCount.incrementAndGet();
+            synchronized (statistics.statements) {
+                if (statistics.statements.size() < MAX_RECORDED_STATEMENTS) {
+                    statistics.statements.add(sql);
+                }
+            }
+        }
+    }
+
+    static void entityLoaded() {
+        for (RequestStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+            statistics.entityLoadCount.incrementAndGet();
+        }
+    }
+
+    static void flushed() {
+        for (RequestStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+            statistics.flushCount.incrementAndGet();
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount.get();
+    }
+
+    /**
+     * @return the first {@value #MAX_RECORDED_STATEMENTS} statements, in execution order
+     */
+    public List<String> getStatements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    public int getEntityLoadCount() {
+        return entityLoadCount.get();
+    }
+
+    public int getFlushCount() {
+        return flushCount.get();
+    }
+
+    @Override
+    public void close() {
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,32 @@
+package com.bitwise.springboot.hibernate;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+import java.util.Iterator;
+
+/**
+ * Feeds {@link RequestStatistics} from Hibernate. Registered by class name in application.properties
+ * (hibernate.session_factory.statement_inspector and hibernate.session_factory.interceptor), so
+ * every context using JPA, test slices included, counts the same way.
+ */
+public class RequestStatisticsCollector implements StatementInspector, Interceptor {
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatistics.statementPrepared(sql);
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestStatistics.entityLoaded();
+        return false;
+    }
+
+    @Override
+    public void preFlush(Iterator<Object> entities) {
+        RequestStatistics.flushed();
+    }
+}
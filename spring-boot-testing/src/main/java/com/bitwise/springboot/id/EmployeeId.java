@@ -0,0 +1,18 @@
+package com.bitwise.springboot.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an id that is assigned by {@link EmployeeIdGenerator} when the entity is persisted,
+ * instead of by the database on insert.
+ */
+@IdGeneratorType(EmployeeIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface EmployeeId {
+}
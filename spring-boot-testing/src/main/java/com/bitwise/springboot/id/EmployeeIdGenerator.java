@@ -0,0 +1,42 @@
+package com.bitwise.springboot.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Assigns employee ids from the {@link LongSupplier} that the Spring configuration puts into the
+ * Hibernate settings under {@link #ID_SOURCE}. Hibernate instantiates id generators itself, so
+ * this is how the generator gets hold of a Spring managed source.
+ */
+public class EmployeeIdGenerator implements IdentifierGenerator {
+
+    public static final String ID_SOURCE = "employee.id.source";
+
+    private volatile LongSupplier ids;
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        LongSupplier source = ids;
+        if (source == null) {
+            source = resolve(session);
+        }
+        return source.getAsLong();
+    }
+
+    private synchronized LongSupplier resolve(SharedSessionContractImplementor session) {
+        if (ids == null) {
+            Object configured = session.getFactory().getServiceRegistry()
+                .getService(ConfigurationService.class).getSettings().get(ID_SOURCE);
+            // A made up source could hand out the ids of another instance
+            if (!(configured instanceof LongSupplier source)) {
+                throw new IllegalStateException("No employee id source under " + ID_SOURCE
+                    + ", import IdGenerationConfig to generate employee ids");
+            }
+            ids = source;
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,10 @@
+package com.bitwise.springboot.id;
+
+/**
+ * Hands out unique ids on the application side, so entities have their id before they are
+ * inserted and Hibernate can batch the inserts.
+ */
+public interface IdAllocator {
+
+    long nextId();
+}
@@ -0,0 +1,18 @@
+package com.bitwise.springboot.id;
+
+/**
+ * Ids from {@code start} (inclusive) to {@code end} (exclusive), reserved in the database for
+ * one application instance.
+ */
+public record IdBlock(long start, long end) {
+
+    public IdBlock {
+        if (end <= start) {
+            throw new IllegalArgumentException("Empty id block: " + start + " to " + end);
+        }
+    }
+
+    public long size() {
+        return end - start;
+    }
+}
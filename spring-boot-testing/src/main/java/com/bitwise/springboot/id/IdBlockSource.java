@@ -0,0 +1,9 @@
+package com.bitwise.springboot.id;
+
+public interface IdBlockSource {
+
+    /**
+     * Reserves the next block of ids, no other caller ever gets an id of it.
+     */
+    IdBlock fetch();
+}
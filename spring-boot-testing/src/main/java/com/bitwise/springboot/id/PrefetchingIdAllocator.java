@@ -0,0 +1,86 @@
+package com.bitwise.springboot.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out ids from blocks reserved through an {@link IdBlockSource}. The next block is fetched
+ * on a background thread once the current one runs low, so assigning an id only waits for the
+ * database when ids are used up faster than blocks are fetched. Blocks are always fetched on that
+ * thread, outside of the caller's transaction and shard.
+ */
+public class PrefetchingIdAllocator implements IdAllocator, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PrefetchingIdAllocator.class);
+
+    private final IdBlockSource source;
+    private final long prefetchThreshold;
+    private final ExecutorService fetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "id-block-fetcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong blockingFetches = new AtomicLong();
+
+    private IdBlock current;
+    private long next;
+    private CompletableFuture<IdBlock> nextBlock;
+
+    /**
+     * @param prefetchThreshold number of ids left in the current block when the next one is fetched
+     */
+    public PrefetchingIdAllocator(IdBlockSource source, long prefetchThreshold) {
+        this.source = source;
+        this.prefetchThreshold = prefetchThreshold;
+        this.nextBlock = fetchAsync();
+    }
+
+    @Override
+    public synchronized long nextId() {
+        if (current == null || next == current.end()) {
+            if (!nextBlock.isDone()) {
+                blockingFetches.incrementAndGet();
+            }
+            try {
+                current = nextBlock.join();
+            } catch (CompletionException e) {
+                nextBlock = fetchAsync();
+                throw new IllegalStateException("Could not reserve a block of ids", e.getCause());
+            }
+            next = current.start();
+            nextBlock = null;
+        }
+
+        if (nextBlock == null && current.end() - next <= prefetchThreshold) {
+            nextBlock = fetchAsync();
+        }
+        return next++;
+    }
+
+    /**
+     * @return how often assigning an id had to wait for a block to be fetched
+     */
+    public long getBlockingFetches() {
+        return blockingFetches.get();
+    }
+
+    private CompletableFuture<IdBlock> fetchAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            IdBlock block = source.fetch();
+            log.debug("Reserved ids {} to {}", block.start(), block.end() - 1);
+            return block;
+        }, fetcher);
+    }
+
+    @Override
+    public void close() {
+        fetcher.shutdownNow();
+    }
+}
@@ -0,0 +1,41 @@
+package com.bitwise.springboot.id;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Pooled sequence: the sequence is incremented by the block size, so one call reserves a whole
+ * block. Needs a database with sequences (H2, PostgreSQL). The sequence is created by the schema
+ * migrations, with the block size as its increment.
+ */
+public class SequenceIdBlockSource implements IdBlockSource {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String sequenceName;
+    private final int blockSize;
+
+    public SequenceIdBlockSource(JdbcTemplate jdbcTemplate, String sequenceName, int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceName = sequenceName;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Checks that the sequence exists and reserves blocks of the configured size.
+     */
+    public void validate() {
+        List<Long> increments = jdbcTemplate.queryForList(
+            "select increment from information_schema.sequences where lower(sequence_name) = lower(?)", Long.class, sequenceName);
+        if (increments.size() != 1 || increments.get(0) != blockSize) {
+            throw new IllegalStateException("Sequence " + sequenceName + " must exist and increment by the block size "
+                + blockSize + ", found increments " + increments);
+        }
+    }
+
+    @Override
+    public IdBlock fetch() {
+        Long start = jdbcTemplate.queryForObject("select next value for " + sequenceName, Long.class);
+        return new IdBlock(start, start + blockSize);
+    }
+}
@@ -0,0 +1,37 @@
+package com.bitwise.springboot.id;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hi/lo allocation from a table, for databases without sequences such as MySQL: every fetch
+ * increments the "hi" value of a row in its own short transaction and owns the ids from
+ * {@code hi * blockSize} to {@code (hi + 1) * blockSize}. The table and its rows are created by
+ * the schema migrations.
+ */
+public class TableHiLoIdBlockSource implements IdBlockSource {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String name;
+    private final int blockSize;
+
+    public TableHiLoIdBlockSource(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, String name, int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.name = name;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public IdBlock fetch() {
+        Long hi = transactionTemplate.execute(status -> {
+            // The update locks the row until commit, so concurrent fetches get distinct values
+            if (jdbcTemplate.update("update id_blocks set next_hi = next_hi + 1 where name = ?", name) == 0) {
+                throw new IllegalStateException("No id_blocks row named " + name + ", it comes with the schema migrations");
+            }
+            return jdbcTemplate.queryForObject("select next_hi - 1 from id_blocks where name = ?", Long.class, name);
+        });
+        return new IdBlock(hi * blockSize, (hi + 1) * blockSize);
+    }
+}
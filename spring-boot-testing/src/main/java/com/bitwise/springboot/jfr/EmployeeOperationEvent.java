@@ -0,0 +1,35 @@
+package com.bitwise.springboot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of an {@code EmployeeService} method. The duration is the event duration.
+ */
+@Name(EmployeeOperationEvent.NAME)
+@Label("Employee Operation")
+@Description("A call of the employee service")
+@Category({"Employee", "Service"})
+@StackTrace(false)
+public class EmployeeOperationEvent extends Event {
+
+    public static final String NAME = "com.bitwise.springboot.EmployeeOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Employee Id")
+    @Description("Id of the employee the operation works on, 0 for none or several")
+    long employeeId;
+
+    @Label("Rows")
+    @Description("Employees returned or changed")
+    int rowCount;
+
+    @Label("Failed")
+    boolean failed;
+}
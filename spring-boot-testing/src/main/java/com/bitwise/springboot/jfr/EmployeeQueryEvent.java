@@ -0,0 +1,36 @@
+package com.bitwise.springboot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of an {@code EmployeeRepository} method. The duration is the event duration.
+ */
+@Name(EmployeeQueryEvent.NAME)
+@Label("Employee Query")
+@Description("A call of the employee repository")
+@Category({"Employee", "Repository"})
+@StackTrace(false)
+public class EmployeeQueryEvent extends Event {
+
+    public static final String NAME = "com.bitwise.springboot.EmployeeQuery";
+
+    @Label("Query")
+    @Description("Repository method")
+    String query;
+
+    @Label("Employee Id")
+    @Description("Id of the employee the query works on, 0 for none or several")
+    long employeeId;
+
+    @Label("Rows")
+    @Description("Rows returned or changed")
+    int rowCount;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,61 @@
+package com.bitwise.springboot.jfr;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * /actuator/jfr: GET returns the rolling latency and allocation summaries, POST dumps the
+ * recording kept in memory (the last employee.jfr.max-age) as a .jfr file, for JDK Mission Control.
+ */
+@Component
+@Endpoint(id = "jfr")
+@ConditionalOnProperty(name = "employee.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrEndpoint {
+
+    private final JfrMonitor monitor;
+
+    public JfrEndpoint(JfrMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public JfrMonitor.Summary summary() {
+        return monitor.summary();
+    }
+
+    @WriteOperation(produces = "application/octet-stream")
+    public Resource dump() throws IOException {
+        Path file = Files.createTempFile("employees-", ".jfr");
+        try {
+            monitor.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new TemporaryFileResource(file);
+    }
+
+    // The dump is deleted once it has been sent
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+        }
+    }
+}
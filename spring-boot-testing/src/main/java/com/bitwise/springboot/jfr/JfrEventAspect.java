@@ -0,0 +1,100 @@
+package com.bitwise.springboot.jfr;
+
+import com.bitwise.springboot.model.Employee;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Emits an {@link EmployeeOperationEvent} for every employee service call and an
+ * {@link EmployeeQueryEvent} for every repository call. While no recording has the events
+ * enabled, this costs a check of {@code isEnabled()}.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "employee.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrEventAspect {
+
+    @Around("execution(* com.bitwise.springboot.service.EmployeeService.*(..))")
+    public Object recordOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        EmployeeOperationEvent event = new EmployeeOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                event.employeeId = employeeIdOf(joinPoint.getArgs(), result);
+                event.rowCount = rowCountOf(result);
+                event.commit();
+            }
+        }
+    }
+
+    @Around("target(com.bitwise.springboot.repository.EmployeeRepository)")
+    public Object recordQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        EmployeeQueryEvent event = new EmployeeQueryEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.query = joinPoint.getSignature().getName();
+                event.employeeId = employeeIdOf(joinPoint.getArgs(), result);
+                event.rowCount = rowCountOf(result);
+                event.commit();
+            }
+        }
+    }
+
+    static long employeeIdOf(Object[] args, Object result) {
+        Object subject = args.length == 1 ? args[0] : null;
+        if (subject instanceof Long id) {
+            return id;
+        }
+        // A saved employee only has its id after the call
+        Object employee = subject instanceof Employee ? (result instanceof Employee ? result : subject) : null;
+        if (employee instanceof Employee found && found.getId() != null) {
+            return found.getId();
+        }
+        return 0;
+    }
+
+    static int rowCountOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer rows) {
+            return rows;
+        }
+        return result instanceof Employee ? 1 : 0;
+    }
+}
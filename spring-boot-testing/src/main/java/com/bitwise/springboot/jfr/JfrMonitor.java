@@ -0,0 +1,192 @@
+package com.bitwise.springboot.jfr;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a JFR recording running in the application, with the JDK's low overhead "default" settings
+ * plus the employee events. The recording is streamed in-process into rolling summaries: latency
+ * percentiles per service operation and repository query, and allocation rates per thread pool.
+ * The last {@code employee.jfr.max-age} of the recording stays in memory for {@link #dump(Path)}.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrMonitor implements SmartLifecycle {
+
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+
+    // Allocation rates are tracked per thread pool, anything beyond this goes to "other"
+    private static final int MAX_THREAD_POOLS = 50;
+
+    private final MeterRegistry meterRegistry;
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration window;
+    private final Map<String, Timer> operations = new ConcurrentHashMap<>();
+    private final Map<String, Timer> queries = new ConcurrentHashMap<>();
+    private final Map<String, RollingRate> allocations = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream stream;
+
+    public JfrMonitor(ObjectProvider<MeterRegistry> meterRegistry,
+                      @Value("${employee.jfr.settings:default}") String settings,
+                      @Value("${employee.jfr.max-age:5m}") Duration maxAge,
+                      @Value("${employee.jfr.max-size:64MB}") DataSize maxSize,
+                      @Value("${employee.jfr.summary-window:1m}") Duration window) {
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.window = window;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recordingStream;
+        try {
+            recordingStream = new RecordingStream(Configuration.getConfiguration(settings));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JFR settings " + settings, e);
+        }
+        recordingStream.enable(EmployeeOperationEvent.NAME);
+        recordingStream.enable(EmployeeQueryEvent.NAME);
+        recordingStream.setMaxAge(maxAge);
+        recordingStream.setMaxSize(maxSize.toBytes());
+
+        recordingStream.onEvent(EmployeeOperationEvent.NAME, event ->
+            timer(operations, "employee.jfr.operation.duration", "operation", event.getString("operation"))
+                .record(event.getDuration()));
+        recordingStream.onEvent(EmployeeQueryEvent.NAME, event ->
+            timer(queries, "employee.jfr.query.duration", "query", event.getString("query"))
+                .record(event.getDuration()));
+        recordingStream.onEvent(ALLOCATION_SAMPLE, this::onAllocation);
+
+        recordingStream.startAsync();
+        stream = recordingStream;
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recordingStream = stream;
+        stream = null;
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Writes the part of the recording kept in memory to a JFR file.
+     */
+    public void dump(Path file) throws IOException {
+        RecordingStream recordingStream = stream;
+        if (recordingStream == null) {
+            throw new IllegalStateException("The JFR recording is not running");
+        }
+        recordingStream.dump(file);
+    }
+
+    public Summary summary() {
+        long now = Instant.now().getEpochSecond();
+        Map<String, Double> allocationRates = new TreeMap<>();
+        allocations.forEach((pool, rate) -> allocationRates.put(pool, rate.perSecond(now)));
+        return new Summary(latencies(operations), latencies(queries), allocationRates);
+    }
+
+    private Timer timer(Map<String, Timer> timers, String name, String tag, String value) {
+        return timers.computeIfAbsent(value, key -> Timer.builder(name)
+            .tag(tag, key)
+            .publishPercentiles(0.5, 0.99)
+            .distributionStatisticExpiry(window)
+            .register(meterRegistry));
+    }
+
+    private void onAllocation(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        String pool = thread != null && thread.getJavaName() != null ? poolOf(thread.getJavaName()) : "unknown";
+        if (!allocations.containsKey(pool) && allocations.size() >= MAX_THREAD_POOLS) {
+            pool = "other";
+        }
+
+        RollingRate rate = allocations.computeIfAbsent(pool, key -> {
+            RollingRate created = new RollingRate((int) window.toSeconds());
+            Gauge.builder("employee.jfr.allocation.rate", created, r -> r.perSecond(Instant.now().getEpochSecond()))
+                .baseUnit("bytes")
+                .description("Bytes allocated per second, sampled by JFR")
+                .tag("pool", key)
+                .register(meterRegistry);
+            return created;
+        });
+        rate.add(event.getStartTime().getEpochSecond(), event.getLong("weight"));
+    }
+
+    // http-nio-8080-exec-12 -> http-nio-8080-exec
+    static String poolOf(String threadName) {
+        String pool = threadName.replaceAll("[-#\\d]+$", "");
+        return pool.isEmpty() ? threadName : pool;
+    }
+
+    private static Map<String, Latency> latencies(Map<String, Timer> timers) {
+        Map<String, Latency> latencies = new TreeMap<>();
+        timers.forEach((name, timer) -> {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            double p50 = 0;
+            double p99 = 0;
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                if (percentile.percentile() == 0.5) {
+                    p50 = percentile.value(TimeUnit.MILLISECONDS);
+                } else if (percentile.percentile() == 0.99) {
+                    p99 = percentile.value(TimeUnit.MILLISECONDS);
+                }
+            }
+            latencies.put(name, new Latency(snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS), p50, p99,
+                snapshot.max(TimeUnit.MILLISECONDS)));
+        });
+        return latencies;
+    }
+
+    /**
+     * Latencies in milliseconds. Count and mean cover the whole run, the percentiles and the
+     * maximum the summary window.
+     */
+    public record Latency(long count, double mean, double p50, double p99, double max) {
+    }
+
+    /**
+     * @param allocationRates bytes allocated per second over the summary window, per thread pool
+     */
+    public record Summary(Map<String, Latency> operations, Map<String, Latency> queries, Map<String, Double> allocationRates) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.bitwise.springboot.jfr;
+
+/**
+ * Sum of the amounts added within a sliding window, kept in one-second slots.
+ */
+class RollingRate {
+
+    private final long[] slots;
+    private final long[] slotSeconds;
+
+    RollingRate(int windowSeconds) {
+        this.slots = new long[windowSeconds];
+        this.slotSeconds = new long[windowSeconds];
+    }
+
+    synchronized void add(long epochSecond, long amount) {
+        int slot = (int) Math.floorMod(epochSecond, (long) slots.length);
+        if (slotSeconds[slot] != epochSecond) {
+            slotSeconds[slot] = epochSecond;
+            slots[slot] = 0;
+        }
+        slots[slot] += amount;
+    }
+
+    /**
+     * @return the average amount per second over the window ending at the given second
+     */
+    synchronized double perSecond(long epochSecond) {
+        long sum = 0;
+        for (int slot = 0; slot < slots.length; slot++) {
+            if (epochSecond - slotSeconds[slot] < slots.length && slotSeconds[slot] <= epochSecond) {
+                sum += slots[slot];
+            }
+        }
+        return (double) sum / slots.length;
+    }
+}
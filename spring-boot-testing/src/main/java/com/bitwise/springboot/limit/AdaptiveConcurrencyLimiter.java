@@ -0,0 +1,93 @@
+package com.bitwise.springboot.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that follows the latency of the calls it admits, in the spirit of the
+ * gradient limiters of TCP Vegas: when recent latency rises above the long-term average, queues
+ * are building up downstream and the limit shrinks by the ratio of the two; while latency stays
+ * flat the limit grows by about {@code sqrt(limit)} per sample.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // Weight of one sample in the short-term and long-term latency averages
+    private static final double SHORT_WEIGHT = 0.5;
+    private static final double LONG_WEIGHT = 0.01;
+    // Latency may grow by this factor before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends a call admitted by {@link #tryAcquire()} and feeds its latency into the limit.
+     */
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        onSample(rttNanos, current);
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtEnd) {
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+
+        shortRtt = shortRtt * (1 - SHORT_WEIGHT) + rttNanos * SHORT_WEIGHT;
+        longRtt = longRtt * (1 - LONG_WEIGHT) + rttNanos * LONG_WEIGHT;
+        // After a load spike the long-term average stays high for a while, let it recover faster
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Too little traffic to tell whether a higher limit would hold
+        if (inFlightAtEnd * 2 < limit && shortRtt <= longRtt) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
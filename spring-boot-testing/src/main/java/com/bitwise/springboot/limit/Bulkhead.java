@@ -0,0 +1,65 @@
+package com.bitwise.springboot.limit;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the concurrent calls of one operation class. A call waits at most {@code maxWait} for a
+ * permit and is rejected after that.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrentCalls, Duration maxWait) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    public boolean tryAcquire() {
+        boolean acquired;
+        try {
+            acquired = maxWaitNanos == 0 ? permits.tryAcquire() : permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.incrementAndGet();
+        }
+        return acquired;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getActiveCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    public double getSaturation() {
+        return (double) getActiveCalls() / maxConcurrentCalls;
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
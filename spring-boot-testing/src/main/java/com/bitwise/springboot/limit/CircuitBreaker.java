@@ -0,0 +1,130 @@
+package com.bitwise.springboot.limit;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. It opens when the failure rate of the last {@code windowSize}
+ * calls reaches the threshold, rejects every call while open, then lets a single trial call
+ * through: success closes it again, failure opens it for another period.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoTime;
+
+    private State state = State.CLOSED;
+    private int calls;
+    private int failures;
+    private int position;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration, LongSupplier nanoTime) {
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && nanoTime.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset(State.CLOSED);
+        } else {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+
+        record(true);
+        if (calls >= minimumCalls && (double) failures / calls >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Ends a call that neither succeeded nor failed against the database, such as one rejected by
+     * a bulkhead after passing the breaker.
+     */
+    public synchronized void onIgnored() {
+        trialInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return how long the breaker stays open, zero unless it is open
+     */
+    public synchronized Duration getRemainingOpenTime() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openNanos - (nanoTime.getAsLong() - openedAt)));
+    }
+
+    private void record(boolean failure) {
+        if (calls == outcomes.length) {
+            if (outcomes[position]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        outcomes[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % outcomes.length;
+    }
+
+    private void open() {
+        reset(State.OPEN);
+        openedAt = nanoTime.getAsLong();
+    }
+
+    private void reset(State newState) {
+        state = newState;
+        calls = 0;
+        failures = 0;
+        position = 0;
+        trialInFlight = false;
+    }
+}
@@ -0,0 +1,62 @@
+package com.bitwise.springboot.limit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link TokenBucket} per client and operation type. Once {@code maxClients} clients are
+ * tracked, new clients share one overflow bucket until idle buckets are evicted, which bounds
+ * the memory made up client ids can take.
+ */
+public class ClientRateLimiter {
+
+    private static final String OVERFLOW_CLIENT = "";
+
+    private record Key(String client, OperationType type) {
+    }
+
+    private final Map<OperationType, Budget> budgets;
+    private final int maxClients;
+    private final LongSupplier nanoTime;
+    private final Map<Key, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public record Budget(long capacity, double tokensPerSecond) {
+    }
+
+    public ClientRateLimiter(Budget readBudget, Budget writeBudget, int maxClients) {
+        this(readBudget, writeBudget, maxClients, System::nanoTime);
+    }
+
+    ClientRateLimiter(Budget readBudget, Budget writeBudget, int maxClients, LongSupplier nanoTime) {
+        this.budgets = Map.of(OperationType.READ, readBudget, OperationType.WRITE, writeBudget);
+        this.maxClients = maxClients;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @return 0 when the request may proceed, otherwise the nanoseconds until the client may retry
+     */
+    public long tryAcquire(String client, OperationType type) {
+        long now = nanoTime.getAsLong();
+        Key key = new Key(client, type);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients) {
+                key = new Key(OVERFLOW_CLIENT, type);
+            }
+            Budget budget = budgets.get(type);
+            bucket = buckets.computeIfAbsent(key, newKey -> new TokenBucket(budget.capacity(), budget.tokensPerSecond(), now));
+        }
+        return bucket.tryConsume(now);
+    }
+
+    public void evictIdleClients() {
+        long now = nanoTime.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public int getClientCount() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,69 @@
+package com.bitwise.springboot.limit;
+
+import com.bitwise.springboot.exception.ServiceOverloadedException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Admits calls of the {@code EmployeeService} operations through an adaptive concurrency limit,
+ * one for reads and one for writes. Calls over the limit fail at once with
+ * {@link ServiceOverloadedException} instead of queueing for a database connection. Ordered
+ * ahead of shard routing and transactions, so latency covers the whole database work and
+ * rejected calls never take a connection.
+ */
+@Aspect
+@Component
+@Order(-1)
+@ConditionalOnProperty(name = "employee.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitAspect {
+
+    private final Map<OperationType, AdaptiveConcurrencyLimiter> limiters;
+    private final Duration retryAfter;
+    // Service implementations call each other (write-behind delegates to the database service)
+    private final ThreadLocal<Boolean> admitted = new ThreadLocal<>();
+
+    public ConcurrencyLimitAspect(@Value("${employee.concurrency-limit.read.initial:20}") int readInitialLimit,
+                                  @Value("${employee.concurrency-limit.read.max:200}") int readMaxLimit,
+                                  @Value("${employee.concurrency-limit.write.initial:10}") int writeInitialLimit,
+                                  @Value("${employee.concurrency-limit.write.max:50}") int writeMaxLimit,
+                                  @Value("${employee.concurrency-limit.retry-after:1s}") Duration retryAfter) {
+        this.limiters = Map.of(
+            OperationType.READ, new AdaptiveConcurrencyLimiter(readInitialLimit, 1, readMaxLimit),
+            OperationType.WRITE, new AdaptiveConcurrencyLimiter(writeInitialLimit, 1, writeMaxLimit));
+        this.retryAfter = retryAfter;
+    }
+
+    @Around("execution(* com.bitwise.springboot.service.EmployeeService.*(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (admitted.get() != null) {
+            return joinPoint.proceed();
+        }
+
+        OperationType type = joinPoint.getSignature().getName().startsWith("get") ? OperationType.READ : OperationType.WRITE;
+        AdaptiveConcurrencyLimiter limiter = limiters.get(type);
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many concurrent employee " + type.name().toLowerCase() + "s", retryAfter);
+        }
+
+        long start = System.nanoTime();
+        admitted.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            admitted.remove();
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter(OperationType type) {
+        return limiters.get(type);
+    }
+}
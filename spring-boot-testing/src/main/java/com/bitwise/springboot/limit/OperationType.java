@@ -0,0 +1,9 @@
+package com.bitwise.springboot.limit;
+
+/**
+ * Reads and writes have separate budgets, writes cost the database more.
+ */
+public enum OperationType {
+    READ,
+    WRITE
+}
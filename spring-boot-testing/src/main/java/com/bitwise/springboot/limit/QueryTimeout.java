@@ -0,0 +1,40 @@
+package com.bitwise.springboot.limit;
+
+import java.time.Duration;
+
+/**
+ * Query timeout of the statements the current thread creates, applied by
+ * {@link QueryTimeoutDataSource}.
+ */
+public final class QueryTimeout {
+
+    private static final ThreadLocal<Duration> CURRENT = new ThreadLocal<>();
+
+    private QueryTimeout() {
+    }
+
+    public static Duration current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Applies the timeout until the returned scope is closed. An enclosing, shorter timeout wins.
+     */
+    public static Scope apply(Duration timeout) {
+        Duration previous = CURRENT.get();
+        CURRENT.set(previous != null && previous.compareTo(timeout) < 0 ? previous : timeout);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,65 @@
+package com.bitwise.springboot.limit;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Sets the {@link QueryTimeout} of the current thread on every statement created through its
+ * connections, whichever way Hibernate creates them. JDBC timeouts are in whole seconds, so they
+ * are rounded up.
+ */
+public class QueryTimeoutDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    public QueryTimeoutDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withQueryTimeouts(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withQueryTimeouts(super.getConnection(username, password));
+    }
+
+    private static Connection withQueryTimeouts(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryTimeoutDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("unwrap") && args[0] == Connection.class) {
+                    return connection;
+                }
+
+                Object result;
+                try {
+                    result = method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+
+                Duration timeout = QueryTimeout.current();
+                if (timeout != null && result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())) {
+                    statement.setQueryTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+                }
+                return result;
+            });
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
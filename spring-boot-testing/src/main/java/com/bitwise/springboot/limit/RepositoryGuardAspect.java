@@ -0,0 +1,151 @@
+package com.bitwise.springboot.limit;
+
+import com.bitwise.springboot.exception.ServiceOverloadedException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Guards every {@code EmployeeRepository} call with a circuit breaker shared by all calls, a
+ * bulkhead per {@link RepositoryOperation} and a query timeout. Timeouts are set per operation
+ * class ({@code employee.bulkhead.<class>.timeout}) and can be overridden per repository method
+ * ({@code employee.repository.timeout.<method>}).
+ * <p>
+ * The bulkheads cap transactions rather than statements: inside a transaction, the first
+ * repository call takes a permit that is held until the transaction completes, as is the
+ * connection. Off unless {@code employee.bulkhead.enabled} is set, the transaction timeout
+ * already bounds every statement.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "employee.bulkhead.enabled", havingValue = "true")
+public class RepositoryGuardAspect {
+
+    private static final Map<RepositoryOperation, Integer> DEFAULT_MAX_CONCURRENT =
+        Map.of(RepositoryOperation.POINT_READ, 10, RepositoryOperation.SCAN, 3, RepositoryOperation.WRITE, 5);
+    private static final Map<RepositoryOperation, Duration> DEFAULT_TIMEOUTS =
+        Map.of(RepositoryOperation.POINT_READ, Duration.ofSeconds(2), RepositoryOperation.SCAN, Duration.ofSeconds(10),
+            RepositoryOperation.WRITE, Duration.ofSeconds(5));
+
+    private final Environment environment;
+    private final Map<RepositoryOperation, Bulkhead> bulkheads = new EnumMap<>(RepositoryOperation.class);
+    private final Map<String, Duration> timeouts = new ConcurrentHashMap<>();
+    private final CircuitBreaker circuitBreaker;
+    private final Duration retryAfter;
+
+    public RepositoryGuardAspect(Environment environment,
+                                 @Value("${employee.bulkhead.max-wait:50ms}") Duration maxWait,
+                                 @Value("${employee.bulkhead.retry-after:1s}") Duration retryAfter,
+                                 @Value("${employee.circuit-breaker.window-size:50}") int windowSize,
+                                 @Value("${employee.circuit-breaker.minimum-calls:20}") int minimumCalls,
+                                 @Value("${employee.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                 @Value("${employee.circuit-breaker.open-duration:10s}") Duration openDuration) {
+        this.environment = environment;
+        for (RepositoryOperation operation : RepositoryOperation.values()) {
+            int maxConcurrent = environment.getProperty("employee.bulkhead." + key(operation) + ".max-concurrent",
+                Integer.class, DEFAULT_MAX_CONCURRENT.get(operation));
+            bulkheads.put(operation, new Bulkhead(key(operation), maxConcurrent, maxWait));
+        }
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDuration);
+        this.retryAfter = retryAfter;
+    }
+
+    @Around("target(com.bitwise.springboot.repository.EmployeeRepository)")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Optional<RepositoryOperation> operation = RepositoryOperation.of(method);
+        if (operation.isEmpty()) {
+            return joinPoint.proceed();
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            throw new ServiceOverloadedException("Employee database is unavailable", circuitBreaker.getRemainingOpenTime());
+        }
+        Bulkhead bulkhead = acquire(operation.get());
+
+        try (QueryTimeout.Scope scope = QueryTimeout.apply(timeoutOf(method, operation.get()))) {
+            Object result = joinPoint.proceed();
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (Throwable e) {
+            // Constraint violations and the like come from a healthy database
+            if (isDatabaseFailure(e)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            throw e;
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    public Bulkhead getBulkhead(RepositoryOperation operation) {
+        return bulkheads.get(operation);
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return the bulkhead to release after the call, null when the transaction holds the permit
+     */
+    private Bulkhead acquire(RepositoryOperation operation) {
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        if (inTransaction && TransactionSynchronizationManager.hasResource(this)) {
+            return null;
+        }
+
+        Bulkhead bulkhead = bulkheads.get(operation);
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.onIgnored();
+            throw new ServiceOverloadedException("Too many concurrent employee " + bulkhead.getName() + " queries", retryAfter);
+        }
+        if (!inTransaction) {
+            return bulkhead;
+        }
+
+        TransactionSynchronizationManager.bindResource(this, bulkhead);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(RepositoryGuardAspect.this);
+                bulkhead.release();
+            }
+        });
+        return null;
+    }
+
+    private Duration timeoutOf(String method, RepositoryOperation operation) {
+        return timeouts.computeIfAbsent(method, name -> environment.getProperty("employee.repository.timeout." + name, Duration.class,
+            environment.getProperty("employee.bulkhead." + key(operation) + ".timeout", Duration.class, DEFAULT_TIMEOUTS.get(operation))));
+    }
+
+    private static boolean isDatabaseFailure(Throwable e) {
+        return e instanceof TransientDataAccessException
+            || e instanceof DataAccessResourceFailureException
+            || e instanceof RecoverableDataAccessException;
+    }
+
+    private static String key(RepositoryOperation operation) {
+        return operation.name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,33 @@
+package com.bitwise.springboot.limit;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Classes of repository calls that get separate bulkheads, so slow scans cannot take the
+ * connections point reads and writes need.
+ */
+public enum RepositoryOperation {
+    POINT_READ,
+    SCAN,
+    WRITE;
+
+    private static final Set<String> POINT_READS = Set.of("findById", "findByEmail", "existsById", "getReferenceById");
+
+    /**
+     * @return the class of a repository method, empty for methods that do not touch the database
+     */
+    public static Optional<RepositoryOperation> of(String methodName) {
+        if (POINT_READS.contains(methodName)) {
+            return Optional.of(POINT_READ);
+        }
+        if (methodName.startsWith("save") || methodName.startsWith("delete") || methodName.startsWith("archive")
+                || methodName.startsWith("flush")) {
+            return Optional.of(WRITE);
+        }
+        if (methodName.startsWith("find") || methodName.startsWith("count") || methodName.startsWith("exists")) {
+            return Optional.of(SCAN);
+        }
+        return Optional.empty();
+    }
+}
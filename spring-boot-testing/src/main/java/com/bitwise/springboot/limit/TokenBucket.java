@@ -0,0 +1,56 @@
+package com.bitwise.springboot.limit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: holds up to {@code capacity} tokens and refills continuously at
+ * {@code tokensPerSecond}. The state is swapped with compare-and-set, so concurrent requests of
+ * the same client never block each other.
+ */
+public class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private record State(double tokens, long refilledAt) {
+    }
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(long capacity, double tokensPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / NANOS_PER_SECOND;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Takes one token if there is one.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until the next token
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = tokensAt(current, nowNanos);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(nowNanos, current.refilledAt())))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A full bucket behaves like a new one, so it can be dropped.
+     */
+    public boolean isFull(long nowNanos) {
+        return tokensAt(state.get(), nowNanos) >= capacity;
+    }
+
+    private double tokensAt(State state, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - state.refilledAt());
+        return Math.min(capacity, state.tokens() + elapsed * tokensPerNano);
+    }
+}
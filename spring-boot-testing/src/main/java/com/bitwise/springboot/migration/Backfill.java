@@ -0,0 +1,29 @@
+package com.bitwise.springboot.migration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * A data migration over an existing table, such as filling a new column. {@link BackfillRunner}
+ * runs it in the background in chunks of ids, one transaction per chunk, and records the last id
+ * of each chunk, so it never holds locks on many rows and resumes where it stopped after a restart.
+ */
+public interface Backfill {
+
+    /**
+     * Unique name, the progress is stored under it. A new name starts over from the first row.
+     */
+    String getName();
+
+    /**
+     * Table the chunks are taken from, by its numeric id column.
+     */
+    String getTable();
+
+    /**
+     * Migrates the rows with {@code fromId < id <= toId}. Runs again for the same chunk when the
+     * transaction fails, so it must be idempotent.
+     *
+     * @return the number of rows changed
+     */
+    int apply(JdbcTemplate jdbcTemplate, long fromId, long toId);
+}
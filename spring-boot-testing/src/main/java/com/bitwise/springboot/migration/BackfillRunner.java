@@ -0,0 +1,142 @@
+package com.bitwise.springboot.migration;
+
+import com.bitwise.springboot.shard.Shards;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the {@link Backfill} beans after startup on a background thread, on every shard. Chunks
+ * are separated by a pause that leaves the database to the application traffic. Progress lives in
+ * the backfill_progress table of each shard.
+ */
+@Component
+public class BackfillRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BackfillRunner.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Shards shards;
+    private final List<Backfill> backfills;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pause;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BackfillRunner(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          Shards shards,
+                          ObjectProvider<Backfill> backfills,
+                          @Value("${employee.backfill.enabled:true}") boolean enabled,
+                          @Value("${employee.backfill.batch-size:1000}") int batchSize,
+                          @Value("${employee.backfill.pause:100ms}") Duration pause) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shards = shards;
+        this.backfills = backfills.orderedStream().toList();
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || backfills.isEmpty()) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                for (Backfill backfill : backfills) {
+                    shards.forEach(shard -> {
+                        long rows = run(backfill);
+                        if (!Thread.currentThread().isInterrupted()) {
+                            log.info("Backfill {} completed on shard {}, {} rows changed", backfill.getName(), shard, rows);
+                        }
+                    });
+                }
+            } catch (RuntimeException e) {
+                // Resumes from the last completed chunk on the next start
+                log.error("Backfill stopped", e);
+            }
+        });
+    }
+
+    /**
+     * Runs a backfill on the current shard up to the end of its table.
+     *
+     * @return the number of rows changed
+     */
+    public long run(Backfill backfill) {
+        List<Map<String, Object>> progress = jdbcTemplate.queryForList(
+            "select last_id, completed_at from backfill_progress where name = ?", backfill.getName());
+        long lastId;
+        if (progress.isEmpty()) {
+            lastId = 0;
+            jdbcTemplate.update("insert into backfill_progress (name, last_id) values (?, ?)", backfill.getName(), lastId);
+        } else if (progress.get(0).get("completed_at") != null) {
+            return 0;
+        } else {
+            lastId = ((Number) progress.get(0).get("last_id")).longValue();
+        }
+
+        long rows = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long fromId = lastId;
+            // Upper bound of the next chunk, found through the primary key without touching the rows
+            Long toId = jdbcTemplate.queryForObject("select max(id) from (select id from " + backfill.getTable()
+                + " where id > ? order by id limit ?) chunk", Long.class, fromId, batchSize);
+            if (toId == null) {
+                jdbcTemplate.update("update backfill_progress set completed_at = ? where name = ?",
+                    Timestamp.from(Instant.now()), backfill.getName());
+                break;
+            }
+
+            Integer changed = transactionTemplate.execute(status -> {
+                int count = backfill.apply(jdbcTemplate, fromId, toId);
+                jdbcTemplate.update("update backfill_progress set last_id = ? where name = ?", toId, backfill.getName());
+                return count;
+            });
+            rows += changed != null ? changed : 0;
+            lastId = toId;
+            pause();
+        }
+        return rows;
+    }
+
+    private void pause() {
+        if (pause.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
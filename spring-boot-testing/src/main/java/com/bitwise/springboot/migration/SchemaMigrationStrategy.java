@@ -0,0 +1,89 @@
+package com.bitwise.springboot.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Runs the Flyway migrations configured by {@code spring.flyway.*} on every database, each shard
+ * with sharding. A database with employees but no migration history yet was created by Hibernate
+ * with ddl-auto=update, before the schema was versioned: it is baselined at the baseline version
+ * rather than migrated from scratch, provided it has the baseline schema and nothing of later
+ * versions.
+ */
+public class SchemaMigrationStrategy implements FlywayMigrationStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrationStrategy.class);
+
+    // Created by the later migrations, a database having one of them is not at the baseline
+    private static final List<String> LATER_TABLES = List.of("employee_outbox", "employees_archive", "employee_email_shards",
+        "backfill_progress", "id_blocks");
+
+    private final List<DataSource> databases;
+
+    public SchemaMigrationStrategy(List<DataSource> databases) {
+        this.databases = databases;
+    }
+
+    @Override
+    public void migrate(Flyway flyway) {
+        for (DataSource database : databases) {
+            migrate(Flyway.configure().configuration(flyway.getConfiguration()).dataSource(database));
+        }
+    }
+
+    /**
+     * @return the number of migrations applied
+     */
+    public int migrate(FluentConfiguration configuration) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(configuration.getDataSource());
+        if (configuration.load().info().applied().length == 0 && tableExists(jdbcTemplate, "employees")) {
+            checkBaseline(jdbcTemplate);
+            configuration.baselineOnMigrate(true);
+            log.info("Existing schema baselined at version {}", configuration.getBaselineVersion().getVersion());
+        }
+        return configuration.load().migrate().migrationsExecuted;
+    }
+
+    private static void checkBaseline(JdbcTemplate jdbcTemplate) {
+        List<String> later = LATER_TABLES.stream().filter(table -> tableExists(jdbcTemplate, table)).toList();
+        if (!later.isEmpty() || columnExists(jdbcTemplate, "employees", "status")) {
+            throw new IllegalStateException("Existing schema cannot be baselined, it has more than the baseline employees table: "
+                + (later.isEmpty() ? "employees.status" : later));
+        }
+    }
+
+    private static boolean tableExists(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(),
+                    identifier(metaData, table), new String[]{"TABLE"})) {
+                return tables.next();
+            }
+        });
+    }
+
+    private static boolean columnExists(JdbcTemplate jdbcTemplate, String table, String column) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                    identifier(metaData, table), identifier(metaData, column))) {
+                return columns.next();
+            }
+        });
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+    }
+}
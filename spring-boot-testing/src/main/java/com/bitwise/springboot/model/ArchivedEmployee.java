@@ -0,0 +1,53 @@
+package com.bitwise.springboot.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "employees_archive")
+public class ArchivedEmployee implements Persistable<Long> {
+
+    // Same id as in the employees table
+    @Id
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "first_name", nullable = false)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false)
+    private String lastName;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    // Rows are only ever inserted, this saves the select that merging an assigned id would cost
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    public static ArchivedEmployee of(Employee employee, Instant archivedAt) {
+        return ArchivedEmployee.builder()
+            .id(employee.getId())
+            .tenantId(employee.getTenantId())
+            .firstName(employee.getFirstName())
+            .lastName(employee.getLastName())
+            .email(employee.getEmail())
+            .archivedAt(archivedAt)
+            .build();
+    }
+}
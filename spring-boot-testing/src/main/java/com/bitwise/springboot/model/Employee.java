@@ -1,21 +1,35 @@
 package com.bitwise.springboot.model;
 
+import com.bitwise.springboot.id.EmployeeId;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.TenantId;
+import org.hibernate.annotations.Where;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+    @Index(name = "idx_employees_status", columnList = "status"),
+    @Index(name = "idx_employees_tenant_email", columnList = "tenant_id, email"),
+    @Index(name = "idx_employees_tenant_name", columnList = "tenant_id, first_name, last_name")
+})
+// Archived employees are invisible to JPA queries until the archiver moves them out of the table
+@Where(clause = "status = 'ACTIVE'")
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EmployeeId
     private Long id;
 
+    // Set from the session's tenant on insert and never updated; every query is restricted to it
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
     @Column(name = "first_name", nullable = false)
     private String firstName;
 
@@ -24,4 +38,9 @@ public class Employee {
 
     @Column(nullable = false)
     private String email;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmployeeStatus status = EmployeeStatus.ACTIVE;
 }
@@ -0,0 +1,43 @@
+package com.bitwise.springboot.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Directory entry telling which shard holds the employee of a tenant with a given email. Entries
+ * are not removed when employees are deleted or change their email, so readers check them against
+ * the shard before trusting them.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "employee_email_shards")
+@IdClass(EmployeeEmailShard.Key.class)
+public class EmployeeEmailShard {
+
+    @Id
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Id
+    private String email;
+
+    @Column(nullable = false)
+    private int shard;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+
+        private String tenantId;
+        private String email;
+    }
+}
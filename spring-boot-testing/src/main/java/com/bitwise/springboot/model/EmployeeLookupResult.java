@@ -0,0 +1,29 @@
+package com.bitwise.springboot.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One entry of a batch lookup: the requested id and the employee, or an explicit
+ * marker that no employee exists with that id.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeLookupResult {
+
+    private Long id;
+
+    private boolean found;
+
+    private Employee employee;
+
+    public static EmployeeLookupResult found(Employee employee) {
+        return new EmployeeLookupResult(employee.getId(), true, employee);
+    }
+
+    public static EmployeeLookupResult missing(Long id) {
+        return new EmployeeLookupResult(id, false, null);
+    }
+}
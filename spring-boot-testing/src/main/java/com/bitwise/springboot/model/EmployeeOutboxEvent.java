@@ -0,0 +1,52 @@
+package com.bitwise.springboot.model;
+
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A change of an employee, written in the same transaction as the change itself.
+ * The sequence number orders the changes and lets consumers resume where they stopped.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "employee_outbox", indexes = {
+    @Index(name = "idx_employee_outbox_unpublished", columnList = "published_at, seq"),
+    @Index(name = "idx_employee_outbox_tenant", columnList = "tenant_id, seq")
+})
+public class EmployeeOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmployeeChangedEvent.Type type;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    // Tenant of the employee; a plain column, the relay and the purge work across tenants
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    // The employee as JSON, null for deletes. Without a length MySQL would get a 255 byte tinytext
+    @JsonRawValue
+    @Lob
+    @Column(length = 16_777_215)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
@@ -0,0 +1,24 @@
+package com.bitwise.springboot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Employee counts of a tenant, overall, by email domain and by last name initial, as of the
+ * last change. Reconciled with the database at {@code reconciledAt}.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeStats {
+
+    private long total;
+
+    private Map<String, Long> byEmailDomain;
+
+    private Map<String, Long> byLastNameInitial;
+
+    private Instant reconciledAt;
+}
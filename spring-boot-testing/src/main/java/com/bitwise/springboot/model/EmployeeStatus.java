@@ -0,0 +1,7 @@
+package com.bitwise.springboot.model;
+
+public enum EmployeeStatus {
+    ACTIVE,
+    // Deleted through the API, waiting to be moved to the archive table
+    ARCHIVED
+}
@@ -0,0 +1,14 @@
+package com.bitwise.springboot.outbox;
+
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Sends outbox events to downstream systems. Delivery is at least once: a batch is published
+ * again if marking it as published fails.
+ */
+public interface EmployeeEventPublisher {
+
+    void publish(List<EmployeeOutboxEvent> events);
+}
@@ -0,0 +1,88 @@
+package com.bitwise.springboot.outbox;
+
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import com.bitwise.springboot.repository.EmployeeOutboxRepository;
+import com.bitwise.springboot.shard.Shards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Publishes unpublished outbox events in sequence order, one batch at a time, and removes
+ * published events once they are older than the retention period. With sharding every shard
+ * has its own outbox, events are in order within a shard.
+ */
+@Component
+public class EmployeeOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeOutboxRelay.class);
+
+    private final EmployeeOutboxRepository outboxRepository;
+    private final EmployeeEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Shards shards;
+    private final int batchSize;
+    private final Duration retention;
+
+    public EmployeeOutboxRelay(EmployeeOutboxRepository outboxRepository,
+                               EmployeeEventPublisher eventPublisher,
+                               TransactionTemplate transactionTemplate,
+                               Shards shards,
+                               @Value("${employee.outbox.batch-size:100}") int batchSize,
+                               @Value("${employee.outbox.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.shards = shards;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.outbox.relay-interval:1000}")
+    public void relay() {
+        shards.forEach(shard -> {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published == batchSize);
+        });
+    }
+
+    /**
+     * Publishes one batch of the current shard.
+     *
+     * @return the number of events published
+     */
+    public int relayBatch() {
+        List<EmployeeOutboxEvent> events = outboxRepository.findByPublishedAtIsNullOrderBySeqAsc(PageRequest.ofSize(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        eventPublisher.publish(events);
+        transactionTemplate.executeWithoutResult(status ->
+            outboxRepository.markPublished(events.stream().map(EmployeeOutboxEvent::getSeq).toList(), Instant.now()));
+
+        log.debug("Published employee outbox events {} to {}", events.get(0).getSeq(), events.get(events.size() - 1).getSeq());
+        return events.size();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.outbox.purge-interval:3600000}")
+    public void purge() {
+        shards.forEach(shard -> {
+            Integer purged = transactionTemplate.execute(status ->
+                outboxRepository.deletePublishedBefore(Instant.now().minus(retention)));
+            if (purged != null && purged > 0) {
+                log.info("Purged {} published employee outbox events of shard {}", purged, shard);
+            }
+        });
+    }
+}
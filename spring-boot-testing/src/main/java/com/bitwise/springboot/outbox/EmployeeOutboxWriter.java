@@ -0,0 +1,38 @@
+package com.bitwise.springboot.outbox;
+
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import com.bitwise.springboot.repository.EmployeeOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Writes every employee change to the outbox. The listener runs synchronously, inside the
+ * transaction of the change, so the change and its outbox entry commit or roll back together.
+ */
+@Component
+public class EmployeeOutboxWriter {
+
+    private final EmployeeOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeOutboxWriter(EmployeeOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) throws JsonProcessingException {
+        outboxRepository.save(EmployeeOutboxEvent.builder()
+            .type(event.type())
+            .employeeId(event.id())
+            .tenantId(event.tenantId())
+            .payload(event.employee() != null ? objectMapper.writeValueAsString(event.employee()) : null)
+            .createdAt(Instant.now())
+            .build());
+    }
+}
@@ -0,0 +1,44 @@
+package com.bitwise.springboot.outbox;
+
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends the published events to a local file, one JSON object per line.
+ */
+public class FileEmployeeEventPublisher implements EmployeeEventPublisher {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileEmployeeEventPublisher(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<EmployeeOutboxEvent> events) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream out = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (EmployeeOutboxEvent event : events) {
+                    out.write(objectMapper.writeValueAsBytes(event));
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not publish employee events to " + path, e);
+        }
+    }
+}
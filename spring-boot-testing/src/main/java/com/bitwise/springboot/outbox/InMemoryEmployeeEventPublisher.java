@@ -0,0 +1,35 @@
+package com.bitwise.springboot.outbox;
+
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recently published events in memory, a stand-in for a message broker
+ * in tests and demos.
+ */
+public class InMemoryEmployeeEventPublisher implements EmployeeEventPublisher {
+
+    private final int capacity;
+    private final Deque<EmployeeOutboxEvent> published = new ArrayDeque<>();
+
+    public InMemoryEmployeeEventPublisher(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<EmployeeOutboxEvent> events) {
+        for (EmployeeOutboxEvent event : events) {
+            if (published.size() == capacity) {
+                published.removeFirst();
+            }
+            published.addLast(event);
+        }
+    }
+
+    public synchronized List<EmployeeOutboxEvent> getPublished() {
+        return List.copyOf(published);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bitwise.springboot.repository;
+
+import com.bitwise.springboot.model.ArchivedEmployee;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedEmployeeRepository extends JpaRepository<ArchivedEmployee, Long> {
+}
@@ -0,0 +1,17 @@
+package com.bitwise.springboot.repository;
+
+import com.bitwise.springboot.model.EmployeeEmailShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface EmployeeEmailShardRepository extends JpaRepository<EmployeeEmailShard, EmployeeEmailShard.Key> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM EmployeeEmailShard e WHERE e.tenantId = :tenantId AND e.email = :email")
+    Optional<EmployeeEmailShard> findForUpdate(@Param("tenantId") String tenantId, @Param("email") String email);
+}
@@ -0,0 +1,34 @@
+package com.bitwise.springboot.repository;
+
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface EmployeeOutboxRepository extends JpaRepository<EmployeeOutboxEvent, Long> {
+
+    List<EmployeeOutboxEvent> findBySeqGreaterThanAndCreatedAtBeforeOrderBySeqAsc(Long seq, Instant createdBefore, Pageable pageable);
+
+    List<EmployeeOutboxEvent> findByTenantIdAndSeqGreaterThanAndCreatedAtBeforeOrderBySeqAsc(String tenantId, Long seq,
+                                                                                            Instant createdBefore, Pageable pageable);
+
+    List<EmployeeOutboxEvent> findByPublishedAtIsNullOrderBySeqAsc(Pageable pageable);
+
+    Optional<EmployeeOutboxEvent> findFirstByCreatedAtBeforeOrderBySeqDesc(Instant createdBefore);
+
+    Optional<EmployeeOutboxEvent> findFirstByOrderBySeqAsc();
+
+    @Modifying
+    @Query("UPDATE EmployeeOutboxEvent e SET e.publishedAt = :publishedAt WHERE e.seq IN :seqs")
+    int markPublished(@Param("seqs") List<Long> seqs, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM EmployeeOutboxEvent e WHERE e.publishedAt < :publishedBefore")
+    int deletePublishedBefore(@Param("publishedBefore") Instant publishedBefore);
+}
@@ -1,25 +1,51 @@
 package com.bitwise.springboot.repository;
 
 import com.bitwise.springboot.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
+    // A query rather than a load by id: Hibernate only applies the tenant restriction to queries
+    @Override
+    @Query("SELECT e FROM Employee e WHERE e.id = :id")
+    Optional<Employee> findById(@Param("id") Long id);
+
     Optional<Employee> findByEmail(String email);
 
+    // Keyset pagination: reads the table in id order without the cost of large offsets
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
     @Query("SELECT e FROM Employee e WHERE e.firstName = ?1 AND e.lastName = ?2")
     Employee findByJPQL(String firstName, String lastName);
 
     @Query("SELECT e FROM Employee e WHERE e.firstName =:firstName AND e.lastName =:lastName")
     Employee findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
-    @Query(value = "SELECT * FROM employees e WHERE e.first_name = ?1 AND e.last_name = ?2", nativeQuery = true)
+    // Hibernate restricts JPQL and derived queries to the current tenant, native ones say so themselves
+    @Query(value = "SELECT * FROM employees e WHERE e.tenant_id = ?#{T(com.bitwise.springboot.tenant.TenantContext).current()}"
+        + " AND e.first_name = ?1 AND e.last_name = ?2 AND e.status = 'ACTIVE'", nativeQuery = true)
     Employee findByNativeSQL(String firstName, String lastName);
 
-    @Query(value = "SELECT * FROM employees e WHERE e.first_name =:firstName AND e.last_name =:lastName", nativeQuery = true)
+    @Query(value = "SELECT * FROM employees e WHERE e.tenant_id = :#{T(com.bitwise.springboot.tenant.TenantContext).current()}"
+        + " AND e.first_name =:firstName AND e.last_name =:lastName AND e.status = 'ACTIVE'", nativeQuery = true)
     Employee findByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.status = com.bitwise.springboot.model.EmployeeStatus.ARCHIVED WHERE e.id = :id")
+    int archiveById(@Param("id") Long id);
+
+    // Native, since archived employees are filtered out of every JPQL query. Covers all tenants
+    @Query(value = "SELECT * FROM employees e WHERE e.status = 'ARCHIVED' ORDER BY e.id LIMIT :limit", nativeQuery = true)
+    List<Employee> findArchived(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM employees WHERE id IN (:ids) AND status = 'ARCHIVED'", nativeQuery = true)
+    int deleteArchived(@Param("ids") List<Long> ids);
 }
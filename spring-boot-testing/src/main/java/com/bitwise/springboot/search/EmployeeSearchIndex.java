@@ -0,0 +1,276 @@
+package com.bitwise.springboot.search;
+
+import com.bitwise.springboot.model.Employee;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenFilter;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.util.CharTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded Lucene index over first name, last name and email. Matches exact tokens, prefixes,
+ * tokens within one or two edits, and substrings (through a trigram field), best matches first.
+ * Searches can be restricted to the employees of one tenant.
+ */
+public class EmployeeSearchIndex implements AutoCloseable {
+
+    public record Hit(Long id, float score) {
+    }
+
+    static final String ID = "id";
+    static final String TENANT = "tenant";
+    static final String FIRST_NAME = "firstName";
+    static final String LAST_NAME = "lastName";
+    static final String EMAIL = "email";
+    static final String GRAMS = "grams";
+
+    private static final List<String> TEXT_FIELDS = List.of(FIRST_NAME, LAST_NAME, EMAIL);
+    private static final int GRAM_SIZE = 3;
+
+    private final Analyzer analyzer = new EmployeeAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    /**
+     * @param path directory of the index, or null to keep it in memory
+     */
+    public EmployeeSearchIndex(Path path) {
+        try {
+            directory = path != null ? FSDirectory.open(path) : new ByteBuffersDirectory();
+            writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the employee search index", e);
+        }
+    }
+
+    public void index(Employee employee) {
+        try {
+            writer.updateDocument(new Term(ID, employee.getId().toString()), toDocument(employee));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not index employee " + employee.getId(), e);
+        }
+    }
+
+    public void delete(Long id) {
+        try {
+            writer.deleteDocuments(new Term(ID, id.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not remove employee " + id + " from the index", e);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not clear the employee search index", e);
+        }
+    }
+
+    public int count() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Makes the changes indexed so far visible to searches, if there are any.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not refresh the employee search index", e);
+        }
+    }
+
+    public void commit() {
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not commit the employee search index", e);
+        }
+    }
+
+    /**
+     * Commits the changes indexed so far together with the user data, which describes them.
+     */
+    public void commit(Map<String, String> commitData) {
+        writer.setLiveCommitData(new HashMap<>(commitData).entrySet());
+        commit();
+    }
+
+    /**
+     * @return user data of the last commit, empty if there is none
+     */
+    public Map<String, String> getCommitData() {
+        try {
+            return DirectoryReader.indexExists(directory) ? SegmentInfos.readLatestCommit(directory).getUserData() : Map.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the employee search index commit", e);
+        }
+    }
+
+    public List<Hit> search(String text, int limit) {
+        return search(null, text, limit);
+    }
+
+    /**
+     * @param tenantId tenant whose employees are searched, null for all tenants
+     */
+    public List<Hit> search(String tenantId, String text, int limit) {
+        Query query = buildQuery(text);
+        if (query == null) {
+            return List.of();
+        }
+        if (tenantId != null) {
+            query = new BooleanQuery.Builder()
+                .add(query, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(TENANT, tenantId)), BooleanClause.Occur.FILTER)
+                .build();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, limit);
+                List<Hit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    String id = searcher.storedFields().document(scoreDoc.doc).get(ID);
+                    hits.add(new Hit(Long.valueOf(id), scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not search the employee index", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Every token of the text has to match one of the fields, exactly (best), as a prefix,
+     * with a typo or as a substring.
+     */
+    Query buildQuery(String text) {
+        List<String> tokens = analyze(text);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String token : tokens) {
+            BooleanQuery.Builder tokenQuery = new BooleanQuery.Builder();
+            for (String field : TEXT_FIELDS) {
+                tokenQuery.add(new BoostQuery(new TermQuery(new Term(field, token)), 4f), BooleanClause.Occur.SHOULD);
+                tokenQuery.add(new BoostQuery(new PrefixQuery(new Term(field, token)), 2f), BooleanClause.Occur.SHOULD);
+                if (token.length() >= GRAM_SIZE) {
+                    int maxEdits = token.length() >= 6 ? 2 : 1;
+                    tokenQuery.add(new FuzzyQuery(new Term(field, token), maxEdits, 1), BooleanClause.Occur.SHOULD);
+                }
+            }
+            if (token.length() >= GRAM_SIZE) {
+                BooleanQuery.Builder substring = new BooleanQuery.Builder();
+                for (int i = 0; i + GRAM_SIZE <= token.length(); i++) {
+                    substring.add(new TermQuery(new Term(GRAMS, token.substring(i, i + GRAM_SIZE))), BooleanClause.Occur.FILTER);
+                }
+                tokenQuery.add(new BoostQuery(substring.build(), 0.5f), BooleanClause.Occur.SHOULD);
+            }
+            query.add(tokenQuery.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(FIRST_NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not analyze the search text", e);
+        }
+        return tokens;
+    }
+
+    private static Document toDocument(Employee employee) {
+        Document document = new Document();
+        document.add(new StringField(ID, employee.getId().toString(), Field.Store.YES));
+        if (employee.getTenantId() != null) {
+            document.add(new StringField(TENANT, employee.getTenantId(), Field.Store.NO));
+        }
+        document.add(new TextField(FIRST_NAME, employee.getFirstName(), Field.Store.NO));
+        document.add(new TextField(LAST_NAME, employee.getLastName(), Field.Store.NO));
+        document.add(new TextField(EMAIL, employee.getEmail(), Field.Store.NO));
+        for (String field : List.of(employee.getFirstName(), employee.getLastName(), employee.getEmail())) {
+            document.add(new TextField(GRAMS, field, Field.Store.NO));
+        }
+        return document;
+    }
+
+    /**
+     * Splits on anything that is not a letter or digit, so "ramesh.fadatare@gmail.com" gives
+     * ramesh, fadatare, gmail and com, and lower cases the tokens. The grams field is further
+     * split into trigrams.
+     */
+    private static class EmployeeAnalyzer extends Analyzer {
+
+        EmployeeAnalyzer() {
+            super(PER_FIELD_REUSE_STRATEGY);
+        }
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = CharTokenizer.fromTokenCharPredicate(Character::isLetterOrDigit);
+            TokenStream stream = new LowerCaseFilter(tokenizer);
+            if (GRAMS.equals(fieldName)) {
+                stream = new NGramTokenFilter(stream, GRAM_SIZE, GRAM_SIZE, false);
+            }
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.bitwise.springboot.search;
+
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.service.EmployeeChangeService;
+import com.bitwise.springboot.service.EmployeeService;
+import com.bitwise.springboot.shard.Shards;
+import com.bitwise.springboot.tenant.TenantContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Searches employees through the {@link EmployeeSearchIndex} and keeps the index in sync with
+ * the employees. Every instance has its own index, fed from the outbox of employee changes (see
+ * {@link EmployeeChangeService}), so it also sees the changes made by the other instances, within
+ * the outbox visibility delay plus the sync interval. Changes made through this instance are
+ * indexed right away once committed as well. Indexed changes become searchable within the
+ * refresh interval.
+ * <p>
+ * The index remembers up to which outbox change it is in sync, for every shard, in its commit
+ * data. An index without that position, or one so old that the outbox has purged the changes it
+ * misses, is rebuilt from the employees table on startup.
+ */
+@Service
+public class EmployeeSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchService.class);
+
+    private static final String SEQ_PREFIX = "outbox.seq.";
+
+    private final EmployeeSearchIndex searchIndex;
+    private final EmployeeService employeeService;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeChangeService employeeChangeService;
+    private final ObjectMapper objectMapper;
+    private final Shards shards;
+    private final int rebuildBatchSize;
+
+    // Last outbox change indexed, per shard; null until the index is initialized
+    private long[] indexedSeqs;
+
+    public EmployeeSearchService(EmployeeSearchIndex searchIndex,
+                                 EmployeeService employeeService,
+                                 EmployeeRepository employeeRepository,
+                                 EmployeeChangeService employeeChangeService,
+                                 ObjectMapper objectMapper,
+                                 Shards shards,
+                                 @Value("${employee.search.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.searchIndex = searchIndex;
+        this.employeeService = employeeService;
+        this.employeeRepository = employeeRepository;
+        this.employeeChangeService = employeeChangeService;
+        this.objectMapper = objectMapper;
+        this.shards = shards;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    public List<Employee> searchEmployees(String text, int limit) {
+        List<EmployeeSearchIndex.Hit> hits = searchIndex.search(TenantContext.current(), text, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        // Batch get keeps the order of the hits and reads every shard that holds one
+        return employeeService.getEmployeesByIds(hits.stream().map(EmployeeSearchIndex.Hit::id).toList())
+            .stream()
+            .filter(EmployeeLookupResult::isFound)
+            .map(EmployeeLookupResult::getEmployee)
+            .toList();
+    }
+
+    // The outbox brings the same change again later, indexing is idempotent
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> searchIndex.index(event.employee());
+            case DELETED -> searchIndex.delete(event.id());
+        }
+    }
+
+    /**
+     * Resumes from the outbox position of the last index commit, or rebuilds the index when it has
+     * none or the outbox no longer holds every change since.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuildIfStale() {
+        Map<String, String> commitData = searchIndex.getCommitData();
+        long[] seqs = new long[shards.count()];
+        for (int shard = 0; shard < seqs.length; shard++) {
+            String seq = commitData.get(SEQ_PREFIX + shard);
+            Optional<Long> firstSeq = employeeChangeService.getFirstSeq(shard);
+            if (seq == null || firstSeq.isPresent() && firstSeq.get() > Long.parseLong(seq) + 1) {
+                log.info("Search index is not in sync with the outbox of shard {}, rebuilding it", shard);
+                rebuild();
+                return;
+            }
+            seqs[shard] = Long.parseLong(seq);
+        }
+
+        indexedSeqs = seqs;
+        sync();
+    }
+
+    /**
+     * Re-indexes every employee of every tenant, reading each shard in id order one batch at a time.
+     * Changes committed during the rebuild are picked up from the outbox afterwards.
+     */
+    public synchronized void rebuild() {
+        // Every change up to these has committed, so the scans below see them
+        long[] seqs = new long[shards.count()];
+        for (int shard = 0; shard < seqs.length; shard++) {
+            seqs[shard] = employeeChangeService.getLastVisibleSeq(shard);
+        }
+
+        searchIndex.deleteAll();
+
+        try (TenantContext.Scope scope = TenantContext.enter(TenantContext.ROOT)) {
+            shards.forEach(shard -> {
+                long lastId = Long.MIN_VALUE;
+                List<Employee> batch;
+                do {
+                    batch = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.ofSize(rebuildBatchSize));
+                    batch.forEach(searchIndex::index);
+                    if (!batch.isEmpty()) {
+                        lastId = batch.get(batch.size() - 1).getId();
+                    }
+                } while (batch.size() == rebuildBatchSize);
+            });
+        }
+
+        indexedSeqs = seqs;
+        commit();
+        searchIndex.refresh();
+        sync();
+    }
+
+    /**
+     * Indexes the outbox changes of every shard since the last one indexed.
+     */
+    @Scheduled(fixedDelayString = "${employee.search.sync-interval:1000}")
+    public synchronized void sync() {
+        if (indexedSeqs == null) {
+            return;
+        }
+
+        try (TenantContext.Scope scope = TenantContext.enter(TenantContext.ROOT)) {
+            for (int shard = 0; shard < indexedSeqs.length; shard++) {
+                List<EmployeeOutboxEvent> changes;
+                do {
+                    changes = employeeChangeService.getChangesSince(shard, indexedSeqs[shard], rebuildBatchSize);
+                    changes.forEach(this::apply);
+                    if (!changes.isEmpty()) {
+                        indexedSeqs[shard] = changes.get(changes.size() - 1).getSeq();
+                    }
+                } while (changes.size() == rebuildBatchSize);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.search.refresh-interval:200}")
+    public void refresh() {
+        searchIndex.refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.search.commit-interval:30000}")
+    public synchronized void commit() {
+        if (indexedSeqs == null) {
+            searchIndex.commit();
+            return;
+        }
+
+        Map<String, String> commitData = new HashMap<>();
+        for (int shard = 0; shard < indexedSeqs.length; shard++) {
+            commitData.put(SEQ_PREFIX + shard, Long.toString(indexedSeqs[shard]));
+        }
+        searchIndex.commit(commitData);
+    }
+
+    private void apply(EmployeeOutboxEvent change) {
+        switch (change.getType()) {
+            case CREATED, UPDATED -> searchIndex.index(readEmployee(change));
+            case DELETED -> searchIndex.delete(change.getEmployeeId());
+        }
+    }
+
+    private Employee readEmployee(EmployeeOutboxEvent change) {
+        try {
+            return objectMapper.readValue(change.getPayload(), Employee.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not read employee change " + change.getSeq(), e);
+        }
+    }
+}
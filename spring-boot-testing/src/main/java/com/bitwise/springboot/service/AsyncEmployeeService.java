@@ -0,0 +1,28 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link EmployeeService} without blocking the caller: every call runs on the async employee
+ * executor, in the caller's tenant, and completes the returned future. Calls the executor has no
+ * room for fail with a {@link com.bitwise.springboot.exception.ServiceOverloadedException}.
+ */
+public interface AsyncEmployeeService {
+
+    CompletableFuture<Employee> saveEmployee(Employee employee);
+
+    CompletableFuture<List<Employee>> getAllEmployees();
+
+    CompletableFuture<Optional<Employee>> getEmployeeById(Long id);
+
+    CompletableFuture<List<EmployeeLookupResult>> getEmployeesByIds(List<Long> ids);
+
+    CompletableFuture<Employee> updateEmployee(Employee employee);
+
+    CompletableFuture<Void> deleteEmployee(Long id);
+}
@@ -0,0 +1,162 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.exception.ServiceOverloadedException;
+import com.bitwise.springboot.hibernate.RequestStatistics;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
+import com.bitwise.springboot.tenant.TenantContext;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the {@link EmployeeService} calls on a bounded executor: at most max-threads calls at a
+ * time and queue-capacity waiting. The threads are virtual threads when the JVM has them (Java 21
+ * and later) and virtual-threads is on, platform threads otherwise. The tenant, the current
+ * observation and the request statistics of the caller are carried over to the thread running
+ * the call.
+ * <p>
+ * Batch lookups are split into chunks looked up concurrently.
+ */
+@Service
+public class AsyncEmployeeServiceImpl implements AsyncEmployeeService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncEmployeeServiceImpl.class);
+
+    private final EmployeeService employeeService;
+    private final ObservationRegistry observationRegistry;
+    private final ThreadPoolExecutor executor;
+
+    private int batchGetChunkSize = 500;
+
+    public AsyncEmployeeServiceImpl(EmployeeService employeeService,
+                                    ObjectProvider<ObservationRegistry> observationRegistry,
+                                    @Value("${employee.async.max-threads:64}") int maxThreads,
+                                    @Value("${employee.async.queue-capacity:1000}") int queueCapacity,
+                                    @Value("${employee.async.virtual-threads:true}") boolean virtualThreads) {
+        this.employeeService = employeeService;
+        this.observationRegistry = observationRegistry.getIfAvailable();
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), threadFactory(virtualThreads));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Value("${employee.batch-get.chunk-size:500}")
+    public void setBatchGetChunkSize(int batchGetChunkSize) {
+        this.batchGetChunkSize = batchGetChunkSize;
+    }
+
+    @Override
+    public CompletableFuture<Employee> saveEmployee(Employee employee) {
+        return supply(() -> employeeService.saveEmployee(employee));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return supply(employeeService::getAllEmployees);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Employee>> getEmployeeById(Long id) {
+        return supply(() -> employeeService.getEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeLookupResult>> getEmployeesByIds(List<Long> ids) {
+        if (ids.size() <= batchGetChunkSize) {
+            return supply(() -> employeeService.getEmployeesByIds(ids));
+        }
+
+        List<CompletableFuture<List<EmployeeLookupResult>>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchGetChunkSize) {
+            List<Long> chunk = List.copyOf(ids.subList(from, Math.min(from + batchGetChunkSize, ids.size())));
+            chunks.add(supply(() -> employeeService.getEmployeesByIds(chunk)));
+        }
+        // Chunks hold consecutive ids, so their results joined in order follow the requested order
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+            .thenApply(done -> chunks.stream().flatMap(chunk -> chunk.join().stream()).toList());
+    }
+
+    @Override
+    public CompletableFuture<Employee> updateEmployee(Employee employee) {
+        return supply(() -> employeeService.updateEmployee(employee));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteEmployee(Long id) {
+        return supply(() -> {
+            employeeService.deleteEmployee(id);
+            return null;
+        });
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> call) {
+        String tenantId = TenantContext.current();
+        Observation observation = observationRegistry != null ? observationRegistry.getCurrentObservation() : null;
+        RequestStatistics statistics = RequestStatistics.current();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try (TenantContext.Scope tenant = TenantContext.enter(tenantId);
+                     Observation.Scope scope = observation != null ? observation.openScope() : null;
+                     RequestStatistics.Scope counted = statistics != null ? statistics.attach() : null) {
+                    return call.get();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                new ServiceOverloadedException("Too many queued async employee calls", Duration.ofSeconds(1)));
+        }
+    }
+
+    // Thread.ofVirtual() through reflection, the code is compiled for Java 17
+    private static ThreadFactory threadFactory(boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "employee-async-", 0L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                log.debug("No virtual threads on this JVM, async employee calls run on platform threads");
+            }
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "employee-async-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
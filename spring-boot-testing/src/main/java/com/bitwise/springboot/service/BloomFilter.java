@@ -0,0 +1,84 @@
+package com.bitwise.springboot.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings: answers "definitely not added" or "maybe added". Sized for
+ * an expected number of keys and false positive rate; past that number the false positive rate
+ * grows, {@link #expectedFalsePositiveRate()} tells by how much.
+ */
+class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong setBits = new AtomicLong();
+    private final AtomicLong keys = new AtomicLong();
+
+    BloomFilter(long expectedKeys, double falsePositiveRate) {
+        long bits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+        this.bitCount = words.length() * 64L;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedKeys * Math.log(2)));
+    }
+
+    void put(String key) {
+        long hash = hash(key);
+        long step = mix(hash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            long mask = 1L << bit;
+            long previous = words.getAndAccumulate((int) (bit >>> 6), mask, (word, set) -> word | set);
+            if ((previous & mask) == 0) {
+                setBits.incrementAndGet();
+            }
+        }
+        keys.incrementAndGet();
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        long step = mix(hash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Probability that a key never added is reported as maybe added, from the share of bits set.
+     */
+    double expectedFalsePositiveRate() {
+        return Math.pow((double) setBits.get() / bitCount, hashCount);
+    }
+
+    long keys() {
+        return keys.get();
+    }
+
+    long sizeInBytes() {
+        return words.length() * 8L;
+    }
+
+    private static long hash(String key) {
+        long hash = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = Long.rotateLeft((hash ^ key.charAt(i)) * 0xFF51AFD7ED558CCDL, 31);
+        }
+        return mix(hash ^ key.length());
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
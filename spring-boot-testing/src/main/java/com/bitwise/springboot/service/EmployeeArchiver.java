@@ -0,0 +1,81 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.model.ArchivedEmployee;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.repository.ArchivedEmployeeRepository;
+import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.shard.Shards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves archived employees from the employees table to the archive table, one batch per
+ * transaction, so the hot table and its indexes only hold active employees.
+ */
+@Component
+public class EmployeeArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeArchiver.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final ArchivedEmployeeRepository archivedEmployeeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Shards shards;
+    private final int batchSize;
+
+    public EmployeeArchiver(EmployeeRepository employeeRepository,
+                            ArchivedEmployeeRepository archivedEmployeeRepository,
+                            TransactionTemplate transactionTemplate,
+                            Shards shards,
+                            @Value("${employee.archive.batch-size:500}") int batchSize) {
+        this.employeeRepository = employeeRepository;
+        this.archivedEmployeeRepository = archivedEmployeeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shards = shards;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.archive.interval:60000}")
+    public void archive() {
+        shards.forEach(shard -> {
+            int moved = 0;
+            int batch;
+            do {
+                batch = archiveBatch();
+                moved += batch;
+            } while (batch == batchSize);
+
+            if (moved > 0) {
+                log.info("Moved {} archived employees to the archive table of shard {}", moved, shard);
+            }
+        });
+    }
+
+    /**
+     * Moves one batch of the current shard.
+     *
+     * @return the number of employees moved
+     */
+    public int archiveBatch() {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Employee> employees = employeeRepository.findArchived(batchSize);
+            if (employees.isEmpty()) {
+                return 0;
+            }
+
+            Instant archivedAt = Instant.now();
+            archivedEmployeeRepository.saveAll(employees.stream()
+                .map(employee -> ArchivedEmployee.of(employee, archivedAt))
+                .toList());
+            return employeeRepository.deleteArchived(employees.stream().map(Employee::getId).toList());
+        });
+        return moved != null ? moved : 0;
+    }
+}
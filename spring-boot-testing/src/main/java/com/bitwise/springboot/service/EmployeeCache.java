@@ -0,0 +1,214 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.model.Employee;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Least recently used cache of employees by tenant and id, with entries expiring after a time to
+ * live. The cache also keeps count of the hits of every entry, so that it knows its hottest
+ * employees: those are the ones {@link com.bitwise.springboot.warmup.EmployeeWarmUp} preloads on
+ * startup.
+ * <p>
+ * Every tenant has its own partition. A full cache evicts from the largest partition, so every
+ * tenant with cached employees keeps its fair share of the max size, and a tenant can only use
+ * more while the others leave room.
+ * <p>
+ * Changes made through this instance remove the entry once committed; changes made by other
+ * instances are only seen once the entry expires. A load that read the employee before such a
+ * removal must not put it back: callers take a {@link #generation()} before loading and pass it
+ * to {@link #put}, which drops the employee if the id has been invalidated since. Entries are
+ * copies, callers may modify what they get. A max size of 0 disables the cache.
+ */
+public class EmployeeCache {
+
+    // Invalidations remembered at least, older ones only leave a floor below which puts are dropped
+    private static final int MIN_INVALIDATIONS = 1024;
+
+    private final Map<String, LinkedHashMap<Long, Entry>> partitions = new HashMap<>();
+    private final Map<Long, String> tenantIds = new HashMap<>();
+    private int entryCount;
+
+    // Generation of the last invalidation of each id, oldest first
+    private final LinkedHashMap<Long, Long> invalidations = new LinkedHashMap<>();
+    private final AtomicLong generations = new AtomicLong();
+    private long forgottenGeneration;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stalePuts = new AtomicLong();
+
+    private volatile int maxSize;
+    private volatile long ttlNanos = Duration.ofSeconds(30).toNanos();
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public Employee get(String tenantId, Long id) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        Employee employee = null;
+        synchronized (this) {
+            Map<Long, Entry> partition = partitions.get(tenantId);
+            Entry entry = partition != null ? partition.get(id) : null;
+            if (entry != null) {
+                // Expired entries keep their hit count, the reload puts it back
+                entry.hits++;
+                if (entry.employee != null && System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    employee = entry.employee;
+                }
+            }
+        }
+
+        if (employee == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return employee.toBuilder().build();
+    }
+
+    /**
+     * @return the generation to pass to {@link #put} for an employee loaded from now on
+     */
+    public long generation() {
+        return generations.get();
+    }
+
+    /**
+     * Caches the employee, unless its id has been invalidated after the generation was taken.
+     */
+    public void put(Employee employee, long generation) {
+        if (!isEnabled() || employee.getTenantId() == null) {
+            return;
+        }
+
+        Employee copy = employee.toBuilder().build();
+        synchronized (this) {
+            if (generation < forgottenGeneration || invalidations.getOrDefault(employee.getId(), 0L) > generation) {
+                stalePuts.incrementAndGet();
+                return;
+            }
+
+            LinkedHashMap<Long, Entry> partition = partitions.computeIfAbsent(employee.getTenantId(),
+                tenantId -> new LinkedHashMap<>(16, 0.75f, true));
+            Entry entry = partition.get(employee.getId());
+            if (entry == null) {
+                entry = new Entry();
+                partition.put(employee.getId(), entry);
+                tenantIds.put(employee.getId(), employee.getTenantId());
+                entryCount++;
+            }
+            entry.employee = copy;
+            entry.loadedAt = System.nanoTime();
+            while (entryCount > maxSize) {
+                evictFromLargestPartition();
+            }
+        }
+    }
+
+    public void invalidate(Long id) {
+        synchronized (this) {
+            invalidations.remove(id);
+            invalidations.put(id, generations.incrementAndGet());
+            if (invalidations.size() > Math.max(maxSize, MIN_INVALIDATIONS)) {
+                Iterator<Long> oldest = invalidations.values().iterator();
+                forgottenGeneration = oldest.next();
+                oldest.remove();
+            }
+
+            String tenantId = tenantIds.get(id);
+            if (tenantId != null) {
+                partitions.get(tenantId).get(id).employee = null;
+            }
+        }
+    }
+
+    /**
+     * Most hit employees of all tenants, hottest first. Halves every hit count, so that the
+     * ranking follows the recent traffic rather than all of it.
+     */
+    public List<Employee> hottest(int limit) {
+        synchronized (this) {
+            List<Entry> ranked = partitions.values().stream()
+                .flatMap(partition -> partition.values().stream())
+                .filter(entry -> entry.employee != null)
+                .sorted(Comparator.comparingLong((Entry entry) -> entry.hits).reversed())
+                .limit(limit)
+                .toList();
+            List<Employee> employees = ranked.stream().map(entry -> entry.employee.toBuilder().build()).toList();
+            partitions.values().forEach(partition -> partition.values().forEach(entry -> entry.hits /= 2));
+            return employees;
+        }
+    }
+
+    public synchronized int size() {
+        return entryCount;
+    }
+
+    public synchronized int size(String tenantId) {
+        Map<Long, Entry> partition = partitions.get(tenantId);
+        return partition != null ? partition.size() : 0;
+    }
+
+    public synchronized int getTenantCount() {
+        return partitions.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Puts dropped because the employee was invalidated while it was being loaded.
+     */
+    public long getStalePuts() {
+        return stalePuts.get();
+    }
+
+    private void evictFromLargestPartition() {
+        Map.Entry<String, LinkedHashMap<Long, Entry>> largest = null;
+        for (Map.Entry<String, LinkedHashMap<Long, Entry>> partition : partitions.entrySet()) {
+            if (largest == null || partition.getValue().size() > largest.getValue().size()) {
+                largest = partition;
+            }
+        }
+
+        Iterator<Long> eldest = largest.getValue().keySet().iterator();
+        tenantIds.remove(eldest.next());
+        eldest.remove();
+        entryCount--;
+        if (largest.getValue().isEmpty()) {
+            partitions.remove(largest.getKey());
+        }
+    }
+
+    private static final class Entry {
+
+        private Employee employee;
+        private long loadedAt;
+        private long hits;
+    }
+}
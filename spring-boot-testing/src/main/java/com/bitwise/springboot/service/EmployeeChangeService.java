@@ -0,0 +1,89 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import com.bitwise.springboot.repository.EmployeeOutboxRepository;
+import com.bitwise.springboot.shard.Shards;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads the employee changes after a given sequence number, for consumers that sync
+ * incrementally instead of downloading the whole table. Sequence numbers are per shard, so with
+ * sharding consumers follow every shard separately. A tenant only reads the changes of its own
+ * employees, {@link TenantContext#ROOT} reads all of them.
+ */
+@Service
+public class EmployeeChangeService {
+
+    private final EmployeeOutboxRepository outboxRepository;
+    private final Shards shards;
+    private final Duration visibilityDelay;
+
+    public EmployeeChangeService(EmployeeOutboxRepository outboxRepository,
+                                 Shards shards,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${employee.outbox.visibility-delay:15s}") Duration visibilityDelay) {
+        int transactionTimeout = transactionManager instanceof AbstractPlatformTransactionManager manager
+            ? manager.getDefaultTimeout() : TransactionDefinition.TIMEOUT_DEFAULT;
+        if (transactionTimeout <= 0 || visibilityDelay.compareTo(Duration.ofSeconds(transactionTimeout)) <= 0) {
+            throw new IllegalStateException("employee.outbox.visibility-delay (" + visibilityDelay
+                + ") must be longer than the transaction timeout, spring.transaction.default-timeout");
+        }
+        this.outboxRepository = outboxRepository;
+        this.shards = shards;
+        this.visibilityDelay = visibilityDelay;
+    }
+
+    /**
+     * Sequence numbers are assigned at insert but become visible at commit, so a transaction that
+     * is still open can commit a lower number than one already read. Only changes older than the
+     * visibility delay are returned, which keeps consumers from skipping over those.
+     * <p>
+     * This holds as long as every change commits within the delay of being written. Transactions
+     * run no statement past the transaction timeout, which the delay is checked to exceed on
+     * startup; the rest of the delay has to cover the commit itself and the clock difference
+     * between the instances, as the writer's clock stamps the change and the reader's clock
+     * compares.
+     */
+    public List<EmployeeOutboxEvent> getChangesSince(int shard, long seq, int limit) {
+        String tenantId = TenantContext.current();
+        Instant createdBefore = Instant.now().minus(visibilityDelay);
+        if (TenantContext.ROOT.equals(tenantId)) {
+            return shards.call(shard, () -> outboxRepository.findBySeqGreaterThanAndCreatedAtBeforeOrderBySeqAsc(
+                seq, createdBefore, PageRequest.ofSize(limit)));
+        }
+        return shards.call(shard, () -> outboxRepository.findByTenantIdAndSeqGreaterThanAndCreatedAtBeforeOrderBySeqAsc(
+            tenantId, seq, createdBefore, PageRequest.ofSize(limit)));
+    }
+
+    /**
+     * @return sequence number of the last change {@link #getChangesSince} returns now, 0 if none;
+     * every change up to it has committed
+     */
+    public long getLastVisibleSeq(int shard) {
+        return shards.call(shard, () -> outboxRepository.findFirstByCreatedAtBeforeOrderBySeqDesc(Instant.now().minus(visibilityDelay))
+            .map(EmployeeOutboxEvent::getSeq)
+            .orElse(0L));
+    }
+
+    /**
+     * @return sequence number of the oldest change still kept, changes before it have been purged
+     */
+    public Optional<Long> getFirstSeq(int shard) {
+        return shards.call(shard, () -> outboxRepository.findFirstByOrderBySeqAsc().map(EmployeeOutboxEvent::getSeq));
+    }
+
+    public int getShardCount() {
+        return shards.count();
+    }
+}
@@ -0,0 +1,192 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.shard.Shards;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter of the emails of the active employees, so that creating an employee with a new
+ * email can skip the lookup by email: an email the filter has never seen cannot be taken. The
+ * unique index on the active emails stays the source of truth, a create that gets past the
+ * filter wrongly still fails there.
+ * <p>
+ * The filter is built by a scan at startup and rebuilt every rebuild-interval, which also
+ * resizes it and clears the emails of deleted and updated employees. Emails are added as soon as
+ * a change is published, before it commits, since a filter may only answer "maybe" too often.
+ * Until the first build every email is a maybe.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.email-filter.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeEmailFilter.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final Shards shards;
+    private final double falsePositiveRate;
+    private final long minCapacity;
+    private final int rebuildBatchSize;
+
+    private volatile BloomFilter filter;
+    // Filter being built by a rebuild, null outside of one
+    private volatile BloomFilter next;
+
+    private final LongAdder absent = new LongAdder();
+    private final LongAdder maybe = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final AtomicLong rebuilds = new AtomicLong();
+
+    public EmployeeEmailFilter(EmployeeRepository employeeRepository,
+                               Shards shards,
+                               @Value("${employee.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${employee.email-filter.min-capacity:100000}") long minCapacity,
+                               @Value("${employee.email-filter.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.employeeRepository = employeeRepository;
+        this.shards = shards;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    /**
+     * @return false when no active employee of the tenant can have the email
+     */
+    public boolean mightExist(String tenantId, String email) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        if (current.mightContain(key(tenantId, email))) {
+            maybe.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    /**
+     * Records that an email the filter answered maybe for was not taken after all.
+     */
+    public void falsePositive() {
+        if (filter != null) {
+            falsePositives.increment();
+        }
+    }
+
+    public void add(String tenantId, String email) {
+        String key = key(tenantId, email);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+        BloomFilter building = next;
+        if (building != null) {
+            building.put(key);
+        }
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.type() != EmployeeChangedEvent.Type.DELETED) {
+            add(event.employee().getTenantId(), event.employee().getEmail());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${employee.email-filter.rebuild-interval:3600000}",
+        fixedDelayString = "${employee.email-filter.rebuild-interval:3600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        try (TenantContext.Scope scope = TenantContext.enter(TenantContext.ROOT)) {
+            long[] count = new long[1];
+            shards.forEach(shard -> count[0] += employeeRepository.count());
+            // Room to grow until the next rebuild
+            BloomFilter building = new BloomFilter(Math.max(minCapacity, 2 * count[0]), falsePositiveRate);
+            next = building;
+
+            shards.forEach(shard -> {
+                long lastId = Long.MIN_VALUE;
+                List<Employee> batch;
+                do {
+                    batch = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.ofSize(rebuildBatchSize));
+                    batch.forEach(employee -> building.put(key(employee.getTenantId(), employee.getEmail())));
+                    if (!batch.isEmpty()) {
+                        lastId = batch.get(batch.size() - 1).getId();
+                    }
+                } while (batch.size() == rebuildBatchSize);
+            });
+
+            filter = building;
+            rebuilds.incrementAndGet();
+            log.info("Built the email filter from {} employees in {} ms, {} KB", building.keys(),
+                (System.nanoTime() - start) / 1_000_000, building.sizeInBytes() / 1024);
+        } finally {
+            next = null;
+        }
+    }
+
+    public boolean isBuilt() {
+        return filter != null;
+    }
+
+    public long getAbsent() {
+        return absent.sum();
+    }
+
+    public long getMaybe() {
+        return maybe.sum();
+    }
+
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    /**
+     * @return share of the emails that were not taken which the filter still answered maybe for
+     */
+    public double getFalsePositiveRate() {
+        long falsePositives = getFalsePositives();
+        long notTaken = falsePositives + getAbsent();
+        return notTaken == 0 ? 0 : (double) falsePositives / notTaken;
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current != null ? current.expectedFalsePositiveRate() : 1;
+    }
+
+    public long getEmails() {
+        BloomFilter current = filter;
+        return current != null ? current.keys() : 0;
+    }
+
+    public long getSizeInBytes() {
+        BloomFilter current = filter;
+        return current != null ? current.sizeInBytes() : 0;
+    }
+
+    public long getRebuilds() {
+        return rebuilds.get();
+    }
+
+    // Lower case: the lookup by email ignores case on MySQL, the filter must not miss those matches
+    private static String key(String tenantId, String email) {
+        return tenantId + '\0' + (email != null ? email.toLowerCase(Locale.ROOT) : "");
+    }
+}
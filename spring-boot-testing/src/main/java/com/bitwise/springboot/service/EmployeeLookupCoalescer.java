@@ -0,0 +1,256 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Single-flight lookups of employees by id: concurrent lookups of the same id share one
+ * database call. With a batch window, distinct ids looked up within the window are
+ * loaded together with one {@code WHERE id IN (...)} query.
+ * <p>
+ * Lookups are partitioned by tenant: only lookups of the same tenant share a load, and every
+ * batch run loads at most the max batch size for each tenant with queued ids, so a tenant
+ * flooding the coalescer delays its own lookups but not those of the others.
+ * <p>
+ * A load shares a detached snapshot of the employee, never the entity it read, and every caller,
+ * the one that started the load included, gets its own copy of it to modify.
+ * <p>
+ * Once a change of an employee commits, {@link #invalidate(Long)} keeps later lookups from
+ * joining a load that started before it, so a caller always reads its own writes. Closing the
+ * coalescer fails the lookups still waiting.
+ */
+public class EmployeeLookupCoalescer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeLookupCoalescer.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final Map<Key, CompletableFuture<Optional<Employee>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Queue<QueuedLookup>> queued = new ConcurrentHashMap<>();
+    private final AtomicBoolean batchScheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong databaseCalls = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong lastBatchSaved = new AtomicLong();
+
+    private volatile Duration batchWindow = Duration.ZERO;
+    private volatile int maxBatchSize = 100;
+    private volatile ScheduledExecutorService scheduler;
+
+    public EmployeeLookupCoalescer(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    public void setBatchWindow(Duration batchWindow) {
+        this.batchWindow = batchWindow;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Optional<Employee> findById(Long id) {
+        if (closed) {
+            throw new IllegalStateException("Employee lookups are closed");
+        }
+        lookups.incrementAndGet();
+
+        Key key = new Key(TenantContext.current(), id);
+        CompletableFuture<Optional<Employee>> lookup = new CompletableFuture<>();
+        CompletableFuture<Optional<Employee>> existing = inFlight.putIfAbsent(key, lookup);
+        if (existing != null) {
+            return join(existing).map(EmployeeLookupCoalescer::copy);
+        }
+
+        if (batchWindow.isZero()) {
+            load(key, lookup);
+        } else {
+            queued.computeIfAbsent(key.tenantId(), tenantId -> new ConcurrentLinkedQueue<>()).add(new QueuedLookup(id, lookup));
+            if (batchScheduled.compareAndSet(false, true)) {
+                try {
+                    scheduler().schedule(this::loadBatch, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    // Closed meanwhile, failed below
+                }
+            }
+            if (closed) {
+                // Queued after close() drained the queues
+                close();
+            }
+        }
+
+        return join(lookup).map(EmployeeLookupCoalescer::copy);
+    }
+
+    /**
+     * Called once a change of the employee has committed: lookups of the id starting from now
+     * load it again rather than joining one that may have read the previous row.
+     */
+    public void invalidate(Long id) {
+        inFlight.keySet().removeIf(key -> key.id().equals(id));
+    }
+
+    public long getLookups() {
+        return lookups.get();
+    }
+
+    public long getDatabaseCalls() {
+        return databaseCalls.get();
+    }
+
+    /**
+     * Lookups answered without a database call of their own, by joining one in flight or a batch.
+     */
+    public long getSavedCalls() {
+        return lookups.get() - databaseCalls.get();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    public long getLastBatchSaved() {
+        return lastBatchSaved.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+
+        // Queued lookups would never be loaded, their callers must not wait forever
+        IllegalStateException failure = new IllegalStateException("Employee lookups are closed");
+        queued.values().forEach(tenantQueue -> {
+            QueuedLookup lookup;
+            while ((lookup = tenantQueue.poll()) != null) {
+                lookup.result().completeExceptionally(failure);
+            }
+        });
+        inFlight.values().forEach(lookup -> lookup.completeExceptionally(failure));
+        inFlight.clear();
+    }
+
+    private void load(Key key, CompletableFuture<Optional<Employee>> lookup) {
+        try {
+            databaseCalls.incrementAndGet();
+            lookup.complete(employeeRepository.findById(key.id()).map(EmployeeLookupCoalescer::copy));
+        } catch (RuntimeException e) {
+            lookup.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, lookup);
+        }
+    }
+
+    private void loadBatch() {
+        batchScheduled.set(false);
+
+        Map<String, List<QueuedLookup>> tenantBatches = new HashMap<>();
+        queued.forEach((tenantId, tenantQueue) -> {
+            List<QueuedLookup> batch = new ArrayList<>();
+            QueuedLookup lookup;
+            while (batch.size() < maxBatchSize && (lookup = tenantQueue.poll()) != null) {
+                batch.add(lookup);
+            }
+            if (!batch.isEmpty()) {
+                tenantBatches.put(tenantId, batch);
+            }
+        });
+        boolean more = queued.values().stream().anyMatch(tenantQueue -> !tenantQueue.isEmpty());
+        if (more && batchScheduled.compareAndSet(false, true)) {
+            scheduler().execute(this::loadBatch);
+        }
+
+        tenantBatches.forEach((tenantId, batch) -> {
+            // The batch thread has no tenant of its own, it loads each batch as the tenant that queued it
+            try (TenantContext.Scope scope = TenantContext.enter(tenantId)) {
+                loadTenantBatch(tenantId, batch);
+            }
+        });
+    }
+
+    private void loadTenantBatch(String tenantId, List<QueuedLookup> batch) {
+        List<Long> ids = batch.stream().map(QueuedLookup::id).distinct().toList();
+        databaseCalls.incrementAndGet();
+        batches.incrementAndGet();
+        lastBatchSaved.set(batch.size() - 1L);
+        log.debug("Loading {} employees with one query, saving {} database calls", batch.size(), batch.size() - 1);
+
+        // An invalidated lookup is no longer in flight, but its callers still get the result
+        try {
+            Map<Long, Employee> employees = employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+            batch.forEach(lookup -> {
+                inFlight.remove(new Key(tenantId, lookup.id()), lookup.result());
+                lookup.result().complete(Optional.ofNullable(employees.get(lookup.id())).map(EmployeeLookupCoalescer::copy));
+            });
+        } catch (RuntimeException e) {
+            batch.forEach(lookup -> {
+                inFlight.remove(new Key(tenantId, lookup.id()), lookup.result());
+                lookup.result().completeExceptionally(e);
+            });
+        }
+    }
+
+    private ScheduledExecutorService scheduler() {
+        if (scheduler == null) {
+            synchronized (this) {
+                if (scheduler == null) {
+                    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "employee-lookup-batch");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    // The loaded entity may be changed by the caller's persistence context, callers share none of it
+    private static Employee copy(Employee employee) {
+        return employee.toBuilder().build();
+    }
+
+    private static Optional<Employee> join(CompletableFuture<Optional<Employee>> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(String tenantId, Long id) {
+    }
+
+    private record QueuedLookup(Long id, CompletableFuture<Optional<Employee>> result) {
+    }
+}
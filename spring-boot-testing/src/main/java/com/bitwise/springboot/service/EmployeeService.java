@@ -1,6 +1,7 @@
 package com.bitwise.springboot.service;
 
 import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,6 +14,8 @@ public interface EmployeeService {
 
     Optional<Employee> getEmployeeById(Long id);
 
+    List<EmployeeLookupResult> getEmployeesByIds(List<Long> ids);
+
     Employee updateEmployee(Employee employee);
 
     void deleteEmployee(Long id);
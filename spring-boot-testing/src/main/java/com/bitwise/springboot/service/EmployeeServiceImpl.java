@@ -1,33 +1,135 @@
 package com.bitwise.springboot.service;
 
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.exception.DuplicateEmailException;
 import com.bitwise.springboot.exception.ResourceNotFoundException;
 import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
+import com.bitwise.springboot.model.EmployeeStatus;
 import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.tenant.TenantContext;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+@Observed(name = "employee.service")
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    // Unique index on (tenant_id, active_email), see the V6 migration
+    private static final String ACTIVE_EMAIL_CONSTRAINT = "uk_employees_tenant_active_email";
+
     private EmployeeRepository employeeRepository;
 
+    private ApplicationEventPublisher eventPublisher;
+
+    private EmployeeLookupCoalescer employeeLookups;
+
+    private EmployeeCache employeeCache = new EmployeeCache();
+
+    private EmployeeEmailFilter emailFilter;
+
+    private int batchGetChunkSize = 500;
+
     @Autowired
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
+        this.employeeLookups = new EmployeeLookupCoalescer(employeeRepository);
+    }
+
+    @Value("${employee.lookup.batch-window:0ms}")
+    public void setLookupBatchWindow(Duration batchWindow) {
+        employeeLookups.setBatchWindow(batchWindow);
+    }
+
+    @Value("${employee.lookup.max-batch-size:100}")
+    public void setLookupMaxBatchSize(int maxBatchSize) {
+        employeeLookups.setMaxBatchSize(maxBatchSize);
+    }
+
+    @Value("${employee.cache.max-size:0}")
+    public void setCacheMaxSize(int maxSize) {
+        employeeCache.setMaxSize(maxSize);
+    }
+
+    @Value("${employee.cache.ttl:30s}")
+    public void setCacheTtl(Duration ttl) {
+        employeeCache.setTtl(ttl);
+    }
+
+    @Value("${employee.batch-get.chunk-size:500}")
+    public void setBatchGetChunkSize(int batchGetChunkSize) {
+        this.batchGetChunkSize = batchGetChunkSize;
+    }
+
+    @Autowired(required = false)
+    public void setEmailFilter(EmployeeEmailFilter emailFilter) {
+        this.emailFilter = emailFilter;
+    }
+
+    public EmployeeLookupCoalescer getEmployeeLookups() {
+        return employeeLookups;
+    }
+
+    public EmployeeCache getEmployeeCache() {
+        return employeeCache;
     }
 
     @Override
+    @Transactional
     public Employee saveEmployee(Employee employee) {
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
+        if (findByEmail(employee.getEmail()).isPresent()) {
+            throw new DuplicateEmailException(employee.getEmail());
+        }
 
-        if (savedEmployee.isPresent()) {
-            throw new ResourceNotFoundException("Employee already exists with given email: " + employee.getEmail());
+        employee.setStatus(EmployeeStatus.ACTIVE);
+        Employee createdEmployee = employeeRepository.save(employee);
+        try {
+            // Runs the insert now, so that the unique index catches what the lookup did not
+            employeeRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) {
+                throw new DuplicateEmailException(employee.getEmail());
+            }
+            throw e;
         }
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(createdEmployee));
+        return createdEmployee;
+    }
 
-        return employeeRepository.save(employee);
+    /**
+     * Looks up the active employee of the current tenant with the email. Most emails asked for are
+     * not taken, the email filter spares those the lookup.
+     */
+    public Optional<Employee> findByEmail(String email) {
+        if (emailFilter != null && !emailFilter.mightExist(TenantContext.current(), email)) {
+            return Optional.empty();
+        }
+
+        Optional<Employee> employee = employeeRepository.findByEmail(email);
+        if (employee.isEmpty() && emailFilter != null) {
+            emailFilter.falsePositive();
+        }
+        return employee;
     }
 
     @Override
@@ -37,16 +139,120 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     @Override
     public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+        Employee cachedEmployee = employeeCache.get(TenantContext.current(), id);
+        if (cachedEmployee != null) {
+            return Optional.of(cachedEmployee);
+        }
+
+        // Taken before the lookup: if the employee changes meanwhile, the cache drops what it read
+        long generation = employeeCache.generation();
+        Optional<Employee> employee = employeeLookups.findById(id);
+        employee.ifPresent(found -> employeeCache.put(found, generation));
+        return employee;
+    }
+
+    @Override
+    public List<EmployeeLookupResult> getEmployeesByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        Map<Long, Employee> employees = new HashMap<>();
+
+        // Keeps every IN list within what the database handles comfortably
+        for (int from = 0; from < distinctIds.size(); from += batchGetChunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + batchGetChunkSize, distinctIds.size()));
+            employeeRepository.findAllById(chunk).forEach(employee -> employees.put(employee.getId(), employee));
+        }
+
+        List<EmployeeLookupResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Employee employee = employees.get(id);
+            results.add(employee != null ? EmployeeLookupResult.found(employee) : EmployeeLookupResult.missing(id));
+        }
+        return results;
     }
 
     @Override
+    @Transactional
     public Employee updateEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        // Loaded here rather than by the caller, so the update needs this one read and no merge
+        Employee updatedEmployee = employeeRepository.findById(employee.getId())
+            .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + employee.getId()));
+        updatedEmployee.setFirstName(employee.getFirstName());
+        updatedEmployee.setLastName(employee.getLastName());
+        updatedEmployee.setEmail(employee.getEmail());
+        try {
+            // Runs the update now, so that a taken email is reported as such rather than at commit
+            employeeRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) {
+                throw new DuplicateEmailException(employee.getEmail());
+            }
+            throw e;
+        }
+        invalidateCached(updatedEmployee.getId());
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(updatedEmployee));
+        return updatedEmployee;
+    }
+
+    /**
+     * Updates the employees together, or none of them. Fails with a {@link ResourceNotFoundException}
+     * when one of them is no longer active, rather than letting the merge insert it again, and
+     * with a {@link DataIntegrityViolationException} when the database rejects one of the updates.
+     */
+    @Transactional
+    public List<Employee> updateEmployees(Collection<Employee> employees) {
+        // Loads the rows in one query, the merges below then need no select of their own
+        Set<Long> activeIds = new HashSet<>();
+        employeeRepository.findAllById(employees.stream().map(Employee::getId).toList())
+            .forEach(employee -> activeIds.add(employee.getId()));
+        for (Employee employee : employees) {
+            if (!activeIds.contains(employee.getId())) {
+                throw new ResourceNotFoundException("Employee not found with id: " + employee.getId());
+            }
+        }
+
+        List<Employee> updatedEmployees = employeeRepository.saveAll(employees);
+        employeeRepository.flush();
+        updatedEmployees.forEach(employee -> invalidateCached(employee.getId()));
+        updatedEmployees.forEach(employee -> eventPublisher.publishEvent(EmployeeChangedEvent.updated(employee)));
+        return updatedEmployees;
     }
 
     @Override
+    @Transactional
     public void deleteEmployee(Long id) {
-        employeeRepository.deleteById(id);
+        // Soft delete, EmployeeArchiver moves the row to the archive table later
+        invalidateCached(id);
+        if (employeeRepository.archiveById(id) == 0) {
+            throw new ResourceNotFoundException("Employee not found with id: " + id);
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id));
+    }
+
+    private void invalidateCached(Long id) {
+        employeeCache.invalidate(id);
+        // Again once committed, a lookup running in between may have cached the previous row;
+        // lookups starting after the commit must not join one that read it either. The lookups go
+        // first: a lookup that takes its cache generation after the invalidation then loads anew
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    employeeLookups.invalidate(id);
+                    employeeCache.invalidate(id);
+                }
+            });
+        } else {
+            employeeLookups.invalidate(id);
+        }
+    }
+
+    static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(ACTIVE_EMAIL_CONSTRAINT);
+    }
+
+    @PreDestroy
+    public void close() {
+        employeeLookups.close();
     }
 }
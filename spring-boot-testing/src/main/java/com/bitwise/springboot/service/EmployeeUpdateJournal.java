@@ -0,0 +1,135 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Append-only log of pending employee updates, one JSON entry per line.
+ * An entry without an employee marks the id as deleted.
+ */
+public class EmployeeUpdateJournal implements AutoCloseable {
+
+    record Entry(Long id, Employee employee) {
+    }
+
+    private final Path path;
+    private final boolean sync;
+    private final ObjectMapper objectMapper;
+
+    private FileChannel channel;
+
+    public EmployeeUpdateJournal(Path path, boolean sync, ObjectMapper objectMapper) {
+        this.path = path;
+        this.sync = sync;
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized void appendUpdate(Employee employee) {
+        append(new Entry(employee.getId(), employee));
+    }
+
+    public synchronized void appendDelete(Long id) {
+        append(new Entry(id, null));
+    }
+
+    /**
+     * Reads the journal and keeps the last entry of every id, dropping deleted ones.
+     */
+    public synchronized Map<Long, Employee> replay() {
+        Map<Long, Employee> employees = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return employees;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Entry entry;
+                try {
+                    entry = objectMapper.readValue(line, Entry.class);
+                } catch (IOException e) {
+                    // A torn last line left by a crash in the middle of an append
+                    break;
+                }
+                if (entry.employee() == null) {
+                    employees.remove(entry.id());
+                } else {
+                    employees.put(entry.id(), entry.employee());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay the employee update journal " + path, e);
+        }
+
+        return employees;
+    }
+
+    /**
+     * Replaces the journal with the given, still pending, updates.
+     */
+    public synchronized void compact(Collection<Employee> pending) {
+        try {
+            close();
+            Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (Employee employee : pending) {
+                    out.write(encode(new Entry(employee.getId(), employee)));
+                }
+                out.force(true);
+            }
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact the employee update journal " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void append(Entry entry) {
+        try {
+            if (channel == null) {
+                Path parent = path.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            }
+            channel.write(encode(entry));
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to the employee update journal " + path, e);
+        }
+    }
+
+    private ByteBuffer encode(Entry entry) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(entry);
+        return ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+    }
+}
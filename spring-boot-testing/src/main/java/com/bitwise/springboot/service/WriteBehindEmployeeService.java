@@ -0,0 +1,258 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.exception.DuplicateEmailException;
+import com.bitwise.springboot.exception.ResourceNotFoundException;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
+import com.bitwise.springboot.tenant.TenantContext;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in write-behind mode for employee updates. An update is acknowledged once it is in the
+ * journal; updates are then coalesced per employee id (last write wins) and flushed in batches.
+ * Reads of an id with a pending update are served from the pending buffer.
+ * <p>
+ * Acknowledging an update reads nothing from the database: it is only checked against the
+ * journal, an update taking the email of another pending update is refused. Whether the employee
+ * exists and whether its email is free in the database is checked by the flush, which runs the
+ * updates of every tenant as that tenant. Updates it rejects, like those of unknown or deleted
+ * employees or of emails taken, are dropped and counted, so that they do not hold back the rest
+ * of the journal.
+ */
+@Observed(name = "employee.service")
+@Service
+@Primary
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class WriteBehindEmployeeService implements EmployeeService {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindEmployeeService.class);
+
+    private final EmployeeServiceImpl employeeService;
+    private final EmployeeUpdateJournal journal;
+    private final int batchSize;
+
+    private final Map<Long, Employee> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    private final LongAdder rejected = new LongAdder();
+
+    public WriteBehindEmployeeService(EmployeeServiceImpl employeeService,
+                                      EmployeeUpdateJournal journal,
+                                      @Value("${employee.write-behind.batch-size:100}") int batchSize) {
+        this.employeeService = employeeService;
+        this.journal = journal;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Puts the updates left in the journal by a previous run back in the pending buffer,
+     * they are written to the database by the next flush.
+     */
+    @PostConstruct
+    public void recover() {
+        Map<Long, Employee> recovered = journal.replay();
+        pending.putAll(recovered);
+
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} pending employee updates from the journal", recovered.size());
+        }
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        return employeeService.saveEmployee(employee);
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        List<Employee> employees = new ArrayList<>(employeeService.getAllEmployees());
+        employees.replaceAll(employee -> pending.getOrDefault(employee.getId(), employee));
+        return employees;
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(Long id) {
+        Employee employee = pendingOf(id);
+        if (employee != null) {
+            return Optional.of(employee.toBuilder().build());
+        }
+        return employeeService.getEmployeeById(id);
+    }
+
+    @Override
+    public List<EmployeeLookupResult> getEmployeesByIds(List<Long> ids) {
+        List<EmployeeLookupResult> results = new ArrayList<>(employeeService.getEmployeesByIds(ids));
+        results.replaceAll(result -> {
+            Employee employee = pendingOf(result.getId());
+            return employee != null ? EmployeeLookupResult.found(employee.toBuilder().build()) : result;
+        });
+        return results;
+    }
+
+    @Override
+    public Employee updateEmployee(Employee employee) {
+        if (employee.getId() == null) {
+            return employeeService.updateEmployee(employee);
+        }
+
+        // The flush runs the update as the tenant of the request
+        Employee update = employee.toBuilder().tenantId(TenantContext.current()).build();
+
+        // Appending and publishing under the journal lock keeps compaction from dropping the entry
+        synchronized (journal) {
+            // An id pending for another tenant is known not to be an employee of this one
+            Employee previous = pending.get(update.getId());
+            if (previous != null && !Objects.equals(previous.getTenantId(), update.getTenantId())) {
+                throw new ResourceNotFoundException("Employee not found with id: " + update.getId());
+            }
+            for (Employee other : pending.values()) {
+                if (!other.getId().equals(update.getId()) && Objects.equals(other.getTenantId(), update.getTenantId())
+                        && !isGivingUpEmail(other, update.getEmail())) {
+                    throw new DuplicateEmailException(update.getEmail());
+                }
+            }
+            journal.appendUpdate(update);
+            pending.put(update.getId(), update);
+        }
+        return update.toBuilder().build();
+    }
+
+    @Override
+    public void deleteEmployee(Long id) {
+        // Holding the flush lock keeps an in-flight batch from writing the row back after the delete
+        synchronized (flushLock) {
+            synchronized (journal) {
+                journal.appendDelete(id);
+                pending.remove(id);
+            }
+            employeeService.deleteEmployee(id);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.write-behind.flush-interval:500}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Employee> updates = new ArrayList<>(pending.values());
+        // Every tenant's updates as that tenant, so an id of another tenant is not found
+        Map<String, List<Employee>> updatesByTenant = updates.stream()
+            .collect(Collectors.groupingBy(employee -> Objects.requireNonNullElse(employee.getTenantId(), TenantContext.DEFAULT)));
+        int flushed = 0;
+        try {
+            for (Map.Entry<String, List<Employee>> tenantUpdates : updatesByTenant.entrySet()) {
+                List<Employee> employees = tenantUpdates.getValue();
+                try (TenantContext.Scope scope = TenantContext.enter(tenantUpdates.getKey())) {
+                    for (int from = 0; from < employees.size(); from += batchSize) {
+                        List<Employee> batch = new ArrayList<>(employees.subList(from, Math.min(from + batchSize, employees.size())));
+                        synchronized (flushLock) {
+                            batch.removeIf(employee -> pending.get(employee.getId()) != employee);
+                            flushed += write(batch);
+                        }
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Flushed {} of {} pending employee updates, retrying the rest later", flushed, updates.size(), e);
+        }
+
+        synchronized (journal) {
+            journal.compact(pending.values());
+        }
+    }
+
+    /**
+     * Writes the batch in one transaction. When that fails, writes its updates one by one, so that
+     * an update the database rejects only fails itself; it is dropped. Other failures, like the
+     * database being down, leave the rest of the batch pending.
+     *
+     * @return number of updates written or dropped
+     */
+    private int write(List<Employee> batch) {
+        try {
+            employeeService.updateEmployees(batch);
+            batch.forEach(this::forget);
+            return batch.size();
+        } catch (RuntimeException e) {
+            if (batch.size() == 1 && !isRejected(e)) {
+                throw e;
+            }
+        }
+
+        int written = 0;
+        for (Employee employee : batch) {
+            try {
+                employeeService.updateEmployees(List.of(employee));
+            } catch (RuntimeException e) {
+                if (!isRejected(e)) {
+                    throw e;
+                }
+                rejected.increment();
+                log.warn("Dropped the pending update of employee {} rejected by the database: {}", employee.getId(), e.getMessage());
+            }
+            forget(employee);
+            written++;
+        }
+        return written;
+    }
+
+    // Emails are compared ignoring case, like the unique index does on MySQL
+    private static boolean isGivingUpEmail(Employee pendingUpdate, String email) {
+        return pendingUpdate != null && (pendingUpdate.getEmail() == null || !pendingUpdate.getEmail().equalsIgnoreCase(email));
+    }
+
+    // Only forget an update if no newer one arrived while it was being written
+    private void forget(Employee employee) {
+        pending.remove(employee.getId(), employee);
+    }
+
+    private static boolean isRejected(RuntimeException e) {
+        return e instanceof DataIntegrityViolationException
+            || e instanceof DuplicateEmailException
+            || e instanceof ResourceNotFoundException;
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        journal.close();
+    }
+
+    // The buffer holds the updates of all tenants, a tenant only reads its own
+    private Employee pendingOf(Long id) {
+        Employee employee = pending.get(id);
+        return employee != null && TenantContext.current().equals(employee.getTenantId()) ? employee : null;
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return number of pending updates dropped because the database rejected them
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,41 @@
+package com.bitwise.springboot.shard;
+
+/**
+ * Holds the shard the current thread works against. {@link ShardRoutingDataSource} hands out
+ * connections to that shard, so the context has to be entered before a transaction starts.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return the current shard, or null outside of any shard
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Switches the current thread to the given shard until the returned scope is closed.
+     */
+    public static Scope enter(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,167 @@
+package com.bitwise.springboot.shard;
+
+import com.bitwise.springboot.exception.DuplicateEmailException;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
+import com.bitwise.springboot.service.EmployeeService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs every {@code EmployeeServiceImpl} operation against the shards it concerns: single
+ * employee operations on the shard of the id, batches split per shard, and full listings merged
+ * from all shards. Ordered ahead of the transaction advice, so the shard is chosen before the
+ * transaction takes its connection.
+ * <p>
+ * The email to shard directory lives on its own shard, so it cannot be written in the transaction
+ * of the employee. A write whose email turns out to be taken when it is registered is undone
+ * through the service: a new employee is deleted again, an updated one gets its previous state back.
+ */
+@Aspect
+@Component
+@Order(0)
+@ConditionalOnProperty(name = "employee.sharding.enabled", havingValue = "true")
+public class ShardRoutingAspect {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final Shards shards;
+    private final ShardedEmployeeQueries queries;
+
+    public ShardRoutingAspect(Shards shards, ShardedEmployeeQueries queries) {
+        this.shards = shards;
+        this.queries = queries;
+    }
+
+    @Around("execution(* com.bitwise.springboot.service.EmployeeServiceImpl.saveEmployee(..)) && args(employee)")
+    public Object saveEmployee(ProceedingJoinPoint joinPoint, Employee employee) throws Throwable {
+        // The service only sees duplicates on its own shard, the directory knows about all of them
+        checkEmailAvailable(employee);
+
+        Employee savedEmployee = (Employee) proceedOn(shards.shardForEmail(employee.getEmail()), joinPoint, joinPoint.getArgs());
+        register(savedEmployee, () -> service(joinPoint).deleteEmployee(savedEmployee.getId()));
+        return savedEmployee;
+    }
+
+    @Around("execution(* com.bitwise.springboot.service.EmployeeServiceImpl.updateEmployee(..)) && args(employee)")
+    public Object updateEmployee(ProceedingJoinPoint joinPoint, Employee employee) throws Throwable {
+        checkEmailAvailable(employee);
+        Optional<Employee> previousEmployee = queries.findById(employee.getId());
+
+        Employee updatedEmployee = (Employee) proceedOn(shards.shardFor(employee.getId()), joinPoint, joinPoint.getArgs());
+        register(updatedEmployee, undoUpdate(joinPoint, updatedEmployee, previousEmployee.orElse(null)));
+        return updatedEmployee;
+    }
+
+    @Around("execution(* com.bitwise.springboot.service.EmployeeServiceImpl.getEmployeeById(..)) && args(id)")
+    public Object getEmployeeById(ProceedingJoinPoint joinPoint, Long id) throws Throwable {
+        return proceedOn(shards.shardFor(id), joinPoint, joinPoint.getArgs());
+    }
+
+    @Around("execution(* com.bitwise.springboot.service.EmployeeServiceImpl.deleteEmployee(..)) && args(id)")
+    public Object deleteEmployee(ProceedingJoinPoint joinPoint, Long id) throws Throwable {
+        return proceedOn(shards.shardFor(id), joinPoint, joinPoint.getArgs());
+    }
+
+    @Around("execution(* com.bitwise.springboot.service.EmployeeServiceImpl.getAllEmployees())")
+    public Object getAllEmployees(ProceedingJoinPoint joinPoint) {
+        List<Employee> employees = new ArrayList<>();
+        List<Employee> page;
+        long lastId = Long.MIN_VALUE;
+        do {
+            page = queries.findPage(lastId, PAGE_SIZE);
+            employees.addAll(page);
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        return employees;
+    }
+
+    @Around("execution(* com.bitwise.springboot.service.EmployeeServiceImpl.getEmployeesByIds(..)) && args(ids)")
+    public Object getEmployeesByIds(ProceedingJoinPoint joinPoint, List<Long> ids) throws Throwable {
+        Map<Integer, List<Long>> idsByShard = new LinkedHashMap<>();
+        ids.stream().distinct().forEach(id -> idsByShard.computeIfAbsent(shards.shardFor(id), shard -> new ArrayList<>()).add(id));
+
+        Map<Long, EmployeeLookupResult> results = new HashMap<>();
+        for (Map.Entry<Integer, List<Long>> shardIds : idsByShard.entrySet()) {
+            @SuppressWarnings("unchecked")
+            List<EmployeeLookupResult> shardResults = (List<EmployeeLookupResult>)
+                proceedOn(shardIds.getKey(), joinPoint, new Object[]{shardIds.getValue()});
+            shardResults.forEach(result -> results.put(result.getId(), result));
+        }
+        return ids.stream().map(results::get).toList();
+    }
+
+    @Around("execution(* com.bitwise.springboot.service.EmployeeServiceImpl.updateEmployees(..)) && args(employees)")
+    public Object updateEmployees(ProceedingJoinPoint joinPoint, Collection<Employee> employees) throws Throwable {
+        employees.forEach(this::checkEmailAvailable);
+        Map<Long, Employee> previousEmployees = queries.findAllById(employees.stream().map(Employee::getId).toList())
+            .stream()
+            .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        Map<Integer, List<Employee>> employeesByShard = new LinkedHashMap<>();
+        employees.forEach(employee -> employeesByShard.computeIfAbsent(shards.shardFor(employee.getId()), shard -> new ArrayList<>()).add(employee));
+
+        List<Employee> updatedEmployees = new ArrayList<>(employees.size());
+        for (Map.Entry<Integer, List<Employee>> shardEmployees : employeesByShard.entrySet()) {
+            @SuppressWarnings("unchecked")
+            List<Employee> shardUpdated = (List<Employee>) proceedOn(shardEmployees.getKey(), joinPoint, new Object[]{shardEmployees.getValue()});
+            for (Employee updatedEmployee : shardUpdated) {
+                register(updatedEmployee, undoUpdate(joinPoint, updatedEmployee, previousEmployees.get(updatedEmployee.getId())));
+            }
+            updatedEmployees.addAll(shardUpdated);
+        }
+        return updatedEmployees;
+    }
+
+    private void checkEmailAvailable(Employee employee) {
+        queries.findByEmail(ShardedEmployeeQueries.tenantOf(employee), employee.getEmail())
+            .filter(owner -> !owner.getId().equals(employee.getId()))
+            .ifPresent(owner -> {
+                throw new DuplicateEmailException(employee.getEmail());
+            });
+    }
+
+    private void register(Employee employee, Runnable undo) {
+        try {
+            queries.register(employee);
+        } catch (DuplicateEmailException e) {
+            // Taken meanwhile on another shard, the employee must not keep the email
+            undo.run();
+            throw e;
+        }
+    }
+
+    private Runnable undoUpdate(ProceedingJoinPoint joinPoint, Employee updatedEmployee, Employee previousEmployee) {
+        if (previousEmployee == null) {
+            return () -> service(joinPoint).deleteEmployee(updatedEmployee.getId());
+        }
+        return () -> service(joinPoint).updateEmployee(previousEmployee);
+    }
+
+    // The proxy, so the undo is routed and runs in a transaction of its own
+    private static EmployeeService service(ProceedingJoinPoint joinPoint) {
+        return (EmployeeService) joinPoint.getThis();
+    }
+
+    private Object proceedOn(int shard, ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        try (ShardContext.Scope scope = ShardContext.enter(shard)) {
+            return joinPoint.proceed(args);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.bitwise.springboot.shard;
+
+import com.bitwise.springboot.exception.DuplicateEmailException;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeEmailShard;
+import com.bitwise.springboot.repository.EmployeeEmailShardRepository;
+import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Queries that span shards: email lookups through the email to shard directory, and id ordered
+ * pages gathered from every shard. Emails are unique within a tenant only, so the directory is
+ * keyed by tenant and email, and owners are read on their shard as their tenant.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.sharding.enabled", havingValue = "true")
+public class ShardedEmployeeQueries {
+
+    private final Shards shards;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeEmailShardRepository directoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ShardedEmployeeQueries(Shards shards,
+                                  EmployeeRepository employeeRepository,
+                                  EmployeeEmailShardRepository directoryRepository,
+                                  TransactionTemplate transactionTemplate) {
+        this.shards = shards;
+        this.employeeRepository = employeeRepository;
+        this.directoryRepository = directoryRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public Optional<Employee> findById(long id) {
+        return shards.call(shards.shardFor(id), () -> employeeRepository.findById(id));
+    }
+
+    public List<Employee> findAllById(Collection<Long> ids) {
+        return ids.stream()
+            .collect(Collectors.groupingBy(shards::shardFor))
+            .entrySet().stream()
+            .flatMap(shardIds -> shards.call(shardIds.getKey(), () -> employeeRepository.findAllById(shardIds.getValue())).stream())
+            .toList();
+    }
+
+    public Optional<Employee> findByEmail(String tenantId, String email) {
+        return shards.call(Shards.DIRECTORY_SHARD, () -> directoryRepository.findById(new EmployeeEmailShard.Key(tenantId, email)))
+            .flatMap(this::findOwner);
+    }
+
+    /**
+     * Points the email of the employee at its shard, within the tenant of the employee. The entry is
+     * written in a transaction on the directory shard that locks it, and only if it is still owned
+     * as checked beforehand.
+     *
+     * @throws DuplicateEmailException if another employee has the email, or registered it meanwhile
+     */
+    public void register(Employee employee) {
+        String tenantId = tenantOf(employee);
+        String email = employee.getEmail();
+        Optional<EmployeeEmailShard> entry = shards.call(Shards.DIRECTORY_SHARD,
+            () -> directoryRepository.findById(new EmployeeEmailShard.Key(tenantId, email)));
+        if (entry.filter(owner -> !owner.getEmployeeId().equals(employee.getId())).flatMap(this::findOwner).isPresent()) {
+            throw new DuplicateEmailException(email);
+        }
+
+        // The owner can only be checked outside of the transaction, which is bound to the directory shard
+        Long checkedOwner = entry.map(EmployeeEmailShard::getEmployeeId).orElse(null);
+        int shard = shards.shardFor(employee.getId());
+        try {
+            shards.call(Shards.DIRECTORY_SHARD, () -> transactionTemplate.execute(status -> {
+                Long owner = directoryRepository.findForUpdate(tenantId, email).map(EmployeeEmailShard::getEmployeeId).orElse(null);
+                if (!Objects.equals(owner, checkedOwner) && !employee.getId().equals(owner)) {
+                    throw new DuplicateEmailException(email);
+                }
+                return directoryRepository.save(new EmployeeEmailShard(tenantId, email, shard, employee.getId()));
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Inserted by a concurrent registration
+            throw new DuplicateEmailException(email);
+        }
+    }
+
+    private Optional<Employee> findOwner(EmployeeEmailShard entry) {
+        // The session of the shard only sees the employees of the tenant it is opened for
+        try (TenantContext.Scope tenant = TenantContext.enter(entry.getTenantId())) {
+            return shards.call(entry.getShard(), () -> employeeRepository.findById(entry.getEmployeeId()))
+                // Stale entry of a deleted employee or of an email that has changed since
+                .filter(employee -> entry.getEmail().equals(employee.getEmail()));
+        }
+    }
+
+    /**
+     * The tenant of the employee, which a new employee only gets once persisted.
+     */
+    static String tenantOf(Employee employee) {
+        return employee.getTenantId() != null ? employee.getTenantId() : TenantContext.current();
+    }
+
+    /**
+     * Keyset pagination across shards: every shard returns its first {@code limit} employees
+     * after the given id and the merged page keeps the lowest {@code limit} ids among them.
+     */
+    public List<Employee> findPage(long afterId, int limit) {
+        return shards.map(shard -> employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(limit)))
+            .stream()
+            .flatMap(List::stream)
+            .sorted(Comparator.comparing(Employee::getId))
+            .limit(limit)
+            .toList();
+    }
+}
@@ -0,0 +1,115 @@
+package com.bitwise.springboot.shard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Maps employees to shards and runs work against each shard. Without sharding there is a single
+ * shard and every operation runs once, against the only database.
+ */
+@Component
+public class Shards {
+
+    /**
+     * Shard holding the email to shard directory.
+     */
+    public static final int DIRECTORY_SHARD = 0;
+
+    private final boolean enabled;
+    private final int count;
+
+    public Shards(@Value("${employee.sharding.enabled:false}") boolean enabled,
+                  @Value("${employee.sharding.urls:}") List<String> urls) {
+        if (enabled && urls.isEmpty()) {
+            throw new IllegalStateException("employee.sharding.urls must list the shard databases when sharding is enabled");
+        }
+        this.enabled = enabled;
+        this.count = enabled ? urls.size() : 1;
+    }
+
+    public static Shards single() {
+        return new Shards(false, List.of());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int shardFor(long id) {
+        return Math.floorMod(mix(id), count);
+    }
+
+    /**
+     * Shard new employees are placed on, so employees with the same email start on the same shard.
+     */
+    public int shardForEmail(String email) {
+        return Math.floorMod(mix(email.hashCode()), count);
+    }
+
+    /**
+     * Wraps an id source so that, inside a shard, it only returns ids that {@link #shardFor(long)}
+     * maps to that shard. This takes {@link #count()} draws on average.
+     */
+    public LongSupplier idSource(LongSupplier ids) {
+        if (count == 1) {
+            return ids;
+        }
+        return () -> {
+            Integer shard = ShardContext.current();
+            long id = ids.getAsLong();
+            while (shard != null && shardFor(id) != shard) {
+                id = ids.getAsLong();
+            }
+            return id;
+        };
+    }
+
+    public <T> T call(int shard, Supplier<T> action) {
+        if (shard < 0 || shard >= count) {
+            throw new IllegalArgumentException("No such shard: " + shard);
+        }
+        if (!enabled) {
+            return action.get();
+        }
+        try (ShardContext.Scope scope = ShardContext.enter(shard)) {
+            return action.get();
+        }
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int shard = 0; shard < count; shard++) {
+            int current = shard;
+            call(shard, () -> {
+                action.accept(current);
+                return null;
+            });
+        }
+    }
+
+    public <T> List<T> map(IntFunction<T> action) {
+        List<T> results = new ArrayList<>(count);
+        forEach(shard -> results.add(action.apply(shard)));
+        return results;
+    }
+
+    // Murmur3 finalizer, spreads sequential ids and similar hash codes evenly over the shards
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb93e1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,59 @@
+package com.bitwise.springboot.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Logs the slowest startup steps once the application is ready, so startup regressions show up
+ * in the logs of every deployment. Needs the application to run with a
+ * {@link BufferingApplicationStartup}, as {@code main} sets up; the full timeline is available at
+ * {@code /actuator/startup}.
+ */
+@Component
+public class StartupTimingReport {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingReport.class);
+
+    private final int topSteps;
+
+    public StartupTimingReport(@Value("${employee.startup.report.top-steps:15}") int topSteps) {
+        this.topSteps = topSteps;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        ApplicationStartup applicationStartup = event.getApplicationContext().getApplicationStartup();
+        if (applicationStartup instanceof BufferingApplicationStartup bufferingStartup && log.isInfoEnabled()) {
+            log.info("Started in {} ms, slowest steps:{}", event.getTimeTaken().toMillis(),
+                report(bufferingStartup.getBufferedTimeline().getEvents()));
+        }
+    }
+
+    String report(List<StartupTimeline.TimelineEvent> events) {
+        return events.stream()
+            .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+            .limit(topSteps)
+            .map(timelineEvent -> String.format("%n%8d ms  %s", timelineEvent.getDuration().toMillis(), describe(timelineEvent.getStartupStep())))
+            .collect(Collectors.joining());
+    }
+
+    private static String describe(StartupStep step) {
+        String tags = StreamSupport.stream(step.getTags().spliterator(), false)
+            .map(tag -> tag.getKey() + "=" + tag.getValue())
+            .collect(Collectors.joining(", "));
+        return tags.isEmpty() ? step.getName() : step.getName() + " [" + tags + "]";
+    }
+}
@@ -0,0 +1,27 @@
+package com.bitwise.springboot.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops the application as soon as it has started, for the training run that records the
+ * class-data sharing (AppCDS) archive: the JVM writes the archive of every class loaded so far
+ * on exit.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.startup.exit-when-ready", havingValue = "true")
+public class TrainingRunExit {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainingRunExit.class);
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        log.info("Training run done, exiting");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,190 @@
+package com.bitwise.springboot.stats;
+
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeStats;
+import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.shard.Shards;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Employee counts by tenant, email domain and last name initial, kept up to date from the
+ * committed employee changes instead of being computed from full scans. Counters only move by
+ * the changes they see, so they are periodically reconciled against the database: the counts are
+ * rebuilt from a scan while changes keep being applied, and the changes that arrived during the
+ * scan are replayed on the rebuilt counts before they replace the live ones.
+ * <p>
+ * The domain and initial of every employee are remembered by id, since update and delete events
+ * do not carry the previous values.
+ */
+@Service
+public class EmployeeStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeStatsService.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final Shards shards;
+    private final int reconcileBatchSize;
+
+    private Counts counts = new Counts();
+    // Changes seen while a reconciliation scans the database, null outside of one
+    private List<EmployeeChangedEvent> changesDuringReconcile;
+    private Instant reconciledAt;
+
+    public EmployeeStatsService(EmployeeRepository employeeRepository,
+                                Shards shards,
+                                @Value("${employee.stats.reconcile-batch-size:1000}") int reconcileBatchSize) {
+        this.employeeRepository = employeeRepository;
+        this.shards = shards;
+        this.reconcileBatchSize = reconcileBatchSize;
+    }
+
+    /**
+     * @return the counts of the current tenant
+     */
+    public synchronized EmployeeStats getStats() {
+        TenantCounts tenantCounts = counts.tenants.getOrDefault(TenantContext.current(), new TenantCounts());
+        return new EmployeeStats(tenantCounts.total, new TreeMap<>(tenantCounts.byEmailDomain),
+            new TreeMap<>(tenantCounts.byLastNameInitial), reconciledAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEmployeeChanged(EmployeeChangedEvent event) {
+        counts.apply(event);
+        if (changesDuringReconcile != null) {
+            changesDuringReconcile.add(event);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${employee.stats.reconcile-interval:3600000}",
+        fixedDelayString = "${employee.stats.reconcile-interval:3600000}")
+    public void reconcile() {
+        synchronized (this) {
+            if (changesDuringReconcile != null) {
+                return;
+            }
+            changesDuringReconcile = new ArrayList<>();
+        }
+
+        try {
+            Counts scanned = new Counts();
+            try (TenantContext.Scope scope = TenantContext.enter(TenantContext.ROOT)) {
+                shards.forEach(shard -> {
+                    long lastId = Long.MIN_VALUE;
+                    List<Employee> batch;
+                    do {
+                        batch = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.ofSize(reconcileBatchSize));
+                        batch.forEach(scanned::put);
+                        if (!batch.isEmpty()) {
+                            lastId = batch.get(batch.size() - 1).getId();
+                        }
+                    } while (batch.size() == reconcileBatchSize);
+                });
+            }
+
+            synchronized (this) {
+                changesDuringReconcile.forEach(scanned::apply);
+                int drift = scanned.difference(counts);
+                if (drift > 0) {
+                    log.warn("Employee stats had drifted from the database by {} employees, reconciled", drift);
+                }
+                counts = scanned;
+                reconciledAt = Instant.now();
+            }
+        } finally {
+            synchronized (this) {
+                changesDuringReconcile = null;
+            }
+        }
+    }
+
+    static String emailDomain(String email) {
+        int at = email != null ? email.lastIndexOf('@') : -1;
+        return at >= 0 ? email.substring(at + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    static String lastNameInitial(String lastName) {
+        return lastName == null || lastName.isEmpty() ? ""
+            : new String(Character.toChars(Character.toUpperCase(lastName.codePointAt(0))));
+    }
+
+    private record Entry(String tenantId, String emailDomain, String lastNameInitial) {
+    }
+
+    private static final class TenantCounts {
+
+        private long total;
+        private final Map<String, Long> byEmailDomain = new HashMap<>();
+        private final Map<String, Long> byLastNameInitial = new HashMap<>();
+
+        private void add(Entry entry, int delta) {
+            total += delta;
+            byEmailDomain.merge(entry.emailDomain(), (long) delta, (count, change) -> count + change == 0 ? null : count + change);
+            byLastNameInitial.merge(entry.lastNameInitial(), (long) delta, (count, change) -> count + change == 0 ? null : count + change);
+        }
+    }
+
+    private static final class Counts {
+
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<String, TenantCounts> tenants = new HashMap<>();
+
+        // Puts and removes are idempotent, so replaying a change the scan already saw does no harm
+        void apply(EmployeeChangedEvent event) {
+            switch (event.type()) {
+                case CREATED, UPDATED -> put(event.employee());
+                case DELETED -> remove(event.id());
+            }
+        }
+
+        void put(Employee employee) {
+            remove(employee.getId());
+            Entry entry = new Entry(employee.getTenantId(), emailDomain(employee.getEmail()), lastNameInitial(employee.getLastName()));
+            entries.put(employee.getId(), entry);
+            tenants.computeIfAbsent(entry.tenantId(), tenantId -> new TenantCounts()).add(entry, 1);
+        }
+
+        void remove(Long id) {
+            Entry entry = entries.remove(id);
+            if (entry != null) {
+                tenants.get(entry.tenantId()).add(entry, -1);
+            }
+        }
+
+        /**
+         * @return the number of employees counted differently by the other counts
+         */
+        int difference(Counts other) {
+            int difference = 0;
+            for (Map.Entry<Long, Entry> entry : entries.entrySet()) {
+                if (!entry.getValue().equals(other.entries.get(entry.getKey()))) {
+                    difference++;
+                }
+            }
+            for (Long id : other.entries.keySet()) {
+                if (!entries.containsKey(id)) {
+                    difference++;
+                }
+            }
+            return difference;
+        }
+    }
+}
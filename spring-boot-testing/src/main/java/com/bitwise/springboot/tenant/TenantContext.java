@@ -0,0 +1,51 @@
+package com.bitwise.springboot.tenant;
+
+/**
+ * Holds the tenant the current thread works for. Hibernate reads it when a session opens (see
+ * {@link TenantIdentifierResolver}), so the context has to be entered before a transaction starts.
+ * Outside of any tenant scope the thread works for the default tenant.
+ */
+public final class TenantContext {
+
+    /**
+     * Tenant of requests without a tenant, and of every employee that existed before tenants.
+     */
+    public static final String DEFAULT = "default";
+
+    /**
+     * Sees the employees of all tenants, for background work such as flushes and index rebuilds.
+     * Not a valid tenant id for requests.
+     */
+    public static final String ROOT = "*";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        String tenantId = CURRENT.get();
+        return tenantId != null ? tenantId : DEFAULT;
+    }
+
+    /**
+     * Switches the current thread to the given tenant until the returned scope is closed.
+     */
+    public static Scope enter(String tenantId) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenantId);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,26 @@
+package com.bitwise.springboot.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Opens every Hibernate session for the tenant of the current thread. Sessions of a tenant only
+ * read and write that tenant's employees, sessions of {@link TenantContext#ROOT} see all of them.
+ * Registered with the session factory through hibernate.tenant_identifier_resolver.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.current();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(String tenantId) {
+        return TenantContext.ROOT.equals(tenantId);
+    }
+}
@@ -0,0 +1,43 @@
+package com.bitwise.springboot.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends the kept spans to a local file, one JSON object per line.
+ */
+public class FileSpanExporter implements SpanExporter {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileSpanExporter(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void export(List<Span> trace) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream out = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Span span : trace) {
+                    out.write(objectMapper.writeValueAsBytes(span));
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not export spans to " + path, e);
+        }
+    }
+}
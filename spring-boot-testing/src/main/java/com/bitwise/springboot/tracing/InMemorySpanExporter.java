@@ -0,0 +1,34 @@
+package com.bitwise.springboot.tracing;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recently kept traces in memory, for tests and local troubleshooting.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final int capacity;
+    private final Deque<List<Span>> traces = new ArrayDeque<>();
+
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void export(List<Span> trace) {
+        if (traces.size() == capacity) {
+            traces.removeFirst();
+        }
+        traces.addLast(List.copyOf(trace));
+    }
+
+    public synchronized List<List<Span>> getTraces() {
+        return List.copyOf(traces);
+    }
+
+    public synchronized void clear() {
+        traces.clear();
+    }
+}
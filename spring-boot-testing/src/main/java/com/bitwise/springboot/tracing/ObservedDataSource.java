@@ -0,0 +1,116 @@
+package com.bitwise.springboot.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Observes every statement execution on its connections as a "jdbc.statement" observation, with
+ * the SQL operation as low and the statement text as high cardinality key value.
+ */
+public class ObservedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    private final Supplier<ObservationRegistry> observationRegistry;
+
+    /**
+     * @param observationRegistry looked up on first use, the data source is created before the registry
+     */
+    public ObservedDataSource(DataSource targetDataSource, Supplier<ObservationRegistry> observationRegistry) {
+        super(targetDataSource);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return observed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return observed(super.getConnection(username, password));
+    }
+
+    private Connection observed(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ObservedDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("unwrap") && args[0] == Connection.class) {
+                    return connection;
+                }
+
+                Object result = invoke(connection, method, args);
+                if (result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())) {
+                    return observed(statement, args != null && args.length > 0 && args[0] instanceof String sql ? sql : null);
+                }
+                return result;
+            });
+    }
+
+    private Statement observed(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+            : statement instanceof PreparedStatement ? PreparedStatement.class
+            : Statement.class;
+        return (Statement) Proxy.newProxyInstance(ObservedDataSource.class.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> {
+                if (!method.getName().startsWith("execute")) {
+                    return invoke(statement, method, args);
+                }
+
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                Observation observation = Observation.createNotStarted("jdbc.statement", observationRegistry.get())
+                    .contextualName("jdbc " + operationOf(sql))
+                    .lowCardinalityKeyValue("db.operation", operationOf(sql))
+                    .highCardinalityKeyValue("db.statement", sql != null ? sql : "")
+                    .start();
+                try (Observation.Scope scope = observation.openScope()) {
+                    return invoke(statement, method, args);
+                } catch (Throwable e) {
+                    observation.error(e);
+                    throw e;
+                } finally {
+                    observation.stop();
+                }
+            });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    static String operationOf(String sql) {
+        if (sql == null) {
+            return "batch";
+        }
+        String statement = sql.stripLeading();
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        return end > 0 ? statement.substring(0, end).toLowerCase(Locale.ROOT) : "other";
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
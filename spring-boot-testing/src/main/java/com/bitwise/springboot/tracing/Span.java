@@ -0,0 +1,22 @@
+package com.bitwise.springboot.tracing;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A finished span. Ids are lower case hex as in the W3C trace context, the parent id is null for
+ * the root span of a trace started here.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Span(String traceId,
+                   String spanId,
+                   String parentSpanId,
+                   String name,
+                   String contextualName,
+                   Instant start,
+                   long durationMicros,
+                   Map<String, String> tags,
+                   String error) {
+}
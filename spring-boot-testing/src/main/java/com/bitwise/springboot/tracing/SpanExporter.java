@@ -0,0 +1,11 @@
+package com.bitwise.springboot.tracing;
+
+import java.util.List;
+
+/**
+ * Receives the spans of each trace the tail sampler keeps, root span last.
+ */
+public interface SpanExporter {
+
+    void export(List<Span> trace);
+}
@@ -0,0 +1,131 @@
+package com.bitwise.springboot.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns observations into spans: the HTTP request, controller and service methods annotated with
+ * {@code @Observed}, and JDBC statements ({@link ObservedDataSource}). A request's spans are
+ * buffered until its root span ends, then the {@link TailSampler} decides whether the trace is
+ * exported. Incoming W3C {@code traceparent} headers are continued: the trace keeps the caller's
+ * trace id and its root span gets the caller's span as parent.
+ */
+public class SpanRecordingHandler implements ObservationHandler<Observation.Context> {
+
+    private static final Logger log = LoggerFactory.getLogger(SpanRecordingHandler.class);
+
+    // A runaway trace, such as a request looping over queries, keeps only its first spans
+    static final int MAX_SPANS_PER_TRACE = 1000;
+
+    private final TailSampler sampler;
+    private final SpanExporter exporter;
+
+    public SpanRecordingHandler(TailSampler sampler, SpanExporter exporter) {
+        this.sampler = sampler;
+        this.exporter = exporter;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return true;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        ActiveSpan parent = parentOf(context);
+        ActiveSpan span;
+        if (parent != null) {
+            span = new ActiveSpan(parent.trace, parent.spanId);
+        } else {
+            TraceParent traceParent = context instanceof ServerRequestObservationContext request
+                ? TraceParent.parse(request.getCarrier().getHeader(TraceParent.HEADER))
+                : null;
+            span = traceParent != null
+                ? new ActiveSpan(new Trace(traceParent.traceId(), traceParent.sampled()), traceParent.spanId())
+                : new ActiveSpan(new Trace(TraceParent.newTraceId(), false), null);
+            span.root = true;
+        }
+        context.put(ActiveSpan.class, span);
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        ActiveSpan span = context.get(ActiveSpan.class);
+        if (span == null) {
+            return;
+        }
+
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (KeyValue keyValue : context.getAllKeyValues()) {
+            tags.put(keyValue.getKey(), keyValue.getValue());
+        }
+        Throwable error = context.getError();
+        span.trace.add(new Span(span.trace.traceId, span.spanId, span.parentSpanId, context.getName(),
+            context.getContextualName(), span.start, (System.nanoTime() - span.startNanos) / 1000, tags,
+            error != null ? error.getClass().getName() + ": " + error.getMessage() : null), span.root);
+
+        if (span.root) {
+            List<Span> spans = span.trace.spans();
+            if (sampler.keep(spans, span.trace.upstreamSampled)) {
+                try {
+                    exporter.export(spans);
+                } catch (RuntimeException e) {
+                    log.warn("Could not export trace {}", span.trace.traceId, e);
+                }
+            }
+        }
+    }
+
+    private static ActiveSpan parentOf(Observation.Context context) {
+        ObservationView parent = context.getParentObservation();
+        return parent != null ? parent.getContextView().get(ActiveSpan.class) : null;
+    }
+
+    private static final class Trace {
+
+        private final String traceId;
+        private final boolean upstreamSampled;
+        private final List<Span> spans = new ArrayList<>();
+
+        private Trace(String traceId, boolean upstreamSampled) {
+            this.traceId = traceId;
+            this.upstreamSampled = upstreamSampled;
+        }
+
+        synchronized void add(Span span, boolean root) {
+            if (root || spans.size() < MAX_SPANS_PER_TRACE) {
+                spans.add(span);
+            }
+        }
+
+        synchronized List<Span> spans() {
+            return List.copyOf(spans);
+        }
+    }
+
+    private static final class ActiveSpan {
+
+        private final Trace trace;
+        private final String spanId = TraceParent.newSpanId();
+        private final String parentSpanId;
+        private final Instant start = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private boolean root;
+
+        private ActiveSpan(Trace trace, String parentSpanId) {
+            this.trace = trace;
+            this.parentSpanId = parentSpanId;
+        }
+    }
+}
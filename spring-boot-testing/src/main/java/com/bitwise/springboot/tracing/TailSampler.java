@@ -0,0 +1,40 @@
+package com.bitwise.springboot.tracing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides once a trace is complete whether it is kept: slow traces, traces with an error and
+ * traces the caller sampled always are, a share of the others is kept as a baseline.
+ */
+public class TailSampler {
+
+    private final long slowThresholdMicros;
+    private final double sampleRate;
+
+    public TailSampler(Duration slowThreshold, double sampleRate) {
+        this.slowThresholdMicros = slowThreshold.toNanos() / 1000;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @param trace           the spans of the trace, root span last
+     * @param upstreamSampled whether the caller's traceparent had the sampled flag
+     */
+    public boolean keep(List<Span> trace, boolean upstreamSampled) {
+        if (upstreamSampled) {
+            return true;
+        }
+        Span root = trace.get(trace.size() - 1);
+        if (root.durationMicros() >= slowThresholdMicros) {
+            return true;
+        }
+        for (Span span : trace) {
+            if (span.error() != null) {
+                return true;
+            }
+        }
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,56 @@
+package com.bitwise.springboot.tracing;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * The W3C trace context carried by the {@code traceparent} header:
+ * {@code 00-<32 hex trace id>-<16 hex parent span id>-<2 hex flags>}.
+ */
+public record TraceParent(String traceId, String spanId, boolean sampled) {
+
+    public static final String HEADER = "traceparent";
+
+    private static final Pattern FORMAT = Pattern.compile("[\\da-f]{2}-[\\da-f]{32}-[\\da-f]{16}-[\\da-f]{2}");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+
+    /**
+     * @return the trace context of the header, or null when it is missing or malformed
+     */
+    public static TraceParent parse(String header) {
+        if (header == null) {
+            return null;
+        }
+        String value = header.trim();
+        // Later versions may append fields, version ff is invalid
+        if (value.length() > 55 && value.charAt(55) == '-') {
+            value = value.substring(0, 55);
+        }
+        if (!FORMAT.matcher(value).matches() || value.startsWith("ff")) {
+            return null;
+        }
+
+        String traceId = value.substring(3, 35);
+        String spanId = value.substring(36, 52);
+        if (traceId.equals(INVALID_TRACE_ID) || spanId.equals(INVALID_SPAN_ID)) {
+            return null;
+        }
+        boolean sampled = (HexFormat.fromHexDigits(value, 53, 55) & 1) == 1;
+        return new TraceParent(traceId, spanId, sampled);
+    }
+
+    public String format() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return HexFormat.of().toHexDigits(random.nextLong()) + HexFormat.of().toHexDigits(random.nextLong() | 1);
+    }
+
+    static String newSpanId() {
+        return HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong() | 1);
+    }
+}
@@ -0,0 +1,150 @@
+package com.bitwise.springboot.warmup;
+
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
+import com.bitwise.springboot.service.EmployeeCache;
+import com.bitwise.springboot.service.EmployeeServiceImpl;
+import com.bitwise.springboot.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the employee cache of a new instance with the employees that were hot before it started.
+ * The hottest employees of the cache are written to a snapshot every snapshot-interval and on
+ * shutdown; on startup the snapshot is read and its employees loaded in parallel batches.
+ * <p>
+ * The warm-up runs as an application runner, and Spring Boot only reports the instance ready to
+ * take traffic (the readiness probe) once the runners have finished. A warm-up running past the
+ * timeout is abandoned rather than holding readiness back.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeWarmUp implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWarmUp.class);
+
+    private final EmployeeServiceImpl employeeService;
+    private final EmployeeCache employeeCache;
+    private final WarmUpSnapshot snapshot;
+    private final int snapshotSize;
+    private final int batchSize;
+    private final int parallelism;
+    private final Duration timeout;
+
+    private final AtomicInteger warmedUp = new AtomicInteger();
+
+    public EmployeeWarmUp(EmployeeServiceImpl employeeService,
+                          @Value("${employee.warm-up.snapshot:data/employee-warm-up.snapshot}") Path snapshot,
+                          @Value("${employee.warm-up.snapshot-size:1000}") int snapshotSize,
+                          @Value("${employee.warm-up.batch-size:100}") int batchSize,
+                          @Value("${employee.warm-up.parallelism:4}") int parallelism,
+                          @Value("${employee.warm-up.timeout:30s}") Duration timeout) {
+        this.employeeService = employeeService;
+        this.employeeCache = employeeService.getEmployeeCache();
+        this.snapshot = new WarmUpSnapshot(snapshot);
+        this.snapshotSize = snapshotSize;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!employeeCache.isEnabled()) {
+            return;
+        }
+        Map<String, List<Long>> idsByTenant = snapshot.read();
+        if (idsByTenant.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "employee-warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> batches = new ArrayList<>();
+            idsByTenant.forEach((tenantId, ids) -> {
+                for (int from = 0; from < ids.size(); from += batchSize) {
+                    List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                    batches.add(executor.submit(() -> load(tenantId, batch)));
+                }
+            });
+
+            executor.shutdown();
+            if (!executor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                log.warn("Employee cache warm-up did not finish within {}, going on with {} employees loaded", timeout, warmedUp.get());
+                return;
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+            log.info("Warmed up the employee cache with {} employees in {} ms", warmedUp.get(),
+                (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // A cold cache is slower, not broken
+            log.warn("Employee cache warm-up failed, going on with {} employees loaded", warmedUp.get(), e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${employee.warm-up.snapshot-interval:300000}",
+        fixedDelayString = "${employee.warm-up.snapshot-interval:300000}")
+    public void writeSnapshot() {
+        if (!employeeCache.isEnabled()) {
+            return;
+        }
+        Map<String, List<Long>> idsByTenant = new LinkedHashMap<>();
+        for (Employee employee : employeeCache.hottest(snapshotSize)) {
+            idsByTenant.computeIfAbsent(employee.getTenantId(), tenantId -> new ArrayList<>()).add(employee.getId());
+        }
+        if (!idsByTenant.isEmpty()) {
+            snapshot.write(idsByTenant);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        writeSnapshot();
+    }
+
+    public int getWarmedUp() {
+        return warmedUp.get();
+    }
+
+    private void load(String tenantId, List<Long> ids) {
+        try (TenantContext.Scope scope = TenantContext.enter(tenantId)) {
+            long generation = employeeCache.generation();
+            for (EmployeeLookupResult result : employeeService.getEmployeesByIds(ids)) {
+                if (result.isFound()) {
+                    employeeCache.put(result.getEmployee(), generation);
+                    warmedUp.incrementAndGet();
+                }
+            }
+        }
+    }
+}
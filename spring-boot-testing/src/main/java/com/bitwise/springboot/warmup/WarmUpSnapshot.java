@@ -0,0 +1,95 @@
+package com.bitwise.springboot.warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * File listing the hot employee ids by tenant: a magic number and the number of tenants, then per
+ * tenant its id (length and UTF-8 bytes), the number of ids and the ids. The file is written to a
+ * memory mapped temporary file and moved over the previous snapshot, so that a crash leaves one
+ * or the other. A snapshot that cannot be read is ignored.
+ */
+public class WarmUpSnapshot {
+
+    private static final int MAGIC = 0x454d5731; // EMW1
+
+    private final Path path;
+
+    public WarmUpSnapshot(Path path) {
+        this.path = path;
+    }
+
+    public void write(Map<String, List<Long>> idsByTenant) {
+        Map<byte[], List<Long>> encoded = new LinkedHashMap<>();
+        long size = 8;
+        for (Map.Entry<String, List<Long>> tenant : idsByTenant.entrySet()) {
+            byte[] tenantId = tenant.getKey().getBytes(StandardCharsets.UTF_8);
+            encoded.put(tenantId, tenant.getValue());
+            size += 2 + tenantId.length + 4 + 8L * tenant.getValue().size();
+        }
+
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path written = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(written, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC).putInt(encoded.size());
+                encoded.forEach((tenantId, ids) -> {
+                    buffer.putShort((short) tenantId.length).put(tenantId).putInt(ids.size());
+                    ids.forEach(buffer::putLong);
+                });
+                buffer.force();
+            }
+            Files.move(written, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the warm-up snapshot " + path, e);
+        }
+    }
+
+    /**
+     * @return the ids by tenant, empty when there is no snapshot or it cannot be read
+     */
+    public Map<String, List<Long>> read() {
+        Map<String, List<Long>> idsByTenant = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return idsByTenant;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                return idsByTenant;
+            }
+            int tenants = buffer.getInt();
+            for (int i = 0; i < tenants; i++) {
+                byte[] tenantId = new byte[buffer.getShort()];
+                buffer.get(tenantId);
+                int count = buffer.getInt();
+                List<Long> ids = new ArrayList<>(Math.min(count, buffer.remaining() / 8));
+                for (int j = 0; j < count; j++) {
+                    ids.add(buffer.getLong());
+                }
+                idsByTenant.put(new String(tenantId, StandardCharsets.UTF_8), ids);
+            }
+        } catch (IOException | BufferUnderflowException | NegativeArraySizeException e) {
+            return new LinkedHashMap<>();
+        }
+        return idsByTenant;
+    }
+}
@@ -0,0 +1,6 @@
+-- Changes belong to the tenant of the employee, so change feeds only show a tenant its own.
+-- Changes of employees no longer in the table stay with the default tenant
+alter table employee_outbox add column tenant_id varchar(64) default 'default' not null;
+update employee_outbox o set tenant_id = (select e.tenant_id from employees e where e.id = o.employee_id)
+    where exists (select 1 from employees e where e.id = o.employee_id);
+create index idx_employee_outbox_tenant on employee_outbox (tenant_id, seq);
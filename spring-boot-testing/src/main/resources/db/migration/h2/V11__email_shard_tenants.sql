@@ -0,0 +1,5 @@
+-- The same email may belong to an employee of each tenant, so the directory is keyed by both.
+-- Existing entries are the default tenant's: tenancy could not be enabled along with sharding
+alter table employee_email_shards add column tenant_id varchar(64) default 'default' not null;
+alter table employee_email_shards drop primary key;
+alter table employee_email_shards add primary key (tenant_id, email);
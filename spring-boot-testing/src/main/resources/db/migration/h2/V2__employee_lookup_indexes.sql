@@ -0,0 +1,3 @@
+-- Lookups by email and by first and last name
+create index idx_employees_email on employees (email);
+create index idx_employees_name on employees (first_name, last_name);
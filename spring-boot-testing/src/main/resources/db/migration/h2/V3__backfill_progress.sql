@@ -0,0 +1,2 @@
+-- Last id processed by each data migration, so an interrupted backfill resumes where it stopped
+create table backfill_progress (name varchar(100) not null, last_id bigint not null, completed_at timestamp(6) with time zone, primary key (name));
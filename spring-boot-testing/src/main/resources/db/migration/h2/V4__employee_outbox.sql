@@ -0,0 +1,3 @@
+-- Changes of employees, written in the transaction of the change and published in sequence order
+create table employee_outbox (seq bigint generated by default as identity, type varchar(16) not null check (type in ('CREATED','UPDATED','DELETED')), employee_id bigint not null, payload clob, created_at timestamp(6) with time zone not null, published_at timestamp(6) with time zone, primary key (seq));
+create index idx_employee_outbox_unpublished on employee_outbox (published_at, seq);
@@ -0,0 +1,5 @@
+-- Deleted employees are marked archived, then moved to the archive table in batches. The existing
+-- employees are active
+alter table employees add column status varchar(16) default 'ACTIVE' not null check (status in ('ACTIVE','ARCHIVED'));
+create index idx_employees_status on employees (status);
+create table employees_archive (id bigint not null, email varchar(255) not null, first_name varchar(255) not null, last_name varchar(255) not null, archived_at timestamp(6) with time zone not null, primary key (id));
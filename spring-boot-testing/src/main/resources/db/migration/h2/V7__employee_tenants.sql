@@ -0,0 +1,8 @@
+-- Employees belong to a tenant, the existing ones to the default tenant. Lookups by email and by
+-- name always run within a tenant, so their indexes lead with it
+alter table employees add column tenant_id varchar(64) default 'default' not null;
+alter table employees_archive add column tenant_id varchar(64) default 'default' not null;
+drop index idx_employees_email;
+drop index idx_employees_name;
+create index idx_employees_tenant_email on employees (tenant_id, email);
+create index idx_employees_tenant_name on employees (tenant_id, first_name, last_name);
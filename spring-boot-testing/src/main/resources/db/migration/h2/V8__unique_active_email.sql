@@ -0,0 +1,4 @@
+-- Active employees of a tenant have distinct emails. Archived employees keep their email until
+-- they are moved to the archive table, so the index is on a column that is null for them
+alter table employees add column active_email varchar(255) generated always as (case when status = 'ACTIVE' then email end);
+create unique index uk_employees_tenant_active_email on employees (tenant_id, active_email);
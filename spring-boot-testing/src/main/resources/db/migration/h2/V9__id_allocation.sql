@@ -0,0 +1,5 @@
+-- Blocks of employee ids for employee.id.generator=sequence (increment = employee.id.block-size)
+-- and employee.id.generator=table (hi 0 would hand out id 0, so it starts at 1)
+create sequence employee_id_seq start with 1 increment by 1000;
+create table id_blocks (name varchar(64) not null, next_hi bigint not null, primary key (name));
+insert into id_blocks (name, next_hi) values ('employees', 1);
@@ -0,0 +1,7 @@
+-- Changes belong to the tenant of the employee, so change feeds only show a tenant its own.
+-- Changes of employees no longer in the table stay with the default tenant
+alter table employee_outbox
+    add column tenant_id varchar(64) not null default 'default',
+    add index idx_employee_outbox_tenant (tenant_id, seq),
+    algorithm=inplace, lock=none;
+update employee_outbox o join employees e on e.id = o.employee_id set o.tenant_id = e.tenant_id;
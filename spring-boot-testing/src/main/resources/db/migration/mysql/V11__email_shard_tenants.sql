@@ -0,0 +1,7 @@
+-- The same email may belong to an employee of each tenant, so the directory is keyed by both.
+-- Existing entries are the default tenant's: tenancy could not be enabled along with sharding
+alter table employee_email_shards
+    add column tenant_id varchar(64) not null default 'default',
+    drop primary key,
+    add primary key (tenant_id, email),
+    algorithm=inplace, lock=none;
@@ -0,0 +1,3 @@
+-- Schema as Hibernate created it with ddl-auto=update before the schema was versioned. Databases
+-- that already have it are baselined at this version instead of running the script
+create table employees (id bigint not null auto_increment, email varchar(255) not null, first_name varchar(255) not null, last_name varchar(255) not null, primary key (id)) engine=InnoDB;
@@ -0,0 +1,8 @@
+-- Lookups by email and by first and last name. Built online: reads and writes continue while
+-- the indexes are built, and the statement fails instead of locking the table if that is not
+-- possible. Both indexes in one statement, so the table is scanned once and the script either
+-- applies completely or not at all
+alter table employees
+    add index idx_employees_email (email),
+    add index idx_employees_name (first_name, last_name),
+    algorithm=inplace, lock=none;
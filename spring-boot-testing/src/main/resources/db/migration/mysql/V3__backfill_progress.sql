@@ -0,0 +1,2 @@
+-- Last id processed by each data migration, so an interrupted backfill resumes where it stopped
+create table backfill_progress (name varchar(100) not null, last_id bigint not null, completed_at datetime(6), primary key (name)) engine=InnoDB;
@@ -0,0 +1,4 @@
+-- Changes of employees, written in the transaction of the change and published in sequence order.
+-- The payload is the employee as JSON, a mediumtext as a text would be 255 bytes
+create table employee_outbox (seq bigint not null auto_increment, type enum ('CREATED','DELETED','UPDATED') not null, employee_id bigint not null, payload mediumtext, created_at datetime(6) not null, published_at datetime(6), primary key (seq)) engine=InnoDB;
+create index idx_employee_outbox_unpublished on employee_outbox (published_at, seq);
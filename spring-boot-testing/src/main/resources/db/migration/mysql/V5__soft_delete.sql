@@ -0,0 +1,7 @@
+-- Deleted employees are marked archived, then moved to the archive table in batches. The existing
+-- employees are active. Built online, reads and writes continue while the table is rebuilt
+alter table employees
+    add column status enum ('ACTIVE','ARCHIVED') not null default 'ACTIVE',
+    add index idx_employees_status (status),
+    algorithm=inplace, lock=none;
+create table employees_archive (id bigint not null, email varchar(255) not null, first_name varchar(255) not null, last_name varchar(255) not null, archived_at datetime(6) not null, primary key (id)) engine=InnoDB;
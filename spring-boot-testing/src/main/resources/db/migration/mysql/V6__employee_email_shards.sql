@@ -0,0 +1,2 @@
+-- Directory telling which shard holds the employee with an email, kept on the first shard
+create table employee_email_shards (email varchar(255) not null, shard integer not null, employee_id bigint not null, primary key (email)) engine=InnoDB;
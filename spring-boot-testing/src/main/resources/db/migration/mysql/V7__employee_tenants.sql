@@ -0,0 +1,11 @@
+-- Employees belong to a tenant, the existing ones to the default tenant. Lookups by email and by
+-- name always run within a tenant, so their indexes lead with it. One online statement per table:
+-- the table is rebuilt once while reads and writes continue
+alter table employees
+    add column tenant_id varchar(64) not null default 'default',
+    drop index idx_employees_email,
+    drop index idx_employees_name,
+    add index idx_employees_tenant_email (tenant_id, email),
+    add index idx_employees_tenant_name (tenant_id, first_name, last_name),
+    algorithm=inplace, lock=none;
+alter table employees_archive add column tenant_id varchar(64) not null default 'default', algorithm=instant;
@@ -0,0 +1,8 @@
+-- Active employees of a tenant have distinct emails. Archived employees keep their email until
+-- they are moved to the archive table, so the index is on a virtual column that is null for them.
+-- Fails on existing duplicates, list them first with:
+--   select tenant_id, email, count(*) from employees where status = 'ACTIVE' group by tenant_id, email having count(*) > 1
+alter table employees
+    add column active_email varchar(255) as (if(status = 'ACTIVE', email, null)) virtual,
+    add unique index uk_employees_tenant_active_email (tenant_id, active_email),
+    algorithm=inplace, lock=none;
@@ -0,0 +1,4 @@
+-- Blocks of employee ids for employee.id.generator=table, MySQL has no sequences. Hi 0 would hand
+-- out id 0, so it starts at 1
+create table id_blocks (name varchar(64) not null, next_hi bigint not null, primary key (name)) engine=InnoDB;
+insert into id_blocks (name, next_hi) values ('employees', 1);
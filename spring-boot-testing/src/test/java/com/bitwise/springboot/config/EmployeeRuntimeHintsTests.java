@@ -0,0 +1,34 @@
+package com.bitwise.springboot.config;
+
+import com.bitwise.springboot.id.EmployeeIdGenerator;
+import com.bitwise.springboot.model.Employee;
+import org.apache.lucene.analysis.tokenattributes.PackedTokenAttributeImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+public class EmployeeRuntimeHintsTests {
+
+    @Test
+    @DisplayName("JUnit test for native image hints of reflectively used types")
+    public void givenRegistrar_whenRegisterHints_thenCoverReflectivelyUsedTypes() throws Exception {
+        // given - precondition or setup
+        RuntimeHints hints = new RuntimeHints();
+
+        // when - action or the behaviour that we are going to test
+        new EmployeeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // then - verify the output
+        Assertions.assertThat(RuntimeHintsPredicates.reflection().onMethod(Employee.class, "getEmail")).accepts(hints);
+        Assertions.assertThat(RuntimeHintsPredicates.reflection().onMethod(Employee.class, "setEmail")).accepts(hints);
+        Assertions.assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of("com.bitwise.springboot.service.EmployeeUpdateJournal$Entry"))
+            .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        Assertions.assertThat(RuntimeHintsPredicates.reflection().onConstructor(EmployeeIdGenerator.class.getConstructor())).accepts(hints);
+        Assertions.assertThat(RuntimeHintsPredicates.reflection().onConstructor(PackedTokenAttributeImpl.class.getConstructor())).accepts(hints);
+        Assertions.assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/org.apache.lucene.codecs.Codec")).accepts(hints);
+    }
+}
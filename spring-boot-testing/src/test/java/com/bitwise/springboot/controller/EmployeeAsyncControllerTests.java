@@ -0,0 +1,151 @@
+package com.bitwise.springboot.controller;
+
+import com.bitwise.springboot.exception.DuplicateEmailException;
+import com.bitwise.springboot.exception.ResourceNotFoundException;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.service.AsyncEmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EmployeeAsyncController.class)
+public class EmployeeAsyncControllerTests {
+
+    @MockBean
+    private AsyncEmployeeService asyncEmployeeService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employee = Employee.builder()
+            .id(1L)
+            .firstName("Ramesh")
+            .lastName("Fadatare")
+            .email("ramesh.fadatare@gmail.com")
+            .build();
+    }
+
+    @Test
+    @DisplayName("JUnit test for async get employee by id REST API")
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
+        // given - precondition or setup
+        given(asyncEmployeeService.getEmployeeById(1L)).willReturn(CompletableFuture.completedFuture(Optional.of(employee)));
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/employees/async/{id}", 1L))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email", is(employee.getEmail())));
+    }
+
+    @Test
+    @DisplayName("JUnit test for async update employee REST API with an unknown id")
+    public void givenUnknownEmployeeId_whenUpdateEmployee_thenReturn404() throws Exception {
+        // given - precondition or setup
+        given(asyncEmployeeService.updateEmployee(any(Employee.class)))
+            .willReturn(CompletableFuture.failedFuture(new ResourceNotFoundException("Employee not found with id: 2")));
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(put("/api/employees/async/{id}", 2L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+            .andReturn();
+
+        // then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isNotFound())
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.title", is("Resource not found")))
+            .andExpect(jsonPath("$.detail", is("Employee not found with id: 2")));
+    }
+
+    @Test
+    @DisplayName("JUnit test for async create employee REST API failing with a duplicate email")
+    public void givenEmployeeWithExistingEmail_whenCreateEmployee_thenReturn409Problem() throws Exception {
+        // given - precondition or setup
+        given(asyncEmployeeService.saveEmployee(any(Employee.class)))
+            .willReturn(CompletableFuture.failedFuture(new DuplicateEmailException(employee.getEmail())));
+
+        // when - action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(post("/api/employees/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+            .andReturn();
+
+        // then - verify the output
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.email", is(employee.getEmail())));
+    }
+
+    @Test
+    @DisplayName("JUnit test for async get all employees REST API")
+    public void givenLargeEmployeeList_whenGetAllEmployees_thenReturnList() throws Exception {
+        // given - precondition or setup
+        List<Employee> employees = LongStream.rangeClosed(1, 200)
+            .mapToObj(id -> employee.toBuilder().id(id).email("ramesh.fadatare" + id + "@gmail.com").build())
+            .toList();
+        given(asyncEmployeeService.getAllEmployees()).willReturn(CompletableFuture.completedFuture(employees));
+
+        // when - action or the behaviour that we are going to test
+        // Compression is done by the embedded server, which MockMvc bypasses
+        MvcResult started = mockMvc.perform(get("/api/employees/async"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        // then - verify the output
+        Assertions.assertThat(objectMapper.readTree(result.getResponse().getContentAsByteArray()).size()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("JUnit test for async batch get employees with a null id REST API")
+    public void givenNullEmployeeId_whenGetEmployeesByIds_thenReturnProblem() throws Exception {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees/async/batch-get")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[1, null]"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.title", is("Invalid request")))
+            .andExpect(jsonPath("$.parameter", is("ids")))
+            .andExpect(jsonPath("$.instance", is("/api/employees/async/batch-get")));
+    }
+}
@@ -0,0 +1,88 @@
+package com.bitwise.springboot.controller;
+
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import com.bitwise.springboot.service.EmployeeChangeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EmployeeChangeController.class)
+public class EmployeeChangeControllerTests {
+
+    @MockBean
+    private EmployeeChangeService employeeChangeService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("JUnit test for get employee changes since a sequence number REST API")
+    public void givenChanges_whenGetChangesSince_thenReturnChangesInSequenceOrder() throws Exception {
+        // given - precondition or setup
+        EmployeeOutboxEvent created = EmployeeOutboxEvent.builder()
+            .seq(6L)
+            .type(EmployeeChangedEvent.Type.CREATED)
+            .employeeId(1L)
+            .payload("{\"id\":1,\"firstName\":\"Ramesh\",\"lastName\":\"Fadatare\",\"email\":\"ramesh.fadatare@gmail.com\"}")
+            .createdAt(Instant.now())
+            .build();
+        EmployeeOutboxEvent deleted = EmployeeOutboxEvent.builder()
+            .seq(7L)
+            .type(EmployeeChangedEvent.Type.DELETED)
+            .employeeId(1L)
+            .createdAt(Instant.now())
+            .build();
+
+        given(employeeChangeService.getShardCount()).willReturn(1);
+        given(employeeChangeService.getChangesSince(0, 5L, 100))
+            .willReturn(List.of(created, deleted));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/changes").param("since", "5"));
+
+        // then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].seq", is(6)))
+                .andExpect(jsonPath("$[0].type", is("CREATED")))
+                .andExpect(jsonPath("$[0].payload.email", is("ramesh.fadatare@gmail.com")))
+                .andExpect(jsonPath("$[1].type", is("DELETED")))
+                .andExpect(jsonPath("$[1].payload", nullValue()));
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employee changes with an invalid limit REST API")
+    public void givenInvalidLimit_whenGetChangesSince_thenReturnBadRequest() throws Exception {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/changes").param("limit", "0"));
+
+        // then - verify the output
+        response.andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title", is("Invalid request")))
+                .andExpect(jsonPath("$.parameter", is("limit")))
+                .andExpect(jsonPath("$.detail", is("limit must be between 1 and 1000, got 0")));
+    }
+}
@@ -1,6 +1,9 @@
 package com.bitwise.springboot.controller;
 
+import com.bitwise.springboot.exception.DuplicateEmailException;
+import com.bitwise.springboot.exception.ResourceNotFoundException;
 import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
 import com.bitwise.springboot.service.EmployeeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +20,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -24,7 +30,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.hamcrest.CoreMatchers.is;
 
-@WebMvcTest
+@WebMvcTest(EmployeeController.class)
 public class EmployeeControllerTests {
 
     @MockBean
@@ -68,6 +74,28 @@ public class EmployeeControllerTests {
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
     }
 
+    @Test
+    @DisplayName("JUnit test for create employee REST API with an existing email")
+    public void givenEmployeeWithExistingEmail_whenCreateEmployee_thenReturnConflictProblem() throws Exception {
+        // given - precondition or setup
+        given(employeeService.saveEmployee(any(Employee.class)))
+            .willThrow(new DuplicateEmailException(employee.getEmail()));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status", is(409)))
+                .andExpect(jsonPath("$.title", is("Employee already exists")))
+                .andExpect(jsonPath("$.instance", is("/api/employees")))
+                .andExpect(jsonPath("$.email", is(employee.getEmail())));
+    }
+
     @Test
     @DisplayName("JUnit test for get all employees REST API")
     public void givenListOfEmployees_whenGetAllEmployees_thenReturnListOfEmployees() throws Exception {
@@ -119,11 +147,59 @@ public class EmployeeControllerTests {
             .willReturn(Optional.empty());
 
         // when - action or the behaviour that we are going to test
-        ResultActions response = mockMvc.perform(get("/api/employees/{id}", anyLong()));
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", 2L));
+
+        // then - verify the output
+        response.andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.title", is("Resource not found")))
+                .andExpect(jsonPath("$.detail", is("Employee not found with id: 2")))
+                .andExpect(jsonPath("$.instance", is("/api/employees/2")));
+    }
+
+    @Test
+    @DisplayName("JUnit test for batch get employees by ids REST API")
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnEmployeesInRequestOrder() throws Exception {
+        // given - precondition or setup
+        List<Long> ids = List.of(3L, 1L);
+
+        given(employeeService.getEmployeesByIds(ids))
+            .willReturn(List.of(EmployeeLookupResult.missing(3L), EmployeeLookupResult.found(employee)));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees/batch-get")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(ids)));
+
+        // then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].id", is(3)))
+                .andExpect(jsonPath("$[0].found", is(false)))
+                .andExpect(jsonPath("$[1].found", is(true)))
+                .andExpect(jsonPath("$[1].employee.email", is(employee.getEmail())));
+    }
+
+    @Test
+    @DisplayName("JUnit test for batch get employees with no ids REST API")
+    public void givenNoEmployeeIds_whenGetEmployeesByIds_thenReturnBadRequest() throws Exception {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees/batch-get")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[]"));
 
         // then - verify the output
         response.andDo(print())
-                .andExpect(status().isNotFound());
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title", is("Invalid request")))
+                .andExpect(jsonPath("$.parameter", is("ids")))
+                .andExpect(jsonPath("$.detail", is("At least one employee id is required")));
     }
 
     @Test
@@ -138,8 +214,6 @@ public class EmployeeControllerTests {
             .email("ram@gmail.com")
             .build();
 
-        given(employeeService.getEmployeeById(employeeId))
-            .willReturn(Optional.of(employee));
         given(employeeService.updateEmployee(any(Employee.class)))
             .willAnswer(invocation -> invocation.getArgument(0));
 
@@ -166,17 +240,23 @@ public class EmployeeControllerTests {
             .email("ram@gmail.com")
             .build();
 
-        given(employeeService.getEmployeeById(anyLong()))
-            .willReturn(Optional.empty());
+        given(employeeService.updateEmployee(any(Employee.class)))
+            .willThrow(new ResourceNotFoundException("Employee not found with id: 2"));
 
         // when - action or the behaviour that we are going to test
-        ResultActions response = mockMvc.perform(put("/api/employees/{id}", anyLong())
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", 2L)
             .contentType(MediaType.APPLICATION_JSON)
             .content(objectMapper.writeValueAsString(updatedEmployee)));
 
         // then - verify the output
         response.andDo(print())
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.title", is("Resource not found")))
+                .andExpect(jsonPath("$.detail", is("Employee not found with id: 2")));
+        verify(employeeService).updateEmployee(argThat(update -> update.getId() == 2L));
+        verify(employeeService, never()).getEmployeeById(anyLong());
     }
 
     @Test
@@ -192,4 +272,23 @@ public class EmployeeControllerTests {
         response.andDo(print())
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @DisplayName("JUnit test for delete employee by id when not found REST API")
+    public void givenInvalidEmployeeId_whenDeleteEmployee_thenReturnNotFound() throws Exception {
+        // given - precondition or setup
+        willThrow(new ResourceNotFoundException("Employee not found with id: 2"))
+            .given(employeeService).deleteEmployee(2L);
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(delete("/api/employees/{id}", 2L));
+
+        // then - verify the output
+        response.andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.title", is("Resource not found")))
+                .andExpect(jsonPath("$.detail", is("Employee not found with id: 2")));
+    }
 }
@@ -0,0 +1,63 @@
+package com.bitwise.springboot.controller;
+
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.event.EmployeeEventBroadcaster;
+import com.bitwise.springboot.model.Employee;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EmployeeStreamController.class)
+@Import(EmployeeEventBroadcaster.class)
+public class EmployeeStreamControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeEventBroadcaster employeeEventBroadcaster;
+
+    @Test
+    @DisplayName("JUnit test for streaming employee changes REST API")
+    public void givenSubscriber_whenEmployeeChanged_thenPushEvent() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+            .id(1L)
+            .firstName("Ramesh")
+            .lastName("Fadatare")
+            .email("ramesh.fadatare@gmail.com")
+            .build();
+
+        MvcResult result = mockMvc.perform(get("/api/employees/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isOk())
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // when - action or the behaviour that we are going to test
+        employeeEventBroadcaster.onEmployeeChanged(EmployeeChangedEvent.created(employee));
+        employeeEventBroadcaster.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+
+        // then - verify the output
+        MockHttpServletResponse response = result.getResponse();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!response.getContentAsString().contains("data:{\"id\":1}\n\n") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertThat(response.getContentAsString())
+            .contains("event:CREATED", "\"email\":\"ramesh.fadatare@gmail.com\"", "event:DELETED", "data:{\"id\":1}");
+        Assertions.assertThat(employeeEventBroadcaster.getSubscriberCount()).isEqualTo(1);
+
+        employeeEventBroadcaster.close();
+    }
+}
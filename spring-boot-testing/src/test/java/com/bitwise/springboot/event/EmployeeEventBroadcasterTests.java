@@ -0,0 +1,132 @@
+package com.bitwise.springboot.event;
+
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EmployeeEventBroadcasterTests {
+
+    // Collects the dispatch tasks without running them, so subscribers look slow
+    private final List<Runnable> pendingDispatches = new ArrayList<>();
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employee = Employee.builder()
+            .id(1L)
+            .firstName("Ramesh")
+            .lastName("Fadatare")
+            .email("ramesh.fadatare@gmail.com")
+            .build();
+    }
+
+    @Test
+    @DisplayName("JUnit test for slow subscribers losing their oldest events")
+    public void givenSlowSubscriber_whenBufferOverflows_thenDropOldestEvent() {
+        // given - precondition or setup
+        EmployeeEventBroadcaster broadcaster = new EmployeeEventBroadcaster(2,
+            EmployeeEventBroadcaster.OverflowPolicy.DROP_OLDEST, pendingDispatches::add);
+        broadcaster.subscribe();
+
+        // when - action or the behaviour that we are going to test
+        broadcaster.onEmployeeChanged(EmployeeChangedEvent.created(employee));
+        broadcaster.onEmployeeChanged(EmployeeChangedEvent.updated(employee));
+        broadcaster.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+
+        // then - verify the output
+        Assertions.assertThat(broadcaster.getDroppedEvents()).isEqualTo(1);
+        Assertions.assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+        Assertions.assertThat(pendingDispatches).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("JUnit test for slow subscribers being disconnected")
+    public void givenSlowSubscriber_whenBufferOverflows_thenDisconnectSubscriber() {
+        // given - precondition or setup
+        EmployeeEventBroadcaster broadcaster = new EmployeeEventBroadcaster(2,
+            EmployeeEventBroadcaster.OverflowPolicy.DISCONNECT, pendingDispatches::add);
+        broadcaster.subscribe();
+        broadcaster.subscribe();
+
+        // when - action or the behaviour that we are going to test
+        broadcaster.onEmployeeChanged(EmployeeChangedEvent.created(employee));
+        broadcaster.onEmployeeChanged(EmployeeChangedEvent.updated(employee));
+        broadcaster.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+
+        // then - verify the output
+        Assertions.assertThat(broadcaster.getSubscriberCount()).isZero();
+        Assertions.assertThat(broadcaster.getDroppedEvents()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("JUnit test for every subscriber getting whole frames of the same events")
+    public void givenSeveralSubscribers_whenEmployeeChanged_thenSendEachTheSameFrames() {
+        // given - precondition or setup
+        EmployeeEventBroadcaster broadcaster = new EmployeeEventBroadcaster(16,
+            EmployeeEventBroadcaster.OverflowPolicy.DROP_OLDEST, Runnable::run);
+        List<RecordingEmitter> emitters = List.of(new RecordingEmitter(), new RecordingEmitter(), new RecordingEmitter());
+        emitters.forEach(broadcaster::subscribe);
+
+        // when - action or the behaviour that we are going to test
+        broadcaster.onEmployeeChanged(EmployeeChangedEvent.created(employee));
+        broadcaster.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+
+        // then - verify the output
+        for (RecordingEmitter emitter : emitters) {
+            Assertions.assertThat(emitter.frames).hasSize(2);
+            Assertions.assertThat(emitter.frames.get(0)).startsWith("id:1\nevent:CREATED\ndata:").endsWith("\n\n");
+            Assertions.assertThat(emitter.frames.get(1)).isEqualTo("id:2\nevent:DELETED\ndata:{id=1}\n\n");
+        }
+        Assertions.assertThat(emitters.get(1).frames).isEqualTo(emitters.get(0).frames);
+    }
+
+    @Test
+    @DisplayName("JUnit test for subscribers only getting the changes of their own tenant")
+    public void givenSubscribersOfTwoTenants_whenEmployeeChanged_thenSendOnlyToSameTenant() {
+        // given - precondition or setup
+        EmployeeEventBroadcaster broadcaster = new EmployeeEventBroadcaster(16,
+            EmployeeEventBroadcaster.OverflowPolicy.DROP_OLDEST, Runnable::run);
+        RecordingEmitter acme = new RecordingEmitter();
+        RecordingEmitter globex = new RecordingEmitter();
+        try (TenantContext.Scope scope = TenantContext.enter("acme")) {
+            broadcaster.subscribe(acme);
+        }
+        try (TenantContext.Scope scope = TenantContext.enter("globex")) {
+            broadcaster.subscribe(globex);
+        }
+
+        // when - action or the behaviour that we are going to test
+        broadcaster.onEmployeeChanged(EmployeeChangedEvent.created(employee.toBuilder().tenantId("acme").build()));
+        try (TenantContext.Scope scope = TenantContext.enter("acme")) {
+            broadcaster.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+        }
+
+        // then - verify the output
+        Assertions.assertThat(acme.frames).hasSize(2);
+        Assertions.assertThat(globex.frames).isEmpty();
+    }
+
+    // Renders what would go over the wire, employees by their email
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> frames = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder frame = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                frame.append(part.getData() instanceof Employee sent ? sent.getEmail() : part.getData());
+            }
+            frames.add(frame.toString());
+        }
+    }
+}
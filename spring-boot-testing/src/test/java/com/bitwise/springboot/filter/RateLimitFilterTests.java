@@ -0,0 +1,147 @@
+package com.bitwise.springboot.filter;
+
+import com.bitwise.springboot.controller.EmployeeController;
+import com.bitwise.springboot.exception.ServiceOverloadedException;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = EmployeeController.class, properties = {
+    "employee.rate-limit.read.capacity=3",
+    "employee.rate-limit.read.per-second=0.1",
+    "employee.rate-limit.write.capacity=1",
+    "employee.rate-limit.write.per-second=0.1"
+})
+public class RateLimitFilterTests {
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("JUnit test for too many reads of one client rejected with 429")
+    public void givenClientOverReadBudget_whenGetAllEmployees_thenReturnTooManyRequests() throws Exception {
+        // given - precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(List.of());
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/employees").with(remoteAddress("10.0.0.1")))
+                .andExpect(status().isOk());
+        }
+
+        // when - action or the behaviour that we are going to test
+
+        // then - verify the output
+        mockMvc.perform(get("/api/employees").with(remoteAddress("10.0.0.1")))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.status", is(429)))
+            .andExpect(jsonPath("$.title", is("Too many requests")))
+            .andExpect(jsonPath("$.detail", is("Rate limit of read requests exceeded")))
+            .andExpect(jsonPath("$.instance", is("/api/employees")));
+        mockMvc.perform(get("/api/employees").with(remoteAddress("10.0.0.2")))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("JUnit test for a client header not giving a client a fresh budget")
+    public void givenClientOverReadBudget_whenGetAllEmployeesWithOtherClientHeader_thenReturnTooManyRequests() throws Exception {
+        // given - precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(List.of());
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/employees").with(remoteAddress("10.0.0.5")).header("X-Client-Id", "client-" + i))
+                .andExpect(status().isOk());
+        }
+
+        // when - action or the behaviour that we are going to test
+
+        // then - verify the output
+        mockMvc.perform(get("/api/employees").with(remoteAddress("10.0.0.5")).header("X-Client-Id", "client-3"))
+            .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("JUnit test for authenticated users limited by user rather than by address")
+    public void givenUserOverReadBudget_whenGetAllEmployees_thenReturnTooManyRequestsForThatUserOnly() throws Exception {
+        // given - precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(List.of());
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/employees").with(remoteAddress("10.0.0.1")).principal(() -> "ramesh"))
+                .andExpect(status().isOk());
+        }
+
+        // when - action or the behaviour that we are going to test
+
+        // then - verify the output
+        mockMvc.perform(get("/api/employees").with(remoteAddress("10.0.0.2")).principal(() -> "ramesh"))
+            .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/employees").with(remoteAddress("10.0.0.1")).principal(() -> "tony"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("JUnit test for writes limited separately from reads")
+    public void givenClientOverWriteBudget_whenDeleteEmployee_thenReturnTooManyRequestsButAllowReads() throws Exception {
+        // given - precondition or setup
+        given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(Employee.builder().id(1L).build()));
+        mockMvc.perform(delete("/api/employees/{id}", 1L).with(remoteAddress("10.0.0.3")))
+            .andExpect(status().isOk());
+
+        // when - action or the behaviour that we are going to test
+
+        // then - verify the output
+        mockMvc.perform(delete("/api/employees/{id}", 1L).with(remoteAddress("10.0.0.3")))
+            .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/employees/{id}", 1L).with(remoteAddress("10.0.0.3")))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("JUnit test for overloaded service answered with 503")
+    public void givenOverloadedService_whenGetAllEmployees_thenReturnServiceUnavailable() throws Exception {
+        // given - precondition or setup
+        willThrow(new ServiceOverloadedException("Too many concurrent employee reads", Duration.ofSeconds(2)))
+            .given(employeeService).getAllEmployees();
+
+        // when - action or the behaviour that we are going to test
+
+        // then - verify the output
+        mockMvc.perform(get("/api/employees").with(remoteAddress("10.0.0.4")))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+            .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+            .andExpect(jsonPath("$.status", is(503)))
+            .andExpect(jsonPath("$.detail", is("Too many concurrent employee reads")));
+    }
+
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.bitwise.springboot.hibernate;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+/**
+ * Fails a test when the code under test runs a different number of SQL statements than expected,
+ * so N+1 selects and other query count regressions break the build.
+ */
+public final class RequestStatisticsAssertions {
+
+    private RequestStatisticsAssertions() {
+    }
+
+    public static <T> T assertStatementCount(int expected, ThrowingSupplier<T> action) throws Throwable {
+        try (RequestStatistics statistics = RequestStatistics.begin()) {
+            T result = action.get();
+            assertStatementCount(expected, statistics);
+            return result;
+        }
+    }
+
+    public static void assertStatementCount(int expected, RequestStatistics statistics) {
+        Assertions.assertThat(statistics.getStatementCount())
+            .as("SQL statements, ran %s", statistics.getStatements())
+            .isEqualTo(expected);
+    }
+
+    public static void assertEntityLoadCount(int expected, RequestStatistics statistics) {
+        Assertions.assertThat(statistics.getEntityLoadCount()).as("entity loads").isEqualTo(expected);
+    }
+
+    public static void assertFlushCount(int expected, RequestStatistics statistics) {
+        Assertions.assertThat(statistics.getFlushCount()).as("flushes").isEqualTo(expected);
+    }
+}
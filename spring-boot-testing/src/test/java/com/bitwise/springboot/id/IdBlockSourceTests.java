@@ -0,0 +1,69 @@
+package com.bitwise.springboot.id;
+
+import com.bitwise.springboot.config.SchemaMigrationConfig;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@JdbcTest
+@Import(SchemaMigrationConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class IdBlockSourceTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("JUnit test for consecutive blocks reserved from a pooled sequence")
+    public void givenPooledSequence_whenFetch_thenReturnConsecutiveBlocks() {
+        // given - precondition or setup
+        SequenceIdBlockSource source = new SequenceIdBlockSource(jdbcTemplate, "employee_id_seq", 1000);
+        source.validate();
+
+        // when - action or the behaviour that we are going to test
+        IdBlock first = source.fetch();
+        IdBlock second = source.fetch();
+
+        // then - verify the output
+        Assertions.assertThat(first).isEqualTo(new IdBlock(1, 1001));
+        Assertions.assertThat(second).isEqualTo(new IdBlock(1001, 2001));
+    }
+
+    @Test
+    @DisplayName("JUnit test for a block size the migrated sequence does not increment by")
+    public void givenOtherBlockSize_whenValidate_thenThrowsException() {
+        // given - precondition or setup
+        SequenceIdBlockSource source = new SequenceIdBlockSource(jdbcTemplate, "employee_id_seq", 50);
+
+        // when - action or the behaviour that we are going to test
+
+        // then - verify the output
+        Assertions.assertThatThrownBy(source::validate).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("JUnit test for consecutive blocks reserved from the hi/lo table")
+    public void givenHiLoTable_whenFetch_thenReturnConsecutiveBlocks() {
+        // given - precondition or setup
+        TableHiLoIdBlockSource source = new TableHiLoIdBlockSource(jdbcTemplate, new TransactionTemplate(transactionManager), "employees", 50);
+
+        // when - action or the behaviour that we are going to test
+        IdBlock first = source.fetch();
+        IdBlock second = source.fetch();
+
+        // then - verify the output
+        Assertions.assertThat(first).isEqualTo(new IdBlock(50, 100));
+        Assertions.assertThat(second).isEqualTo(new IdBlock(100, 150));
+    }
+}
@@ -0,0 +1,118 @@
+package com.bitwise.springboot.id;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+public class PrefetchingIdAllocatorTests {
+
+    @Test
+    @DisplayName("JUnit test for ids handed out in order from consecutive blocks")
+    public void givenBlockSource_whenNextId_thenReturnIdsOfConsecutiveBlocks() {
+        // given - precondition or setup
+        AtomicLong nextStart = new AtomicLong(1);
+        IdBlockSource source = () -> {
+            long start = nextStart.getAndAdd(10);
+            return new IdBlock(start, start + 10);
+        };
+
+        // when - action or the behaviour that we are going to test
+        List<Long> ids;
+        try (PrefetchingIdAllocator allocator = new PrefetchingIdAllocator(source, 5)) {
+            ids = IntStream.range(0, 25).mapToObj(i -> allocator.nextId()).toList();
+        }
+
+        // then - verify the output
+        Assertions.assertThat(ids).containsExactlyElementsOf(IntStream.rangeClosed(1, 25).mapToObj(i -> (long) i).toList());
+    }
+
+    @Test
+    @DisplayName("JUnit test for next block fetched before the current one runs out")
+    public void givenSlowBlockSource_whenIdsUsedSlowerThanFetched_thenNeverWaitAfterFirstBlock() throws Exception {
+        // given - precondition or setup
+        AtomicLong nextStart = new AtomicLong(1);
+        AtomicInteger fetches = new AtomicInteger();
+        IdBlockSource source = () -> {
+            fetches.incrementAndGet();
+            long start = nextStart.getAndAdd(100);
+            return new IdBlock(start, start + 100);
+        };
+
+        try (PrefetchingIdAllocator allocator = new PrefetchingIdAllocator(source, 50)) {
+            allocator.nextId();
+
+            // when - action or the behaviour that we are going to test
+            for (int i = 1; i < 350; i++) {
+                allocator.nextId();
+                if (i % 50 == 0) {
+                    // Leaves time for the background fetch
+                    TimeUnit.MILLISECONDS.sleep(50);
+                }
+            }
+
+            // then - verify the output
+            Assertions.assertThat(allocator.getBlockingFetches()).isLessThanOrEqualTo(1);
+            Assertions.assertThat(fetches.get()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for unique ids assigned from concurrent threads")
+    public void givenConcurrentCallers_whenNextId_thenReturnUniqueIds() throws Exception {
+        // given - precondition or setup
+        AtomicLong nextStart = new AtomicLong(1);
+        IdBlockSource source = () -> {
+            long start = nextStart.getAndAdd(64);
+            return new IdBlock(start, start + 64);
+        };
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when - action or the behaviour that we are going to test
+        try (PrefetchingIdAllocator allocator = new PrefetchingIdAllocator(source, 32)) {
+            List<Future<?>> futures = IntStream.range(0, 8)
+                .<Future<?>>mapToObj(i -> executor.submit(() -> IntStream.range(0, 1000).forEach(j -> ids.add(allocator.nextId()))))
+                .toList();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then - verify the output
+        Assertions.assertThat(ids).hasSize(8000);
+    }
+
+    @Test
+    @DisplayName("JUnit test for a failed block fetch retried on the next call")
+    public void givenFailingBlockSource_whenNextId_thenThrowAndRetry() {
+        // given - precondition or setup
+        AtomicInteger fetches = new AtomicInteger();
+        IdBlockSource source = () -> {
+            if (fetches.incrementAndGet() == 1) {
+                throw new IllegalStateException("database is down");
+            }
+            return new IdBlock(1, 11);
+        };
+
+        try (PrefetchingIdAllocator allocator = new PrefetchingIdAllocator(source, 5)) {
+            // when - action or the behaviour that we are going to test
+            Assertions.assertThatThrownBy(allocator::nextId).isInstanceOf(IllegalStateException.class);
+
+            // then - verify the output
+            Assertions.assertThat(allocator.nextId()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.bitwise.springboot.id;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SnowflakeIdGeneratorTests {
+
+    @Test
+    @DisplayName("JUnit test for increasing ids within and across milliseconds")
+    public void givenGenerator_whenNextId_thenReturnIncreasingIds() {
+        // given - precondition or setup
+        AtomicLong millis = new AtomicLong(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli());
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, clock(millis));
+
+        // when - action or the behaviour that we are going to test
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+            if (i % 3000 == 0) {
+                millis.incrementAndGet();
+            }
+        }
+
+        // then - verify the output
+        Assertions.assertThat(ids).isSorted().doesNotHaveDuplicates();
+        Assertions.assertThat(ids).allMatch(id -> id > 0);
+        Assertions.assertThat(SnowflakeIdGenerator.timestampOf(ids.get(0))).isEqualTo(Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("JUnit test for unique ids when the clock moves backwards")
+    public void givenClockMovingBackwards_whenNextId_thenKeepIdsIncreasing() {
+        // given - precondition or setup
+        AtomicLong millis = new AtomicLong(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli());
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock(millis));
+        long first = generator.nextId();
+
+        // when - action or the behaviour that we are going to test
+        millis.addAndGet(-5000);
+        long second = generator.nextId();
+
+        // then - verify the output
+        Assertions.assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    @DisplayName("JUnit test for distinct ids from distinct nodes")
+    public void givenTwoNodes_whenNextIdAtSameTime_thenReturnDistinctIds() {
+        // given - precondition or setup
+        AtomicLong millis = new AtomicLong(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli());
+        SnowflakeIdGenerator node1 = new SnowflakeIdGenerator(1, clock(millis));
+        SnowflakeIdGenerator node2 = new SnowflakeIdGenerator(2, clock(millis));
+
+        // when - action or the behaviour that we are going to test
+        long id1 = node1.nextId();
+        long id2 = node2.nextId();
+
+        // then - verify the output
+        Assertions.assertThat(id1).isNotEqualTo(id2);
+    }
+
+    private static Clock clock(AtomicLong millis) {
+        return new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(millis.get());
+            }
+        };
+    }
+}
@@ -1,24 +1,52 @@
 package com.bitwise.springboot.integration;
 
+import com.bitwise.springboot.hibernate.RequestStatistics;
+import com.bitwise.springboot.hibernate.RequestStatisticsAssertions;
 import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import com.bitwise.springboot.repository.EmployeeOutboxRepository;
 import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.search.EmployeeSearchService;
+import com.bitwise.springboot.stats.EmployeeStatsService;
+import com.bitwise.springboot.tenant.TenantContext;
+import com.bitwise.springboot.tracing.InMemorySpanExporter;
+import com.bitwise.springboot.tracing.Span;
+import com.bitwise.springboot.tracing.TraceParent;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -35,14 +63,34 @@ public class EmployeeControllerITests {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeOutboxRepository employeeOutboxRepository;
+
+    @Autowired
+    private EmployeeSearchService employeeSearchService;
+
+    @Autowired
+    private EmployeeStatsService employeeStatsService;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @LocalServerPort
+    private int port;
+
     private Employee employee;
 
     @BeforeEach
     public void setup() {
-        employeeRepository.deleteAll();
+        try (TenantContext.Scope scope = TenantContext.enter(TenantContext.ROOT)) {
+            employeeRepository.deleteAll();
+        }
 
         employee = Employee.builder()
             .id(1L)
@@ -181,4 +229,366 @@ public class EmployeeControllerITests {
         response.andDo(print())
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @DisplayName("JUnit test for search employees REST API")
+    public void givenCreatedEmployees_whenSearchEmployees_thenReturnMatchingEmployees() throws Exception {
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+            .firstName("Tony")
+            .lastName("Stark")
+            .email("tony.stark@gmail.com")
+            .build();
+
+        for (Employee newEmployee : List.of(employee, employee1)) {
+            mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newEmployee)));
+        }
+        employeeSearchService.refresh();
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/search").param("q", "Fadatrae"));
+
+        // then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].email", is(employee.getEmail())));
+    }
+
+    @Test
+    @DisplayName("JUnit test for outbox entries written with every employee change")
+    public void givenEmployee_whenCreateAndDeleteEmployee_thenWriteOutboxEvents() throws Exception {
+        // given - precondition or setup
+        employeeOutboxRepository.deleteAll();
+
+        // when - action or the behaviour that we are going to test
+        String body = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+            .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(body, Employee.class).getId();
+        mockMvc.perform(delete("/api/employees/{id}", id));
+
+        // then - verify the output
+        List<EmployeeOutboxEvent> events = employeeOutboxRepository.findAll();
+        Assertions.assertThat(events).extracting(EmployeeOutboxEvent::getType)
+            .containsExactly(EmployeeChangedEvent.Type.CREATED, EmployeeChangedEvent.Type.DELETED);
+        Assertions.assertThat(events).extracting(EmployeeOutboxEvent::getEmployeeId).containsOnly(id);
+        Assertions.assertThat(events).extracting(EmployeeOutboxEvent::getTenantId).containsOnly(TenantContext.DEFAULT);
+    }
+
+    @Test
+    @DisplayName("JUnit test for employee changes of two tenants kept apart by the changes REST API")
+    public void givenChangesOfTwoTenants_whenGetChangesSince_thenReturnOnlyOwnChanges() throws Exception {
+        // given - precondition or setup
+        employeeOutboxRepository.deleteAll();
+        Instant visible = Instant.now().minus(Duration.ofHours(1));
+        employeeOutboxRepository.saveAll(List.of(
+            EmployeeOutboxEvent.builder().type(EmployeeChangedEvent.Type.CREATED).employeeId(1L).tenantId("acme")
+                .payload(objectMapper.writeValueAsString(employee)).createdAt(visible).build(),
+            EmployeeOutboxEvent.builder().type(EmployeeChangedEvent.Type.DELETED).employeeId(2L).tenantId("globex")
+                .createdAt(visible).build()));
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/changes").header("X-Tenant-Id", "globex"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()", is(1)))
+            .andExpect(jsonPath("$[0].employeeId", is(2)))
+            .andExpect(jsonPath("$[0].tenantId", is("globex")));
+        mockMvc.perform(get("/api/employees/changes").header("X-Tenant-Id", "acme"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()", is(1)))
+            .andExpect(jsonPath("$[0].employeeId", is(1)));
+        mockMvc.perform(get("/api/employees/changes"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @Test
+    @DisplayName("JUnit test for SQL statements run by the update employee REST API")
+    public void givenSavedEmployee_whenUpdateEmployee_thenSelectOnceAndUpdate() throws Exception {
+        // given - precondition or setup
+        Employee savedEmployee = employeeRepository.save(employee);
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Ram")
+                .lastName("Jadvah")
+                .email("ram@gmail.com")
+                .build();
+
+        // when - action or the behaviour that we are going to test
+        try (RequestStatistics statistics = RequestStatistics.begin()) {
+            mockMvc.perform(put("/api/employees/{id}", savedEmployee.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(updatedEmployee)))
+                .andExpect(status().isOk());
+
+            // then - verify the output
+            // The load, the update and the outbox entry: the service loads the employee once and updates it in place.
+            // The update is flushed before the commit, to report a taken email
+            RequestStatisticsAssertions.assertStatementCount(3, statistics);
+            RequestStatisticsAssertions.assertEntityLoadCount(1, statistics);
+            RequestStatisticsAssertions.assertFlushCount(2, statistics);
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee REST API with the email of another employee")
+    public void givenTwoEmployees_whenUpdateEmployeeToTakenEmail_thenReturnConflictProblem() throws Exception {
+        // given - precondition or setup
+        employeeRepository.save(employee);
+        Employee otherEmployee = employeeRepository.save(Employee.builder()
+            .firstName("Tony")
+            .lastName("Stark")
+            .email("tony.stark@gmail.com")
+            .build());
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", otherEmployee.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(otherEmployee.toBuilder().email(employee.getEmail()).build())));
+
+        // then - verify the output
+        response.andExpect(status().isConflict())
+            .andExpect(jsonPath("$.title", is("Employee already exists")))
+            .andExpect(jsonPath("$.email", is(employee.getEmail())));
+        Assertions.assertThat(employeeRepository.findById(otherEmployee.getId())).get()
+            .extracting(Employee::getEmail).isEqualTo("tony.stark@gmail.com");
+    }
+
+    @Test
+    @DisplayName("JUnit test for SQL statements run by the get all employees REST API")
+    public void givenListOfEmployees_whenGetAllEmployees_thenRunOneQuery() throws Exception {
+        // given - precondition or setup
+        employeeRepository.saveAll(List.of(employee,
+            Employee.builder().firstName("Tony").lastName("Stark").email("tony.stark@gmail.com").build(),
+            Employee.builder().firstName("Ram").lastName("Jadvah").email("ram@gmail.com").build()));
+
+        // when - action or the behaviour that we are going to test
+        try (RequestStatistics statistics = RequestStatistics.begin()) {
+            mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)));
+
+            // then - verify the output
+            RequestStatisticsAssertions.assertStatementCount(1, statistics);
+            RequestStatisticsAssertions.assertEntityLoadCount(3, statistics);
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for SQL statements run by the batch get employees REST API")
+    public void givenListOfEmployees_whenGetEmployeesByIds_thenRunOneQuery() throws Exception {
+        // given - precondition or setup
+        List<Employee> savedEmployees = employeeRepository.saveAll(List.of(employee,
+            Employee.builder().firstName("Tony").lastName("Stark").email("tony.stark@gmail.com").build()));
+        List<Long> ids = List.of(savedEmployees.get(0).getId(), savedEmployees.get(1).getId(), 0L);
+
+        // when - action or the behaviour that we are going to test
+        try (RequestStatistics statistics = RequestStatistics.begin()) {
+            mockMvc.perform(post("/api/employees/batch-get")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)));
+
+            // then - verify the output
+            RequestStatisticsAssertions.assertStatementCount(1, statistics);
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for SQL statements run by the async get all employees REST API")
+    public void givenListOfEmployees_whenGetAllEmployeesAsync_thenCountStatementsOfAsyncCall() throws Exception {
+        // given - precondition or setup
+        employeeRepository.saveAll(List.of(employee,
+            Employee.builder().firstName("Tony").lastName("Stark").email("tony.stark@gmail.com").build(),
+            Employee.builder().firstName("Ram").lastName("Jadvah").email("ram@gmail.com").build()));
+
+        // when - action or the behaviour that we are going to test
+        try (RequestStatistics statistics = RequestStatistics.begin()) {
+            MvcResult result = mockMvc.perform(get("/api/employees/async"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)));
+
+            // then - verify the output
+            // Run on an async thread, still counted for the request
+            RequestStatisticsAssertions.assertStatementCount(1, statistics);
+            RequestStatisticsAssertions.assertEntityLoadCount(3, statistics);
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for the spans of a traced create employee REST API call")
+    public void givenTraceParent_whenCreateEmployee_thenExportSpansOfTrace() throws Exception {
+        // given - precondition or setup
+        TraceParent caller = TraceParent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        spanExporter.clear();
+
+        // when - action or the behaviour that we are going to test
+        mockMvc.perform(post("/api/employees")
+                .header(TraceParent.HEADER, caller.format())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+            .andExpect(status().isCreated());
+
+        // then - verify the output
+        List<Span> trace = spanExporter.getTraces().stream()
+            .filter(spans -> spans.get(0).traceId().equals(caller.traceId()))
+            .findFirst()
+            .orElseThrow();
+        Span root = trace.get(trace.size() - 1);
+        Assertions.assertThat(root.name()).isEqualTo("http.server.requests");
+        Assertions.assertThat(root.parentSpanId()).isEqualTo(caller.spanId());
+        Assertions.assertThat(trace).extracting(Span::name)
+            .contains("employee.controller", "employee.service", "jdbc.statement");
+        Assertions.assertThat(trace).filteredOn(span -> span.name().equals("jdbc.statement"))
+            .extracting(span -> span.tags().get("db.operation"))
+            .contains("insert");
+    }
+
+    @Test
+    @DisplayName("JUnit test for employees of two tenants kept apart by the employee REST API")
+    public void givenEmployeesOfTwoTenants_whenGetEmployees_thenReturnOnlyOwnEmployees() throws Exception {
+        // given - precondition or setup
+        String json = objectMapper.writeValueAsString(employee.toBuilder().id(null).build());
+        Employee acmeEmployee = objectMapper.readValue(mockMvc.perform(post("/api/employees")
+                .header("X-Tenant-Id", "acme")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.tenantId", is("acme")))
+            .andReturn().getResponse().getContentAsString(), Employee.class);
+
+        // when - action or the behaviour that we are going to test
+        mockMvc.perform(post("/api/employees")
+                .header("X-Tenant-Id", "globex")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+            .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/employees")
+                .header("X-Tenant-Id", "acme")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+            .andExpect(status().isConflict());
+
+        // then - verify the output
+        mockMvc.perform(get("/api/employees").header("X-Tenant-Id", "globex"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()", is(1)))
+            .andExpect(jsonPath("$[0].tenantId", is("globex")));
+        mockMvc.perform(get("/api/employees/{id}", acmeEmployee.getId()).header("X-Tenant-Id", "globex"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/employees/{id}", acmeEmployee.getId()).header("X-Tenant-Id", "globex"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employees/{id}", acmeEmployee.getId()).header("X-Tenant-Id", "acme"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()", is(0)));
+        mockMvc.perform(get("/api/employees").header("X-Tenant-Id", "not a tenant"))
+            .andExpect(status().isBadRequest());
+        try (TenantContext.Scope scope = TenantContext.enter("acme")) {
+            Assertions.assertThat(employeeRepository.findByNativeSQL(employee.getFirstName(), employee.getLastName()).getId())
+                .isEqualTo(acmeEmployee.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for employee stats REST API")
+    public void givenListOfEmployees_whenGetStats_thenReturnCounts() throws Exception {
+        // given - precondition or setup
+        employeeStatsService.reconcile();
+        for (Employee newEmployee : List.of(employee,
+                Employee.builder().firstName("Tony").lastName("Stark").email("tony.stark@gmail.com").build(),
+                Employee.builder().firstName("Ram").lastName("Jadvah").email("ram@yahoo.com").build())) {
+            mockMvc.perform(post("/api/employees")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(newEmployee)))
+                .andExpect(status().isCreated());
+        }
+
+        // when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/stats"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+            .andExpect(jsonPath("$.total", is(3)))
+            .andExpect(jsonPath("$.byEmailDomain['gmail.com']", is(2)))
+            .andExpect(jsonPath("$.byEmailDomain['yahoo.com']", is(1)))
+            .andExpect(jsonPath("$.byLastNameInitial.F", is(1)));
+    }
+
+    @Test
+    @DisplayName("JUnit test for gzip compression of a large employee list by the server")
+    public void givenLargeEmployeeList_whenGetAllEmployeesWithGzip_thenReturnCompressedList() throws Exception {
+        // given - precondition or setup
+        employeeRepository.saveAll(IntStream.range(0, 200)
+            .mapToObj(i -> Employee.builder().firstName("Ramesh").lastName("Fadatare")
+                .email("ramesh.fadatare" + i + "@gmail.com").build())
+            .toList());
+
+        // when - action or the behaviour that we are going to test
+        // Compression happens in the embedded server, so the request goes over HTTP rather than MockMvc
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+
+        // then - verify the output
+        Assertions.assertThat(response.statusCode()).isEqualTo(200);
+        Assertions.assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        Assertions.assertThat(String.join(",", response.headers().allValues(HttpHeaders.VARY)))
+            .containsIgnoringCase(HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes();
+        Assertions.assertThat(response.body().length).isLessThan(body.length);
+        Assertions.assertThat(objectMapper.readTree(body).size()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("JUnit test for compression metrics recorded per endpoint by the server")
+    public void givenLargeEmployeeList_whenGetAllEmployeesWithGzip_thenRecordCompressionOfEndpoint() throws Exception {
+        // given - precondition or setup
+        employeeRepository.saveAll(IntStream.range(0, 200)
+            .mapToObj(i -> Employee.builder().firstName("Ramesh").lastName("Fadatare")
+                .email("ramesh.fadatare" + i + "@gmail.com").build())
+            .toList());
+        // Other tests may have recorded the endpoint already
+        Timer time = Timer.builder("http.server.compression.time")
+            .tags("uri", "/api/employees", "encoding", "gzip").register(meterRegistry);
+        DistributionSummary raw = DistributionSummary.builder("http.server.compression.raw.bytes")
+            .baseUnit("bytes").tags("uri", "/api/employees", "encoding", "gzip").register(meterRegistry);
+        DistributionSummary compressed = DistributionSummary.builder("http.server.compression.compressed.bytes")
+            .baseUnit("bytes").tags("uri", "/api/employees", "encoding", "gzip").register(meterRegistry);
+        long countBefore = time.count();
+        double rawBefore = raw.totalAmount();
+        double compressedBefore = compressed.totalAmount();
+
+        // when - action or the behaviour that we are going to test
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+
+        // then - verify the output
+        // The server records the request once it is complete, which may be after the client got the body
+        long deadline = System.currentTimeMillis() + 5000;
+        while (time.count() == countBefore && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes();
+        Assertions.assertThat(time.count()).isEqualTo(countBefore + 1);
+        Assertions.assertThat(raw.totalAmount() - rawBefore).isEqualTo(body.length);
+        Assertions.assertThat(compressed.totalAmount() - compressedBefore)
+            .isGreaterThanOrEqualTo(response.body().length)
+            .isLessThan(body.length);
+    }
 }
@@ -1,7 +1,10 @@
 package com.bitwise.springboot.integration;
 
+import com.bitwise.springboot.config.IdGenerationConfig;
+import com.bitwise.springboot.config.SchemaMigrationConfig;
 import com.bitwise.springboot.model.Employee;
 import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.shard.Shards;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +22,7 @@ import java.util.Optional;
  */
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({IdGenerationConfig.class, Shards.class, SchemaMigrationConfig.class})
 public class EmployeeRepositoryIT extends AbstractContainerBaseTests {
 
     @Autowired
@@ -0,0 +1,93 @@
+package com.bitwise.springboot.jfr;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+public class JfrMonitorTests {
+
+    private JfrMonitor monitor;
+
+    @BeforeEach
+    public void setup() {
+        monitor = new JfrMonitor(new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class), "default",
+            Duration.ofMinutes(1), DataSize.ofMegabytes(16), Duration.ofMinutes(1));
+        monitor.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        monitor.stop();
+    }
+
+    private static void commitOperation(String operation, long employeeId) {
+        EmployeeOperationEvent event = new EmployeeOperationEvent();
+        event.begin();
+        event.operation = operation;
+        event.employeeId = employeeId;
+        event.rowCount = 1;
+        event.commit();
+    }
+
+    @Test
+    @DisplayName("JUnit test for latency summaries streamed from the employee events")
+    public void givenOperationEvents_whenSummary_thenReturnLatenciesPerOperation() throws InterruptedException {
+        // given - precondition or setup
+        for (int i = 0; i < 10; i++) {
+            commitOperation("getEmployeeById", i);
+        }
+        commitOperation("saveEmployee", 1);
+
+        // when - action or the behaviour that we are going to test
+        // The stream delivers events about once a second
+        JfrMonitor.Summary summary = monitor.summary();
+        for (int attempt = 0; attempt < 100 && summary.operations().size() < 2; attempt++) {
+            Thread.sleep(100);
+            summary = monitor.summary();
+        }
+
+        // then - verify the output
+        Assertions.assertThat(summary.operations()).containsOnlyKeys("getEmployeeById", "saveEmployee");
+        Assertions.assertThat(summary.operations().get("getEmployeeById").count()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("JUnit test for dumping the recording kept in memory")
+    public void givenOperationEvents_whenDump_thenWriteRecordingWithEvents(@TempDir Path directory) throws Exception {
+        // given - precondition or setup
+        commitOperation("deleteEmployee", 42);
+        Path file = directory.resolve("employees.jfr");
+
+        // when - action or the behaviour that we are going to test
+        monitor.dump(file);
+
+        // then - verify the output
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(EmployeeOperationEvent.NAME))
+            .toList();
+        Assertions.assertThat(events).anySatisfy(event -> {
+            Assertions.assertThat(event.getString("operation")).isEqualTo("deleteEmployee");
+            Assertions.assertThat(event.getLong("employeeId")).isEqualTo(42);
+        });
+    }
+
+    @Test
+    @DisplayName("JUnit test for grouping allocations by thread pool")
+    public void givenThreadNames_whenPoolOf_thenStripThreadNumbers() {
+        Assertions.assertThat(JfrMonitor.poolOf("http-nio-8080-exec-12")).isEqualTo("http-nio-8080-exec");
+        Assertions.assertThat(JfrMonitor.poolOf("employee-backfill")).isEqualTo("employee-backfill");
+        Assertions.assertThat(JfrMonitor.poolOf("main")).isEqualTo("main");
+    }
+}
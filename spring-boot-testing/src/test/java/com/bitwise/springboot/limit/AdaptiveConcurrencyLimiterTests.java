@@ -0,0 +1,67 @@
+package com.bitwise.springboot.limit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveConcurrencyLimiterTests {
+
+    @Test
+    @DisplayName("JUnit test for calls over the limit rejected at once")
+    public void givenLimitReached_whenTryAcquire_thenReject() {
+        // given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // when - action or the behaviour that we are going to test
+        boolean acquired = limiter.tryAcquire();
+
+        // then - verify the output
+        Assertions.assertThat(acquired).isFalse();
+        Assertions.assertThat(limiter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("JUnit test for limit growing while latency stays flat under load")
+    public void givenSteadyLatencyAtLimit_whenRelease_thenIncreaseLimit() {
+        // given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 100);
+
+        // when - action or the behaviour that we are going to test
+        for (int i = 0; i < 50; i++) {
+            while (limiter.tryAcquire()) {
+                // fills the limit
+            }
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(5));
+            while (limiter.getInFlight() > 0) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+        }
+
+        // then - verify the output
+        Assertions.assertThat(limiter.getLimit()).isGreaterThan(4);
+    }
+
+    @Test
+    @DisplayName("JUnit test for limit shrinking when latency rises")
+    public void givenRisingLatency_whenRelease_thenDecreaseLimit() {
+        // given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 1, 100);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        // when - action or the behaviour that we are going to test
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+
+        // then - verify the output
+        Assertions.assertThat(limiter.getLimit()).isLessThan(50);
+    }
+}
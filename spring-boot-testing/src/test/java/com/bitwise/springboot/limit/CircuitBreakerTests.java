@@ -0,0 +1,89 @@
+package com.bitwise.springboot.limit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CircuitBreakerTests {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(10, 4, 0.5, Duration.ofSeconds(5), nanoTime::get);
+
+    @Test
+    @DisplayName("JUnit test for circuit opened once the failure rate reaches the threshold")
+    public void givenFailingCalls_whenFailureRateReachesThreshold_thenOpenCircuit() {
+        // given - precondition or setup
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        // when - action or the behaviour that we are going to test
+        circuitBreaker.onFailure();
+
+        // then - verify the output
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        Assertions.assertThat(circuitBreaker.tryAcquire()).isFalse();
+        Assertions.assertThat(circuitBreaker.getRemainingOpenTime()).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("JUnit test for circuit closed by a successful trial call")
+    public void givenOpenCircuit_whenTrialCallSucceeds_thenCloseCircuit() {
+        // given - precondition or setup
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        // when - action or the behaviour that we are going to test
+        boolean trial = circuitBreaker.tryAcquire();
+        boolean concurrentCall = circuitBreaker.tryAcquire();
+        circuitBreaker.onSuccess();
+
+        // then - verify the output
+        Assertions.assertThat(trial).isTrue();
+        Assertions.assertThat(concurrentCall).isFalse();
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("JUnit test for circuit opened again by a failed trial call")
+    public void givenOpenCircuit_whenTrialCallFails_thenOpenCircuitAgain() {
+        // given - precondition or setup
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        circuitBreaker.tryAcquire();
+
+        // when - action or the behaviour that we are going to test
+        circuitBreaker.onFailure();
+
+        // then - verify the output
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("JUnit test for old failures leaving the sliding window")
+    public void givenFailuresFollowedBySuccesses_whenWindowSlides_thenStayClosed() {
+        // given - precondition or setup
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.onSuccess();
+        }
+
+        // when - action or the behaviour that we are going to test
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+
+        // then - verify the output
+        Assertions.assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
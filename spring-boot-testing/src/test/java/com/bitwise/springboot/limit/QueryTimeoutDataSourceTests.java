@@ -0,0 +1,69 @@
+package com.bitwise.springboot.limit;
+
+import org.assertj.core.api.Assertions;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+
+public class QueryTimeoutDataSourceTests {
+
+    private final QueryTimeoutDataSource dataSource = new QueryTimeoutDataSource(h2());
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:query-timeouts");
+        return dataSource;
+    }
+
+    @Test
+    @DisplayName("JUnit test for query timeout of the current scope set on new statements")
+    public void givenQueryTimeoutScope_whenPrepareStatement_thenApplyTimeoutInSeconds() throws Exception {
+        // given - precondition or setup
+        try (Connection connection = dataSource.getConnection();
+             QueryTimeout.Scope scope = QueryTimeout.apply(Duration.ofMillis(1500))) {
+
+            // when - action or the behaviour that we are going to test
+            try (PreparedStatement statement = connection.prepareStatement("select 1")) {
+
+                // then - verify the output
+                Assertions.assertThat(statement.getQueryTimeout()).isEqualTo(2);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for shorter enclosing query timeout kept by a nested scope")
+    public void givenNestedScopes_whenPrepareStatement_thenApplyShorterTimeout() throws Exception {
+        // given - precondition or setup
+        try (Connection connection = dataSource.getConnection();
+             QueryTimeout.Scope outer = QueryTimeout.apply(Duration.ofSeconds(1));
+             QueryTimeout.Scope inner = QueryTimeout.apply(Duration.ofSeconds(30))) {
+
+            // when - action or the behaviour that we are going to test
+            try (PreparedStatement statement = connection.prepareStatement("select 1")) {
+
+                // then - verify the output
+                Assertions.assertThat(statement.getQueryTimeout()).isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for statements without query timeout outside of any scope")
+    public void givenNoScope_whenPrepareStatement_thenKeepDriverDefault() throws Exception {
+        // given - precondition or setup
+        try (Connection connection = dataSource.getConnection()) {
+
+            // when - action or the behaviour that we are going to test
+            try (PreparedStatement statement = connection.prepareStatement("select 1")) {
+
+                // then - verify the output
+                Assertions.assertThat(statement.getQueryTimeout()).isZero();
+            }
+        }
+    }
+}
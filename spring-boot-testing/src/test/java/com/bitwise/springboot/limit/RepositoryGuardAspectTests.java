@@ -0,0 +1,88 @@
+package com.bitwise.springboot.limit;
+
+import com.bitwise.springboot.exception.ServiceOverloadedException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class RepositoryGuardAspectTests {
+
+    private RepositoryGuardAspect repositoryGuard;
+
+    private ProceedingJoinPoint findById;
+
+    @BeforeEach
+    public void setup() throws Throwable {
+        MockEnvironment environment = new MockEnvironment().withProperty("employee.bulkhead.point-read.max-concurrent", "1");
+        repositoryGuard = new RepositoryGuardAspect(environment, Duration.ZERO, Duration.ofSeconds(1), 50, 20, 0.5, Duration.ofSeconds(10));
+
+        Signature signature = mock(Signature.class);
+        given(signature.getName()).willReturn("findById");
+        findById = mock(ProceedingJoinPoint.class);
+        given(findById.getSignature()).willReturn(signature);
+        given(findById.proceed()).willReturn(null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (TransactionSynchronizationManager.hasResource(repositoryGuard)) {
+            TransactionSynchronizationManager.unbindResource(repositoryGuard);
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for the repository calls of one transaction sharing one bulkhead permit")
+    public void givenTransaction_whenSeveralRepositoryCalls_thenHoldOnePermitUntilCompletion() throws Throwable {
+        // given - precondition or setup
+        Bulkhead bulkhead = repositoryGuard.getBulkhead(RepositoryOperation.POINT_READ);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when - action or the behaviour that we are going to test
+        repositoryGuard.guard(findById);
+        repositoryGuard.guard(findById);
+
+        // then - verify the output
+        Assertions.assertThat(bulkhead.getActiveCalls()).isEqualTo(1);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        Assertions.assertThat(bulkhead.getActiveCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("JUnit test for calls outside of the transaction holding the only permit rejected")
+    public void givenTransactionHoldingPermit_whenRepositoryCallOnOtherThread_thenThrowsException() throws Throwable {
+        // given - precondition or setup
+        TransactionSynchronizationManager.initSynchronization();
+        repositoryGuard.guard(findById);
+
+        // when - action or the behaviour that we are going to test
+        Throwable[] rejection = new Throwable[1];
+        Thread other = new Thread(() -> {
+            try {
+                repositoryGuard.guard(findById);
+            } catch (Throwable e) {
+                rejection[0] = e;
+            }
+        });
+        other.start();
+        other.join();
+
+        // then - verify the output
+        Assertions.assertThat(rejection[0]).isInstanceOf(ServiceOverloadedException.class);
+    }
+}
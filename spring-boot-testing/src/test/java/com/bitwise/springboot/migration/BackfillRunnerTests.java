@@ -0,0 +1,99 @@
+package com.bitwise.springboot.migration;
+
+import com.bitwise.springboot.shard.Shards;
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+public class BackfillRunnerTests {
+
+    private EmbeddedDatabase database;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private BackfillRunner backfillRunner;
+
+    // Upper-cases the last names, one chunk of ids at a time
+    private final Backfill backfill = new Backfill() {
+        @Override
+        public String getName() {
+            return "upper-case-last-names";
+        }
+
+        @Override
+        public String getTable() {
+            return "employees";
+        }
+
+        @Override
+        public int apply(JdbcTemplate jdbcTemplate, long fromId, long toId) {
+            return jdbcTemplate.update("update employees set last_name = upper(last_name) where id > ? and id <= ?", fromId, toId);
+        }
+    };
+
+    @BeforeEach
+    public void setup() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        new SchemaMigrationStrategy(List.of(database)).migrate(Flyway.configure().locations("classpath:db/migration/h2").dataSource(database));
+        jdbcTemplate = new JdbcTemplate(database);
+        for (int id = 1; id <= 25; id++) {
+            jdbcTemplate.update("insert into employees (id, status, email, first_name, last_name) values (?, 'ACTIVE', ?, 'Ramesh', 'Fadatare')",
+                id, "ramesh" + id + "@gmail.com");
+        }
+
+        backfillRunner = new BackfillRunner(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(database)),
+            Shards.single(), new StaticListableBeanFactory().getBeanProvider(Backfill.class), true, 10, Duration.ZERO);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("JUnit test for backfilling a table in chunks")
+    public void givenRows_whenRunBackfill_thenChangeAllRowsAndMarkCompleted() {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        long changed = backfillRunner.run(backfill);
+        long changedAgain = backfillRunner.run(backfill);
+
+        // then - verify the output
+        Assertions.assertThat(changed).isEqualTo(25);
+        Assertions.assertThat(changedAgain).isZero();
+        Assertions.assertThat(jdbcTemplate.queryForList("select distinct last_name from employees", String.class))
+            .containsExactly("FADATARE");
+        Assertions.assertThat(jdbcTemplate.queryForObject(
+            "select last_id from backfill_progress where name = ? and completed_at is not null", Long.class, backfill.getName()))
+            .isEqualTo(25L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for resuming an interrupted backfill after the last chunk")
+    public void givenInterruptedBackfill_whenRunBackfill_thenResumeAfterLastChunk() {
+        // given - precondition or setup
+        jdbcTemplate.update("insert into backfill_progress (name, last_id) values (?, 20)", backfill.getName());
+
+        // when - action or the behaviour that we are going to test
+        long changed = backfillRunner.run(backfill);
+
+        // then - verify the output
+        Assertions.assertThat(changed).isEqualTo(5);
+        Assertions.assertThat(jdbcTemplate.queryForObject("select count(*) from employees where last_name = 'FADATARE'", Integer.class))
+            .isEqualTo(5);
+    }
+}
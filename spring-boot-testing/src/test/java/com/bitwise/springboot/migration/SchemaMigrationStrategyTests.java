@@ -0,0 +1,134 @@
+package com.bitwise.springboot.migration;
+
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class SchemaMigrationStrategyTests {
+
+    private EmbeddedDatabase database;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private SchemaMigrationStrategy strategy;
+
+    @BeforeEach
+    public void setup() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        strategy = new SchemaMigrationStrategy(List.of(database));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    private FluentConfiguration flyway() {
+        return Flyway.configure().locations("classpath:db/migration/h2").baselineVersion("1").dataSource(database);
+    }
+
+    private static List<String> versions(String vendor) throws IOException {
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/" + vendor + "/V*__*.sql");
+        return Arrays.stream(scripts).map(script -> script.getFilename().substring(1, script.getFilename().indexOf("__")))
+            .sorted(Comparator.comparingInt(Integer::parseInt))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("JUnit test for every database having the same migration versions")
+    public void givenMigrationScripts_whenListVersions_thenSameForEveryDatabase() throws Exception {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        List<String> h2 = versions("h2");
+
+        // then - verify the output
+        Assertions.assertThat(h2).isEqualTo(versions("mysql")).startsWith("1", "2", "3", "4");
+    }
+
+    @Test
+    @DisplayName("JUnit test for migrating an empty database")
+    public void givenEmptyDatabase_whenMigrate_thenApplyAllMigrationsOnce() throws Exception {
+        // given - precondition or setup
+        int available = versions("h2").size();
+
+        // when - action or the behaviour that we are going to test
+        int applied = strategy.migrate(flyway());
+        int appliedAgain = strategy.migrate(flyway());
+
+        // then - verify the output
+        Assertions.assertThat(applied).isEqualTo(available);
+        Assertions.assertThat(appliedAgain).isZero();
+        Assertions.assertThat(jdbcTemplate.queryForObject("select count(*) from employees", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("JUnit test for baselining a database created by Hibernate before the schema was versioned")
+    public void givenBaselineSchemaWithoutHistory_whenMigrate_thenBaselineAndApplyLaterMigrations() throws Exception {
+        // given - precondition or setup
+        jdbcTemplate.execute("create table employees (id bigint generated by default as identity, email varchar(255) not null,"
+            + " first_name varchar(255) not null, last_name varchar(255) not null, primary key (id))");
+        jdbcTemplate.update("insert into employees (email, first_name, last_name) values ('ramesh@gmail.com', 'Ramesh', 'Fadatare')");
+
+        // when - action or the behaviour that we are going to test
+        int applied = strategy.migrate(flyway());
+
+        // then - verify the output
+        Assertions.assertThat(applied).isEqualTo(versions("h2").size() - 1);
+        Assertions.assertThat(jdbcTemplate.queryForObject("select count(*) from employees", Integer.class)).isEqualTo(1);
+        Assertions.assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from information_schema.indexes where index_name = 'IDX_EMPLOYEES_TENANT_EMAIL'", Integer.class)).isPositive();
+        Assertions.assertThat(jdbcTemplate.queryForObject("select tenant_id from employees where id = 1", String.class)).isEqualTo("default");
+        Assertions.assertThat(jdbcTemplate.queryForObject("select status from employees where id = 1", String.class)).isEqualTo("ACTIVE");
+    }
+
+    @Test
+    @DisplayName("JUnit test for refusing to baseline a schema with tables of later versions")
+    public void givenLaterSchemaWithoutHistory_whenMigrate_thenThrowsException() {
+        // given - precondition or setup
+        new ResourceDatabasePopulator(
+            new ClassPathResource("db/migration/h2/V1__baseline.sql"),
+            new ClassPathResource("db/migration/h2/V4__employee_outbox.sql")).execute(database);
+
+        // when - action or the behaviour that we are going to test
+
+        // then - verify the output
+        Assertions.assertThatThrownBy(() -> strategy.migrate(flyway()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("employee_outbox");
+    }
+
+    @Test
+    @DisplayName("JUnit test for refusing to start when an applied migration was changed")
+    public void givenChangedMigration_whenMigrate_thenThrowsException() {
+        // given - precondition or setup
+        strategy.migrate(flyway());
+        jdbcTemplate.update("update \"flyway_schema_history\" set \"checksum\" = \"checksum\" + 1 where \"version\" = '2'");
+
+        // when - action or the behaviour that we are going to test
+
+        // then - verify the output
+        Assertions.assertThatThrownBy(() -> strategy.migrate(flyway()))
+            .isInstanceOf(FlywayException.class)
+            .hasMessageContaining("2");
+    }
+}
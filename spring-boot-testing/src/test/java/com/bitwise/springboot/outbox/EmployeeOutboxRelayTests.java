@@ -0,0 +1,96 @@
+package com.bitwise.springboot.outbox;
+
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import com.bitwise.springboot.repository.EmployeeOutboxRepository;
+import com.bitwise.springboot.shard.Shards;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeOutboxRelayTests {
+
+    @Mock
+    private EmployeeOutboxRepository outboxRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private InMemoryEmployeeEventPublisher eventPublisher;
+
+    private EmployeeOutboxRelay outboxRelay;
+
+    @BeforeEach
+    public void setup() {
+        eventPublisher = new InMemoryEmployeeEventPublisher(100);
+        outboxRelay = new EmployeeOutboxRelay(outboxRepository, eventPublisher, transactionTemplate, Shards.single(), 2, Duration.ofDays(7));
+    }
+
+    private EmployeeOutboxEvent event(long seq) {
+        return EmployeeOutboxEvent.builder()
+            .seq(seq)
+            .type(EmployeeChangedEvent.Type.CREATED)
+            .employeeId(seq)
+            .createdAt(Instant.now())
+            .build();
+    }
+
+    @Test
+    @DisplayName("JUnit test for relaying unpublished events in batches")
+    @SuppressWarnings("unchecked")
+    public void givenUnpublishedEvents_whenRelay_thenPublishAndMarkThemInBatches() {
+        // given - precondition or setup
+        willAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+        given(outboxRepository.findByPublishedAtIsNullOrderBySeqAsc(any(Pageable.class)))
+            .willReturn(List.of(event(1), event(2)))
+            .willReturn(List.of(event(3)));
+
+        // when - action or the behaviour that we are going to test
+        outboxRelay.relay();
+
+        // then - verify the output
+        Assertions.assertThat(eventPublisher.getPublished())
+            .extracting(EmployeeOutboxEvent::getSeq)
+            .containsExactly(1L, 2L, 3L);
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), any(Instant.class));
+        verify(outboxRepository).markPublished(eq(List.of(3L)), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("JUnit test for events staying unpublished when the publisher fails")
+    public void givenFailingPublisher_whenRelayBatch_thenDoNotMarkEventsPublished() {
+        // given - precondition or setup
+        EmployeeEventPublisher failingPublisher = events -> {
+            throw new IllegalStateException("Broker down");
+        };
+        outboxRelay = new EmployeeOutboxRelay(outboxRepository, failingPublisher, transactionTemplate, Shards.single(), 2, Duration.ofDays(7));
+        given(outboxRepository.findByPublishedAtIsNullOrderBySeqAsc(any(Pageable.class)))
+            .willReturn(List.of(event(1)));
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThatThrownBy(() -> outboxRelay.relayBatch()).isInstanceOf(IllegalStateException.class);
+
+        // then - verify the output
+        verify(outboxRepository, never()).markPublished(any(), any());
+    }
+}
@@ -1,22 +1,33 @@
 package com.bitwise.springboot.repository;
 
+import com.bitwise.springboot.config.IdGenerationConfig;
+import com.bitwise.springboot.config.SchemaMigrationConfig;
+import com.bitwise.springboot.hibernate.RequestStatisticsAssertions;
 import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeStatus;
+import com.bitwise.springboot.shard.Shards;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 
 import java.util.List;
 import java.util.Optional;
 
 @DataJpaTest
+@Import({IdGenerationConfig.class, Shards.class, SchemaMigrationConfig.class})
 public class EmployeeRepositoryTests {
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Employee employee;
 
     @BeforeEach
@@ -172,4 +183,59 @@ public class EmployeeRepositoryTests {
         // then - verify the output
         Assertions.assertThat(savedEmployee).isNotNull();
     }
+
+    @Test
+    @DisplayName("JUnit test for archive employee operation")
+    public void givenEmployee_whenArchiveById_thenHideEmployeeFromQueries() {
+        // given - precondition or setup
+        employeeRepository.save(employee);
+
+        // when - action or the behaviour that we are going to test
+        int archived = employeeRepository.archiveById(employee.getId());
+
+        // then - verify the output
+        Assertions.assertThat(archived).isEqualTo(1);
+        Assertions.assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+        Assertions.assertThat(employeeRepository.findByEmail(employee.getEmail())).isEmpty();
+        Assertions.assertThat(employeeRepository.findByJPQL(employee.getFirstName(), employee.getLastName())).isNull();
+        Assertions.assertThat(employeeRepository.findByNativeSQL(employee.getFirstName(), employee.getLastName())).isNull();
+        Assertions.assertThat(employeeRepository.findAll()).isEmpty();
+        Assertions.assertThat(employeeRepository.findArchived(10))
+            .extracting(Employee::getStatus)
+            .containsExactly(EmployeeStatus.ARCHIVED);
+    }
+
+    @Test
+    @DisplayName("JUnit test for inserting several employees with one batched statement")
+    public void givenEmployees_whenSaveAllAndFlush_thenRunOneStatement() throws Throwable {
+        // given - precondition or setup
+        List<Employee> employees = List.of(employee,
+            Employee.builder().firstName("John").lastName("Cena").email("john.cena@gmail.com").build(),
+            Employee.builder().firstName("Tony").lastName("Stark").email("tony.stark@gmail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        // then - verify the output
+        RequestStatisticsAssertions.assertStatementCount(1, () -> {
+            employeeRepository.saveAll(employees);
+            entityManager.flush();
+            return null;
+        });
+    }
+
+    @Test
+    @DisplayName("JUnit test for loading several employees by id with one query")
+    public void givenEmployees_whenFindAllById_thenRunOneQuery() throws Throwable {
+        // given - precondition or setup
+        Employee employee2 = Employee.builder().firstName("John").lastName("Cena").email("john.cena@gmail.com").build();
+        employeeRepository.saveAll(List.of(employee, employee2));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> employees = RequestStatisticsAssertions.assertStatementCount(1,
+            () -> employeeRepository.findAllById(List.of(employee.getId(), employee2.getId())));
+
+        // then - verify the output
+        Assertions.assertThat(employees).hasSize(2);
+    }
 }
@@ -0,0 +1,102 @@
+package com.bitwise.springboot.search;
+
+import com.bitwise.springboot.model.Employee;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class EmployeeSearchIndexTests {
+
+    private EmployeeSearchIndex searchIndex;
+
+    @BeforeEach
+    public void setup() {
+        searchIndex = new EmployeeSearchIndex(null);
+
+        searchIndex.index(Employee.builder()
+            .id(1L)
+            .firstName("Ramesh")
+            .lastName("Fadatare")
+            .email("ramesh.fadatare@gmail.com")
+            .build());
+        searchIndex.index(Employee.builder()
+            .id(2L)
+            .firstName("Tony")
+            .lastName("Stark")
+            .email("tony.stark@gmail.com")
+            .build());
+        searchIndex.index(Employee.builder()
+            .id(3L)
+            .firstName("Rameshwar")
+            .lastName("Singh")
+            .email("rsingh@yahoo.com")
+            .build());
+        searchIndex.refresh();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        searchIndex.close();
+    }
+
+    private List<Long> search(String text) {
+        return searchIndex.search(text, 10).stream().map(EmployeeSearchIndex.Hit::id).toList();
+    }
+
+    @Test
+    @DisplayName("JUnit test for exact matches ranked before prefix matches")
+    public void givenExactName_whenSearch_thenRankExactMatchFirst() {
+        Assertions.assertThat(search("ramesh")).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for prefix search")
+    public void givenNamePrefix_whenSearch_thenReturnMatchingEmployees() {
+        Assertions.assertThat(search("Sta")).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for typo tolerant search")
+    public void givenMisspelledName_whenSearch_thenReturnClosestEmployee() {
+        Assertions.assertThat(search("Fadatrae")).containsExactly(1L);
+        Assertions.assertThat(search("tonny")).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for substring search")
+    public void givenSubstring_whenSearch_thenReturnEmployeesContainingIt() {
+        Assertions.assertThat(search("datar")).containsExactly(1L);
+        Assertions.assertThat(search("yahoo")).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for every token having to match")
+    public void givenSeveralTokens_whenSearch_thenReturnEmployeesMatchingAll() {
+        Assertions.assertThat(search("ramesh singh")).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for updated and deleted employees")
+    public void givenUpdatedAndDeletedEmployees_whenSearch_thenReflectChangesAfterRefresh() {
+        // given - precondition or setup
+        searchIndex.index(Employee.builder()
+            .id(2L)
+            .firstName("Anthony")
+            .lastName("Stark")
+            .email("anthony.stark@gmail.com")
+            .build());
+        searchIndex.delete(3L);
+
+        // when - action or the behaviour that we are going to test
+        searchIndex.refresh();
+
+        // then - verify the output
+        Assertions.assertThat(search("anthony")).containsExactly(2L);
+        Assertions.assertThat(search("singh")).isEmpty();
+        Assertions.assertThat(searchIndex.count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,135 @@
+package com.bitwise.springboot.search;
+
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.service.EmployeeChangeService;
+import com.bitwise.springboot.service.EmployeeService;
+import com.bitwise.springboot.shard.Shards;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSearchServiceTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeChangeService employeeChangeService;
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private EmployeeSearchIndex searchIndex;
+
+    private EmployeeSearchService employeeSearchService;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        searchIndex = new EmployeeSearchIndex(null);
+        employeeSearchService = new EmployeeSearchService(searchIndex, employeeService, employeeRepository,
+            employeeChangeService, objectMapper, Shards.single(), 2);
+
+        employee = Employee.builder()
+            .id(1L)
+            .firstName("Ramesh")
+            .lastName("Fadatare")
+            .email("ramesh.fadatare@gmail.com")
+            .build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        searchIndex.close();
+    }
+
+    private List<Long> search(String text) {
+        searchIndex.refresh();
+        return searchIndex.search(text, 10).stream().map(EmployeeSearchIndex.Hit::id).toList();
+    }
+
+    @Test
+    @DisplayName("JUnit test for changes of other instances indexed from the outbox")
+    public void givenOutboxChangesOfOtherInstances_whenSync_thenIndexThem() throws Exception {
+        // given - precondition or setup
+        Employee tony = Employee.builder().id(2L).firstName("Tony").lastName("Stark").email("tony.stark@gmail.com").build();
+        given(employeeChangeService.getLastVisibleSeq(0)).willReturn(5L);
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(eq(Long.MIN_VALUE), any())).willReturn(List.of(employee));
+        given(employeeChangeService.getChangesSince(eq(0), anyLong(), eq(2))).willReturn(
+            List.of(),
+            List.of(EmployeeOutboxEvent.builder().seq(6L).type(EmployeeChangedEvent.Type.CREATED).employeeId(2L)
+                    .payload(objectMapper.writeValueAsString(tony)).build(),
+                EmployeeOutboxEvent.builder().seq(7L).type(EmployeeChangedEvent.Type.DELETED).employeeId(1L).build()),
+            List.of());
+        employeeSearchService.rebuildIfStale();
+        Assertions.assertThat(search("ramesh")).containsExactly(1L);
+
+        // when - action or the behaviour that we are going to test
+        employeeSearchService.sync();
+        employeeSearchService.commit();
+
+        // then - verify the output
+        Assertions.assertThat(search("ramesh")).isEmpty();
+        Assertions.assertThat(search("tony")).containsExactly(2L);
+        verify(employeeChangeService, times(2)).getChangesSince(0, 5L, 2);
+        verify(employeeChangeService).getChangesSince(0, 7L, 2);
+        Assertions.assertThat(searchIndex.getCommitData()).containsEntry("outbox.seq.0", "7");
+    }
+
+    @Test
+    @DisplayName("JUnit test for an index in sync with the outbox resuming without a rebuild")
+    public void givenIndexCommittedWithOutboxPosition_whenRebuildIfStale_thenResumeFromIt() {
+        // given - precondition or setup
+        searchIndex.index(employee);
+        searchIndex.commit(Map.of("outbox.seq.0", "7"));
+        given(employeeChangeService.getFirstSeq(0)).willReturn(Optional.of(3L));
+
+        // when - action or the behaviour that we are going to test
+        employeeSearchService.rebuildIfStale();
+
+        // then - verify the output
+        verify(employeeChangeService).getChangesSince(0, 7L, 2);
+        verify(employeeRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+        Assertions.assertThat(search("ramesh")).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for an index behind the purged outbox being rebuilt")
+    public void givenIndexBehindPurgedOutbox_whenRebuildIfStale_thenRebuild() {
+        // given - precondition or setup
+        searchIndex.commit(Map.of("outbox.seq.0", "7"));
+        given(employeeChangeService.getFirstSeq(0)).willReturn(Optional.of(20L));
+        given(employeeChangeService.getLastVisibleSeq(0)).willReturn(25L);
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(eq(Long.MIN_VALUE), any())).willReturn(List.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        employeeSearchService.rebuildIfStale();
+
+        // then - verify the output
+        verify(employeeChangeService).getChangesSince(0, 25L, 2);
+        Assertions.assertThat(search("ramesh")).containsExactly(1L);
+    }
+}
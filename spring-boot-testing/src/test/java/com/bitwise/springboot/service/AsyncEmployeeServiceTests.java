@@ -0,0 +1,136 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.exception.DuplicateEmailException;
+import com.bitwise.springboot.exception.ServiceOverloadedException;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncEmployeeServiceTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private ObjectProvider<ObservationRegistry> observationRegistry;
+
+    private AsyncEmployeeServiceImpl asyncEmployeeService;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        asyncEmployeeService = new AsyncEmployeeServiceImpl(employeeService, observationRegistry, 2, 1, true);
+
+        employee = Employee.builder()
+            .id(1L)
+            .firstName("Ramesh")
+            .lastName("Fadatare")
+            .email("ramesh.fadatare@gmail.com")
+            .build();
+    }
+
+    @AfterEach
+    public void close() {
+        asyncEmployeeService.close();
+    }
+
+    @Test
+    @DisplayName("JUnit test for async get employee by id method running in the caller's tenant")
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeOfCallerTenant() throws Exception {
+        // given - precondition or setup
+        given(employeeService.getEmployeeById(1L))
+            .willAnswer(invocation -> "acme".equals(TenantContext.current()) ? Optional.of(employee) : Optional.empty());
+
+        // when - action or the behaviour that we are going to test
+        CompletableFuture<Optional<Employee>> savedEmployee;
+        try (TenantContext.Scope scope = TenantContext.enter("acme")) {
+            savedEmployee = asyncEmployeeService.getEmployeeById(1L);
+        }
+
+        // then - verify the output
+        Assertions.assertThat(savedEmployee.get()).contains(employee);
+    }
+
+    @Test
+    @DisplayName("JUnit test for async save employee method which fails with the service's exception")
+    public void givenEmployeeWithExistingEmail_whenSaveEmployee_thenCompleteExceptionally() {
+        // given - precondition or setup
+        willThrow(new DuplicateEmailException(employee.getEmail())).given(employeeService).saveEmployee(employee);
+
+        // when - action or the behaviour that we are going to test
+        ExecutionException exception =
+            assertThrows(ExecutionException.class, () -> asyncEmployeeService.saveEmployee(employee).get());
+
+        // then - verify the output
+        Assertions.assertThat(exception.getCause()).isInstanceOf(DuplicateEmailException.class);
+    }
+
+    @Test
+    @DisplayName("JUnit test for async batch get method fanning out chunks")
+    public void givenManyIds_whenGetEmployeesByIds_thenLookUpChunksConcurrentlyInOrder() throws Exception {
+        // given - precondition or setup
+        asyncEmployeeService.setBatchGetChunkSize(2);
+        List<Long> ids = LongStream.rangeClosed(1, 4).boxed().toList();
+        given(employeeService.getEmployeesByIds(anyList())).willAnswer(invocation -> invocation.<List<Long>>getArgument(0).stream()
+            .map(id -> EmployeeLookupResult.found(employee.toBuilder().id(id).build()))
+            .toList());
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeLookupResult> results = asyncEmployeeService.getEmployeesByIds(ids).get();
+
+        // then - verify the output
+        Assertions.assertThat(results).extracting(EmployeeLookupResult::getId).containsExactly(1L, 2L, 3L, 4L);
+        verify(employeeService, times(2)).getEmployeesByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("JUnit test for async calls rejected when the executor is full")
+    public void givenBusyExecutor_whenUpdateEmployee_thenFailWithServiceOverloaded() throws Exception {
+        // given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        given(employeeService.updateEmployee(any(Employee.class))).willAnswer(invocation -> {
+            release.await();
+            return invocation.getArgument(0);
+        });
+        List<CompletableFuture<Employee>> running = List.of(asyncEmployeeService.updateEmployee(employee),
+            asyncEmployeeService.updateEmployee(employee), asyncEmployeeService.updateEmployee(employee));
+
+        // when - action or the behaviour that we are going to test
+        CompletableFuture<Employee> rejected = asyncEmployeeService.updateEmployee(employee);
+        release.countDown();
+
+        // then - verify the output
+        ExecutionException exception = assertThrows(ExecutionException.class, rejected::get);
+        Assertions.assertThat(exception.getCause()).isInstanceOf(ServiceOverloadedException.class);
+        for (CompletableFuture<Employee> call : running) {
+            Assertions.assertThat(call.get()).isEqualTo(employee);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.config.IdGenerationConfig;
+import com.bitwise.springboot.config.SchemaMigrationConfig;
+import com.bitwise.springboot.model.ArchivedEmployee;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.repository.ArchivedEmployeeRepository;
+import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.shard.Shards;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+@DataJpaTest(properties = "employee.archive.batch-size=2")
+@Import({EmployeeArchiver.class, IdGenerationConfig.class, Shards.class, SchemaMigrationConfig.class})
+public class EmployeeArchiverTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ArchivedEmployeeRepository archivedEmployeeRepository;
+
+    @Autowired
+    private EmployeeArchiver employeeArchiver;
+
+    @Test
+    @DisplayName("JUnit test for moving archived employees to the archive table in batches")
+    public void givenArchivedEmployees_whenArchive_thenMoveThemToArchiveTable() {
+        // given - precondition or setup
+        List<Employee> employees = employeeRepository.saveAll(List.of(
+            Employee.builder().firstName("Ramesh").lastName("Fadatare").email("ramesh@gmail.com").build(),
+            Employee.builder().firstName("Tony").lastName("Stark").email("tony@gmail.com").build(),
+            Employee.builder().firstName("John").lastName("Cena").email("john@gmail.com").build(),
+            Employee.builder().firstName("Bruce").lastName("Wayne").email("bruce@gmail.com").build()));
+        employees.subList(0, 3).forEach(employee -> employeeRepository.archiveById(employee.getId()));
+
+        // when - action or the behaviour that we are going to test
+        employeeArchiver.archive();
+
+        // then - verify the output
+        Assertions.assertThat(employeeRepository.findArchived(10)).isEmpty();
+        Assertions.assertThat(employeeRepository.findAll())
+            .extracting(Employee::getEmail)
+            .containsExactly("bruce@gmail.com");
+        Assertions.assertThat(archivedEmployeeRepository.findAll())
+            .extracting(ArchivedEmployee::getId)
+            .containsExactlyInAnyOrderElementsOf(employees.subList(0, 3).stream().map(Employee::getId).toList());
+    }
+}
@@ -0,0 +1,93 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.model.Employee;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeCacheTests {
+
+    private EmployeeCache employeeCache;
+
+    @BeforeEach
+    public void setup() {
+        employeeCache = new EmployeeCache();
+        employeeCache.setMaxSize(4);
+    }
+
+    private static Employee employee(long id, String tenantId) {
+        return Employee.builder().id(id).tenantId(tenantId)
+            .firstName("Ramesh").lastName("Fadatare").email("ramesh" + id + "@gmail.com").build();
+    }
+
+    @Test
+    @DisplayName("JUnit test for an employee cached for its own tenant only")
+    public void givenCachedEmployee_whenGetAsOtherTenant_thenMiss() {
+        // given - precondition or setup
+        employeeCache.put(employee(1L, "acme"), employeeCache.generation());
+
+        // when - action or the behaviour that we are going to test
+        Employee otherTenant = employeeCache.get("globex", 1L);
+
+        // then - verify the output
+        Assertions.assertThat(otherTenant).isNull();
+        Assertions.assertThat(employeeCache.get("acme", 1L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("JUnit test for a tenant filling the cache not evicting another tenant's fair share")
+    public void givenTenantFillingCache_whenPut_thenEvictFromLargestPartition() {
+        // given - precondition or setup
+        employeeCache.put(employee(1L, "globex"), employeeCache.generation());
+        employeeCache.put(employee(2L, "globex"), employeeCache.generation());
+
+        // when - action or the behaviour that we are going to test
+        for (long id = 10; id < 20; id++) {
+            employeeCache.put(employee(id, "acme"), employeeCache.generation());
+        }
+
+        // then - verify the output
+        Assertions.assertThat(employeeCache.size()).isEqualTo(4);
+        Assertions.assertThat(employeeCache.size("globex")).isEqualTo(2);
+        Assertions.assertThat(employeeCache.size("acme")).isEqualTo(2);
+        Assertions.assertThat(employeeCache.get("globex", 1L)).isNotNull();
+        Assertions.assertThat(employeeCache.get("acme", 19L)).isNotNull();
+        Assertions.assertThat(employeeCache.get("acme", 10L)).isNull();
+    }
+
+    @Test
+    @DisplayName("JUnit test for an employee loaded before an invalidation not cached")
+    public void givenLoadStartedBeforeInvalidation_whenPut_thenDropStaleEmployee() {
+        // given - precondition or setup
+        long generation = employeeCache.generation();
+
+        // when - action or the behaviour that we are going to test
+        employeeCache.invalidate(1L);
+        employeeCache.put(employee(1L, "acme"), generation);
+
+        // then - verify the output
+        Assertions.assertThat(employeeCache.get("acme", 1L)).isNull();
+        Assertions.assertThat(employeeCache.getStalePuts()).isEqualTo(1);
+        employeeCache.put(employee(1L, "acme"), employeeCache.generation());
+        Assertions.assertThat(employeeCache.get("acme", 1L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("JUnit test for puts older than the forgotten invalidations dropped")
+    public void givenManyInvalidations_whenPutWithOldGeneration_thenDropEmployee() {
+        // given - precondition or setup
+        long generation = employeeCache.generation();
+
+        // when - action or the behaviour that we are going to test
+        for (long id = 100; id < 2100; id++) {
+            employeeCache.invalidate(id);
+        }
+        employeeCache.put(employee(1L, "acme"), generation);
+
+        // then - verify the output
+        Assertions.assertThat(employeeCache.get("acme", 1L)).isNull();
+        employeeCache.put(employee(1L, "acme"), employeeCache.generation());
+        Assertions.assertThat(employeeCache.get("acme", 1L)).isNotNull();
+    }
+}
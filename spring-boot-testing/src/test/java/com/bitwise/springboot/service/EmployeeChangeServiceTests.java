@@ -0,0 +1,103 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.model.EmployeeOutboxEvent;
+import com.bitwise.springboot.repository.EmployeeOutboxRepository;
+import com.bitwise.springboot.shard.Shards;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeChangeServiceTests {
+
+    @Mock
+    private EmployeeOutboxRepository outboxRepository;
+
+    private JpaTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setup() {
+        transactionManager = new JpaTransactionManager();
+        transactionManager.setDefaultTimeout(5);
+    }
+
+    @Test
+    @DisplayName("JUnit test for a visibility delay longer than the transaction timeout")
+    public void givenDelayLongerThanTransactionTimeout_whenCreateService_thenAccept() {
+        Assertions.assertThatCode(() -> new EmployeeChangeService(outboxRepository, Shards.single(), transactionManager,
+            Duration.ofSeconds(15))).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("JUnit test for a tenant reading only the changes of its own employees")
+    public void givenTenant_whenGetChangesSince_thenReadOnlyItsChanges() {
+        // given - precondition or setup
+        EmployeeChangeService employeeChangeService = new EmployeeChangeService(outboxRepository, Shards.single(),
+            transactionManager, Duration.ofSeconds(15));
+        EmployeeOutboxEvent change = EmployeeOutboxEvent.builder().seq(6L).employeeId(1L).tenantId("globex").build();
+        given(outboxRepository.findByTenantIdAndSeqGreaterThanAndCreatedAtBeforeOrderBySeqAsc(
+            eq("globex"), eq(5L), any(Instant.class), any(Pageable.class))).willReturn(List.of(change));
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeOutboxEvent> changes;
+        try (TenantContext.Scope scope = TenantContext.enter("globex")) {
+            changes = employeeChangeService.getChangesSince(0, 5L, 100);
+        }
+
+        // then - verify the output
+        Assertions.assertThat(changes).containsExactly(change);
+        verify(outboxRepository, never()).findBySeqGreaterThanAndCreatedAtBeforeOrderBySeqAsc(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for the root tenant reading the changes of all tenants")
+    public void givenRootTenant_whenGetChangesSince_thenReadAllChanges() {
+        // given - precondition or setup
+        EmployeeChangeService employeeChangeService = new EmployeeChangeService(outboxRepository, Shards.single(),
+            transactionManager, Duration.ofSeconds(15));
+
+        // when - action or the behaviour that we are going to test
+        try (TenantContext.Scope scope = TenantContext.enter(TenantContext.ROOT)) {
+            employeeChangeService.getChangesSince(0, 5L, 100);
+        }
+
+        // then - verify the output
+        verify(outboxRepository).findBySeqGreaterThanAndCreatedAtBeforeOrderBySeqAsc(eq(5L), any(Instant.class), any(Pageable.class));
+        verify(outboxRepository, never()).findByTenantIdAndSeqGreaterThanAndCreatedAtBeforeOrderBySeqAsc(
+            any(), anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for a visibility delay a transaction can outlast")
+    public void givenDelayShorterThanTransactionTimeout_whenCreateService_thenThrowsException() {
+        Assertions.assertThatThrownBy(() -> new EmployeeChangeService(outboxRepository, Shards.single(), transactionManager,
+                Duration.ofSeconds(1)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("JUnit test for transactions without a timeout")
+    public void givenNoTransactionTimeout_whenCreateService_thenThrowsException() {
+        Assertions.assertThatThrownBy(() -> new EmployeeChangeService(outboxRepository, Shards.single(),
+                new JpaTransactionManager(), Duration.ofSeconds(15)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.shard.Shards;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeEmailFilterTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private EmployeeEmailFilter emailFilter;
+
+    private Employee ramesh;
+
+    @BeforeEach
+    public void setup() {
+        emailFilter = new EmployeeEmailFilter(employeeRepository, Shards.single(), 0.01, 1000, 2);
+
+        ramesh = Employee.builder().id(1L).tenantId(TenantContext.DEFAULT)
+            .firstName("Ramesh").lastName("Fadatare").email("ramesh.fadatare@gmail.com").build();
+    }
+
+    @Test
+    @DisplayName("JUnit test for email filter answers after a rebuild and a create")
+    public void givenRebuiltFilter_whenMightExist_thenRuleOutUnknownEmails() {
+        // given - precondition or setup
+        Employee tony = Employee.builder().id(2L).tenantId(TenantContext.DEFAULT)
+            .firstName("Tony").lastName("Stark").email("tony.stark@gmail.com").build();
+        given(employeeRepository.count()).willReturn(2L);
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+            .willReturn(List.of(ramesh, tony), List.of());
+        Assertions.assertThat(emailFilter.mightExist(TenantContext.DEFAULT, "john@gmail.com")).isTrue();
+
+        // when - action or the behaviour that we are going to test
+        emailFilter.rebuild();
+        emailFilter.onEmployeeChanged(EmployeeChangedEvent.created(ramesh.toBuilder().id(3L).email("john@gmail.com").build()));
+
+        // then - verify the output
+        Assertions.assertThat(emailFilter.mightExist(TenantContext.DEFAULT, "Ramesh.Fadatare@gmail.com")).isTrue();
+        Assertions.assertThat(emailFilter.mightExist(TenantContext.DEFAULT, "john@gmail.com")).isTrue();
+        Assertions.assertThat(emailFilter.mightExist("acme", "tony.stark@gmail.com")).isFalse();
+        Assertions.assertThat(emailFilter.getEmails()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("JUnit test for email filter false positive rate staying near the target")
+    public void givenFullFilter_whenMightExistForNewEmails_thenFalsePositiveRateNearTarget() {
+        // given - precondition or setup
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).willReturn(List.of());
+        emailFilter.rebuild();
+        IntStream.range(0, 1000).forEach(i -> emailFilter.add(TenantContext.DEFAULT, "employee" + i + "@gmail.com"));
+
+        // when - action or the behaviour that we are going to test
+        long maybe = IntStream.range(0, 10_000)
+            .filter(i -> emailFilter.mightExist(TenantContext.DEFAULT, "candidate" + i + "@gmail.com"))
+            .count();
+
+        // then - verify the output
+        Assertions.assertThat(maybe).isLessThan(250);
+        Assertions.assertThat(emailFilter.getExpectedFalsePositiveRate()).isBetween(0.005, 0.02);
+        Assertions.assertThat(emailFilter.getSizeInBytes()).isLessThan(2048);
+    }
+
+    @Test
+    @DisplayName("JUnit test for save employee method skipping the lookup of an unknown email")
+    public void givenEmailUnknownToFilter_whenSaveEmployee_thenSkipLookup() {
+        // given - precondition or setup
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).willReturn(List.of());
+        emailFilter.rebuild();
+        EmployeeServiceImpl employeeService = new EmployeeServiceImpl(employeeRepository, eventPublisher);
+        employeeService.setEmailFilter(emailFilter);
+        given(employeeRepository.save(ramesh)).willReturn(ramesh);
+
+        // when - action or the behaviour that we are going to test
+        Employee savedEmployee = employeeService.saveEmployee(ramesh);
+
+        // then - verify the output
+        Assertions.assertThat(savedEmployee).isEqualTo(ramesh);
+        verify(employeeRepository, never()).findByEmail(any());
+        Assertions.assertThat(emailFilter.getAbsent()).isEqualTo(1);
+        employeeService.close();
+    }
+}
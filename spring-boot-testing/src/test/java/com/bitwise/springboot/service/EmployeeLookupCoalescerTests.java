@@ -0,0 +1,253 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeLookupCoalescerTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeLookupCoalescer employeeLookups;
+
+    private ExecutorService clients;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employeeLookups = new EmployeeLookupCoalescer(employeeRepository);
+        clients = Executors.newFixedThreadPool(8);
+
+        employee = Employee.builder()
+            .id(1L)
+            .firstName("Ramesh")
+            .lastName("Fadatare")
+            .email("ramesh.fadatare@gmail.com")
+            .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        clients.shutdownNow();
+        employeeLookups.close();
+    }
+
+    @Test
+    @DisplayName("JUnit test for concurrent lookups of the same id sharing one query")
+    public void givenConcurrentLookupsOfSameId_whenFindById_thenQueryDatabaseOnce() throws Exception {
+        // given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        given(employeeRepository.findById(1L)).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+
+        // when - action or the behaviour that we are going to test
+        Future<Optional<Employee>> leader = clients.submit(() -> employeeLookups.findById(1L));
+        verify(employeeRepository, timeout(1000)).findById(1L);
+        List<Future<Optional<Employee>>> followers = List.of(
+            clients.submit(() -> employeeLookups.findById(1L)),
+            clients.submit(() -> employeeLookups.findById(1L)),
+            clients.submit(() -> employeeLookups.findById(1L)));
+        while (employeeLookups.getLookups() < 4) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // then - verify the output
+        Assertions.assertThat(leader.get(5, TimeUnit.SECONDS)).get()
+            .isNotSameAs(employee)
+            .usingRecursiveComparison().isEqualTo(employee);
+        for (Future<Optional<Employee>> follower : followers) {
+            Assertions.assertThat(follower.get(5, TimeUnit.SECONDS)).get()
+                .isNotSameAs(employee)
+                .extracting(Employee::getEmail).isEqualTo(employee.getEmail());
+        }
+        verify(employeeRepository, times(1)).findById(1L);
+        Assertions.assertThat(employeeLookups.getSavedCalls()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("JUnit test for lookups of distinct ids batched into one query")
+    public void givenLookupsOfDistinctIdsWithinWindow_whenFindById_thenLoadThemWithOneQuery() throws Exception {
+        // given - precondition or setup
+        Employee employee2 = employee.toBuilder().id(2L).email("tony.stark@gmail.com").build();
+        given(employeeRepository.findAllById(anyIterable())).willReturn(List.of(employee, employee2));
+        employeeLookups.setBatchWindow(Duration.ofMillis(200));
+
+        // when - action or the behaviour that we are going to test
+        Future<Optional<Employee>> first = clients.submit(() -> employeeLookups.findById(1L));
+        Future<Optional<Employee>> second = clients.submit(() -> employeeLookups.findById(2L));
+        Future<Optional<Employee>> missing = clients.submit(() -> employeeLookups.findById(3L));
+
+        // then - verify the output
+        Assertions.assertThat(first.get(5, TimeUnit.SECONDS)).get().usingRecursiveComparison().isEqualTo(employee);
+        Assertions.assertThat(second.get(5, TimeUnit.SECONDS)).get().usingRecursiveComparison().isEqualTo(employee2);
+        Assertions.assertThat(missing.get(5, TimeUnit.SECONDS)).isEmpty();
+        verify(employeeRepository, times(1)).findAllById(anyIterable());
+        verify(employeeRepository, never()).findById(anyLong());
+        Assertions.assertThat(employeeLookups.getBatches()).isEqualTo(1);
+        Assertions.assertThat(employeeLookups.getLastBatchSaved()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("JUnit test for lookups of the same id in two tenants loaded separately")
+    public void givenLookupsOfSameIdInTwoTenants_whenFindById_thenLoadEachAsItsTenant() throws Exception {
+        // given - precondition or setup
+        Map<String, List<Long>> loadedIds = new ConcurrentHashMap<>();
+        given(employeeRepository.findAllById(anyIterable())).willAnswer(invocation -> {
+            List<Long> ids = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(ids::add);
+            loadedIds.put(TenantContext.current(), ids);
+            return TenantContext.current().equals("acme") ? List.of(employee) : List.of();
+        });
+        employeeLookups.setBatchWindow(Duration.ofMillis(200));
+
+        // when - action or the behaviour that we are going to test
+        Future<Optional<Employee>> acme = clients.submit(() -> {
+            try (TenantContext.Scope scope = TenantContext.enter("acme")) {
+                return employeeLookups.findById(1L);
+            }
+        });
+        Future<Optional<Employee>> globex = clients.submit(() -> {
+            try (TenantContext.Scope scope = TenantContext.enter("globex")) {
+                return employeeLookups.findById(1L);
+            }
+        });
+
+        // then - verify the output
+        Assertions.assertThat(acme.get(5, TimeUnit.SECONDS)).get().usingRecursiveComparison().isEqualTo(employee);
+        Assertions.assertThat(globex.get(5, TimeUnit.SECONDS)).isEmpty();
+        Assertions.assertThat(loadedIds).containsOnly(Map.entry("acme", List.of(1L)), Map.entry("globex", List.of(1L)));
+        Assertions.assertThat(employeeLookups.getSavedCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("JUnit test for a caller changing its employee while another one joins the lookup")
+    public void givenLeaderChangingItsEmployee_whenJoinerReadsSameLookup_thenJoinerSeesLoadedEmployee() throws Exception {
+        // given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        given(employeeRepository.findById(1L)).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+        Future<Employee> leader = clients.submit(() -> {
+            // Like the update endpoint, which changes what it looked up before saving it
+            Employee found = employeeLookups.findById(1L).get();
+            found.setFirstName("Ram");
+            found.setEmail("ram@gmail.com");
+            return found;
+        });
+        verify(employeeRepository, timeout(1000)).findById(1L);
+
+        // when - action or the behaviour that we are going to test
+        Future<Optional<Employee>> joiner = clients.submit(() -> employeeLookups.findById(1L));
+        while (employeeLookups.getLookups() < 2) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        Employee changed = leader.get(5, TimeUnit.SECONDS);
+        employee.setFirstName("Rahul");
+
+        // then - verify the output
+        Assertions.assertThat(changed).isNotSameAs(employee);
+        Assertions.assertThat(joiner.get(5, TimeUnit.SECONDS)).get()
+            .isNotSameAs(changed)
+            .extracting(Employee::getFirstName, Employee::getEmail)
+            .containsExactly("Ramesh", "ramesh.fadatare@gmail.com");
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for database errors reaching every caller")
+    public void givenDatabaseFailure_whenFindById_thenThrowException() {
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willThrow(new IllegalStateException("DB down"));
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThatThrownBy(() -> employeeLookups.findById(1L))
+            .isInstanceOf(IllegalStateException.class);
+
+        // then - verify the output
+        willReturn(Optional.of(employee)).given(employeeRepository).findById(1L);
+        Assertions.assertThat(employeeLookups.findById(1L)).isPresent();
+    }
+
+    @Test
+    @DisplayName("JUnit test for lookups after a committed change not joining an earlier lookup")
+    public void givenLookupInFlight_whenInvalidateAndFindById_thenQueryDatabaseAgain() throws Exception {
+        // given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        Employee updatedEmployee = employee.toBuilder().firstName("Ram").build();
+        given(employeeRepository.findById(1L)).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        }).willReturn(Optional.of(updatedEmployee));
+        Future<Optional<Employee>> staleLookup = clients.submit(() -> employeeLookups.findById(1L));
+        verify(employeeRepository, timeout(1000)).findById(1L);
+
+        // when - action or the behaviour that we are going to test
+        employeeLookups.invalidate(1L);
+        Optional<Employee> freshLookup = employeeLookups.findById(1L);
+        release.countDown();
+
+        // then - verify the output
+        Assertions.assertThat(freshLookup).get().usingRecursiveComparison().isEqualTo(updatedEmployee);
+        Assertions.assertThat(staleLookup.get(5, TimeUnit.SECONDS)).get().usingRecursiveComparison().isEqualTo(employee);
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for queued lookups failed when the coalescer is closed")
+    public void givenQueuedLookups_whenClose_thenFailWaitingCallers() throws Exception {
+        // given - precondition or setup
+        employeeLookups.setBatchWindow(Duration.ofMinutes(1));
+        Future<Optional<Employee>> first = clients.submit(() -> employeeLookups.findById(1L));
+        Future<Optional<Employee>> second = clients.submit(() -> employeeLookups.findById(1L));
+        while (employeeLookups.getLookups() < 2) {
+            Thread.onSpinWait();
+        }
+
+        // when - action or the behaviour that we are going to test
+        employeeLookups.close();
+
+        // then - verify the output
+        for (Future<Optional<Employee>> lookup : List.of(first, second)) {
+            Assertions.assertThatThrownBy(() -> lookup.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        Assertions.assertThatThrownBy(() -> employeeLookups.findById(1L))
+            .isInstanceOf(IllegalStateException.class);
+        verify(employeeRepository, never()).findAllById(anyIterable());
+    }
+}
@@ -1,23 +1,31 @@
 package com.bitwise.springboot.service;
 
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.exception.DuplicateEmailException;
 import com.bitwise.springboot.exception.ResourceNotFoundException;
 import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
 import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.tenant.TenantContext;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +37,9 @@ public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -74,10 +85,13 @@ public class EmployeeServiceTests {
             .willReturn(Optional.of(employee));
 
         // when - action or the behaviour that we are going to test
-        assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployee(employee));
+        DuplicateEmailException exception =
+            assertThrows(DuplicateEmailException.class, () -> employeeService.saveEmployee(employee));
 
         // then - verify the output
         verify(employeeRepository, never()).save(any(Employee.class));
+        Assertions.assertThat(exception.getEmail()).isEqualTo(employee.getEmail());
+        Assertions.assertThat(exception.getStackTrace()).isEmpty();
     }
 
     @Test
@@ -132,31 +146,198 @@ public class EmployeeServiceTests {
         Assertions.assertThat(savedEmployee.getId()).isEqualTo(1L);
     }
 
+    @Test
+    @DisplayName("JUnit test for get employees by ids in chunks")
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnResultsInRequestOrder() {
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+            .id(2L)
+            .firstName("Tony")
+            .lastName("Stark")
+            .email("tony.stark@gmail.com")
+            .build();
+
+        employeeService.setBatchGetChunkSize(2);
+        given(employeeRepository.findAllById(List.of(2L, 3L)))
+            .willReturn(List.of(employee1));
+        given(employeeRepository.findAllById(List.of(1L)))
+            .willReturn(List.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeLookupResult> results = employeeService.getEmployeesByIds(List.of(2L, 3L, 1L, 2L));
+
+        // then - verify the output
+        Assertions.assertThat(results).extracting(EmployeeLookupResult::getId).containsExactly(2L, 3L, 1L, 2L);
+        Assertions.assertThat(results).extracting(EmployeeLookupResult::isFound).containsExactly(true, false, true, true);
+        Assertions.assertThat(results.get(2).getEmployee()).isSameAs(employee);
+    }
+
     @Test
     @DisplayName("JUnit test for update employee")
     public void givenEmployee_whenUpdateEmployee_thenReturnUpdatedEmployee() {
         // given - precondition or setup
-        given(employeeRepository.save(employee))
-            .willReturn(employee);
-        employee.setFirstName("Ram");
+        given(employeeRepository.findById(1L))
+            .willReturn(Optional.of(employee));
+        Employee update = Employee.builder()
+            .id(1L)
+            .firstName("Ram")
+            .lastName("Jadhav")
+            .email("ram@gmail.com")
+            .build();
 
         // when - action or the behaviour that we are going to test
-        Employee updatedEmployee = employeeService.updateEmployee(employee);
+        Employee updatedEmployee = employeeService.updateEmployee(update);
 
         // then - verify the output
+        Assertions.assertThat(updatedEmployee).isSameAs(employee);
         Assertions.assertThat(updatedEmployee.getFirstName()).isEqualTo("Ram");
+        Assertions.assertThat(updatedEmployee.getLastName()).isEqualTo("Jadhav");
+        Assertions.assertThat(updatedEmployee.getEmail()).isEqualTo("ram@gmail.com");
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee with an unknown id")
+    public void givenUnknownEmployeeId_whenUpdateEmployee_thenThrowResourceNotFoundException() {
+        // given - precondition or setup
+        given(employeeRepository.findById(2L))
+            .willReturn(Optional.empty());
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThatThrownBy(() -> employeeService.updateEmployee(employee.toBuilder().id(2L).build()))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessage("Employee not found with id: 2");
+
+        // then - verify the output
+        verify(employeeRepository, never()).flush();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
     @DisplayName("JUnit test for delete employee")
     public void givenEmployeeId_whenDeleteEmployeeById_thenDeleteEmployee() {
         // given - precondition or setup
-        willDoNothing().given(employeeRepository).deleteById(1L);
+        given(employeeRepository.archiveById(1L))
+            .willReturn(1);
+
+        // when - action or the behaviour that we are going to test
+        employeeService.deleteEmployee(1L);
+
+        // then - verify the output
+        verify(employeeRepository, times(1)).archiveById(1L);
+        verify(employeeRepository, never()).deleteById(anyLong());
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employee with an unknown id")
+    public void givenUnknownEmployeeId_whenDeleteEmployeeById_thenThrowResourceNotFoundException() {
+        // given - precondition or setup
+        given(employeeRepository.archiveById(2L))
+            .willReturn(0);
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThatThrownBy(() -> employeeService.deleteEmployee(2L))
+            .isInstanceOf(ResourceNotFoundException.class)
+            .hasMessage("Employee not found with id: 2");
+
+        // then - verify the output
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("JUnit test for change events published by the write methods")
+    public void givenEmployee_whenSaveAndDeleteEmployee_thenPublishChangeEvents() {
+        // given - precondition or setup
+        given(employeeRepository.findByEmail(employee.getEmail()))
+            .willReturn(Optional.empty());
+        given(employeeRepository.save(employee))
+            .willReturn(employee);
+        given(employeeRepository.archiveById(1L))
+            .willReturn(1);
 
         // when - action or the behaviour that we are going to test
+        employeeService.saveEmployee(employee);
         employeeService.deleteEmployee(1L);
 
         // then - verify the output
-        verify(employeeRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(EmployeeChangedEvent.created(employee));
+        verify(eventPublisher).publishEvent(EmployeeChangedEvent.deleted(1L));
+    }
+
+    @Test
+    @DisplayName("JUnit test for save employee method rejected by the unique email index")
+    public void givenEmailTakenConcurrently_whenSaveEmployee_thenThrowException() {
+        // given - precondition or setup
+        given(employeeRepository.findByEmail(employee.getEmail()))
+            .willReturn(Optional.empty());
+        given(employeeRepository.save(employee))
+            .willReturn(employee);
+        willThrow(new DataIntegrityViolationException("could not execute statement",
+            new SQLException("Duplicate entry 'default-ramesh.fadatare@gmail.com' for key 'employees.uk_employees_tenant_active_email'")))
+            .given(employeeRepository).flush();
+
+        // when - action or the behaviour that we are going to test
+        DuplicateEmailException exception =
+            assertThrows(DuplicateEmailException.class, () -> employeeService.saveEmployee(employee));
+
+        // then - verify the output
+        Assertions.assertThat(exception.getEmail()).isEqualTo(employee.getEmail());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee method rejected by the unique email index")
+    public void givenEmailTakenByAnotherEmployee_whenUpdateEmployee_thenThrowException() {
+        // given - precondition or setup
+        given(employeeRepository.findById(1L))
+            .willReturn(Optional.of(employee));
+        willThrow(new DataIntegrityViolationException("could not execute statement",
+            new SQLException("Unique index or primary key violation: \"PUBLIC.UK_EMPLOYEES_TENANT_ACTIVE_EMAIL\"")))
+            .given(employeeRepository).flush();
+
+        // when - action or the behaviour that we are going to test
+        DuplicateEmailException exception =
+            assertThrows(DuplicateEmailException.class, () -> employeeService.updateEmployee(employee));
+
+        // then - verify the output
+        Assertions.assertThat(exception.getEmail()).isEqualTo(employee.getEmail());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee method failing on another constraint")
+    public void givenOtherConstraintViolated_whenUpdateEmployee_thenRethrowException() {
+        // given - precondition or setup
+        given(employeeRepository.findById(1L))
+            .willReturn(Optional.of(employee));
+        willThrow(new DataIntegrityViolationException("could not execute statement",
+            new SQLException("NULL not allowed for column \"FIRST_NAME\"")))
+            .given(employeeRepository).flush();
+
+        // when - action or the behaviour that we are going to test
+        assertThrows(DataIntegrityViolationException.class, () -> employeeService.updateEmployee(employee));
+
+        // then - verify the output
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employee by id method served from the cache until an update")
+    public void givenCachedEmployee_whenGetEmployeeById_thenSkipDatabaseUntilUpdated() {
+        // given - precondition or setup
+        employeeService.setCacheMaxSize(100);
+        employee.setTenantId(TenantContext.DEFAULT);
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+
+        // when - action or the behaviour that we are going to test
+        employeeService.getEmployeeById(1L).get().setEmail("changed@gmail.com");
+        Employee cachedEmployee = employeeService.getEmployeeById(1L).get();
+        employeeService.updateEmployee(employee);
+        employeeService.getEmployeeById(1L);
+
+        // then - verify the output
+        Assertions.assertThat(cachedEmployee.getEmail()).isEqualTo("ramesh.fadatare@gmail.com");
+        // The first lookup, the update's own load and the lookup after the update
+        verify(employeeRepository, times(3)).findById(1L);
     }
 }
@@ -0,0 +1,233 @@
+package com.bitwise.springboot.service;
+
+import com.bitwise.springboot.exception.DuplicateEmailException;
+import com.bitwise.springboot.exception.ResourceNotFoundException;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WriteBehindEmployeeServiceTests {
+
+    @Mock
+    private EmployeeServiceImpl employeeServiceImpl;
+
+    @TempDir
+    private Path journalDirectory;
+
+    private EmployeeUpdateJournal journal;
+
+    private WriteBehindEmployeeService employeeService;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        journal = new EmployeeUpdateJournal(journalDirectory.resolve("updates.journal"), false, new ObjectMapper());
+        employeeService = new WriteBehindEmployeeService(employeeServiceImpl, journal, 2);
+
+        employee = Employee.builder()
+            .id(1L)
+            .tenantId(TenantContext.DEFAULT)
+            .firstName("Ramesh")
+            .lastName("Fadatare")
+            .email("ramesh.fadatare@gmail.com")
+            .build();
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee acknowledged before reaching the database")
+    public void givenEmployee_whenUpdateEmployee_thenReadOwnWriteFromPendingBuffer() {
+        // given - precondition or setup
+        employee.setFirstName("Ram");
+
+        // when - action or the behaviour that we are going to test
+        employeeService.updateEmployee(employee);
+
+        // then - verify the output
+        verify(employeeServiceImpl, never()).updateEmployee(any(Employee.class));
+        verify(employeeServiceImpl, never()).getEmployeeById(anyLong());
+        Assertions.assertThat(employeeService.getEmployeeById(1L)).get()
+            .extracting(Employee::getFirstName).isEqualTo("Ram");
+    }
+
+    @Test
+    @DisplayName("JUnit test for flush coalescing updates of the same employee")
+    @SuppressWarnings("unchecked")
+    public void givenSeveralUpdatesOfSameEmployee_whenFlush_thenWriteLastUpdateOnly() {
+        // given - precondition or setup
+        employeeService.updateEmployee(employee.toBuilder().firstName("Ram").build());
+        employeeService.updateEmployee(employee.toBuilder().firstName("Rahul").build());
+        employeeService.updateEmployee(employee.toBuilder().id(2L).email("tony.stark@gmail.com").build());
+        employeeService.updateEmployee(employee.toBuilder().id(3L).email("john.cena@gmail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        employeeService.flush();
+
+        // then - verify the output
+        ArgumentCaptor<Collection<Employee>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(employeeServiceImpl, times(2)).updateEmployees(batches.capture());
+        Assertions.assertThat(batches.getAllValues()).flatMap(batch -> batch)
+            .hasSize(3)
+            .filteredOn(update -> update.getId() == 1L)
+            .extracting(Employee::getFirstName)
+            .containsExactly("Rahul");
+        Assertions.assertThat(employeeService.pendingCount()).isZero();
+        Assertions.assertThat(journal.replay()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("JUnit test for recovering pending updates from the journal")
+    public void givenJournaledUpdates_whenRecover_thenReplayPendingUpdates() throws Exception {
+        // given - precondition or setup
+        employeeService.updateEmployee(employee.toBuilder().firstName("Ram").build());
+        employeeService.updateEmployee(employee.toBuilder().id(2L).build());
+        employeeService.deleteEmployee(2L);
+        journal.close();
+
+        // when - action or the behaviour that we are going to test
+        WriteBehindEmployeeService restarted = new WriteBehindEmployeeService(employeeServiceImpl,
+            new EmployeeUpdateJournal(journalDirectory.resolve("updates.journal"), false, new ObjectMapper()), 2);
+        restarted.recover();
+        restarted.flush();
+
+        // then - verify the output
+        verify(employeeServiceImpl).updateEmployees(argThat(batch -> batch.size() == 1
+            && batch.iterator().next().getFirstName().equals("Ram")));
+    }
+
+    @Test
+    @DisplayName("JUnit test for failed flush keeping updates pending")
+    public void givenDatabaseFailure_whenFlush_thenKeepUpdatesPending() {
+        // given - precondition or setup
+        given(employeeServiceImpl.updateEmployees(anyCollection())).willThrow(new IllegalStateException("DB down"));
+        employeeService.updateEmployee(employee);
+
+        // when - action or the behaviour that we are going to test
+        employeeService.flush();
+
+        // then - verify the output
+        Assertions.assertThat(employeeService.pendingCount()).isEqualTo(1);
+        Assertions.assertThat(journal.replay()).containsOnlyKeys(1L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for get all employees overlaying pending updates")
+    public void givenPendingUpdate_whenGetAllEmployees_thenReturnPendingVersion() {
+        // given - precondition or setup
+        given(employeeServiceImpl.getAllEmployees()).willReturn(List.of(employee));
+        employeeService.updateEmployee(employee.toBuilder().lastName("Jadhav").build());
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        // then - verify the output
+        Assertions.assertThat(employees).extracting(Employee::getLastName).containsExactly("Jadhav");
+    }
+
+    @Test
+    @DisplayName("JUnit test for flush dropping the update the database rejects and writing the rest")
+    public void givenRejectedUpdateInBatch_whenFlush_thenWriteOthersOneByOneAndDropRejected() {
+        // given - precondition or setup
+        given(employeeServiceImpl.updateEmployees(anyCollection())).willAnswer(invocation -> {
+            Collection<Employee> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(update -> update.getId() == 2L)) {
+                throw new DataIntegrityViolationException("uk_employees_tenant_active_email");
+            }
+            return List.copyOf(batch);
+        });
+        employeeService.updateEmployee(employee.toBuilder().firstName("Ram").build());
+        employeeService.updateEmployee(employee.toBuilder().id(2L).email("tony.stark@gmail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        employeeService.flush();
+
+        // then - verify the output
+        verify(employeeServiceImpl).updateEmployees(argThat(batch -> batch.size() == 1
+            && batch.iterator().next().getId() == 1L));
+        Assertions.assertThat(employeeService.pendingCount()).isZero();
+        Assertions.assertThat(employeeService.getRejected()).isEqualTo(1);
+        Assertions.assertThat(journal.replay()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee refused when another pending update has the email")
+    public void givenEmailOfOtherPendingUpdate_whenUpdateEmployee_thenThrowsDuplicateEmailException() {
+        // given - precondition or setup
+        employeeService.updateEmployee(employee.toBuilder().id(3L).email("john.cena@gmail.com").build());
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThatThrownBy(() -> employeeService.updateEmployee(employee.toBuilder().email("John.Cena@gmail.com").build()))
+            .isInstanceOf(DuplicateEmailException.class);
+
+        // then - verify the output
+        Assertions.assertThat(employeeService.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee acknowledged without reading the database and rejected by the flush")
+    public void givenEmailTakenInDatabase_whenUpdateEmployeeAndFlush_thenAcknowledgeAndDropRejected() {
+        // given - precondition or setup
+        given(employeeServiceImpl.updateEmployees(anyCollection()))
+            .willThrow(new DuplicateEmailException("tony.stark@gmail.com"));
+
+        // when - action or the behaviour that we are going to test
+        Employee acknowledged = employeeService.updateEmployee(employee.toBuilder().email("tony.stark@gmail.com").build());
+        employeeService.flush();
+
+        // then - verify the output
+        Assertions.assertThat(acknowledged.getEmail()).isEqualTo("tony.stark@gmail.com");
+        verify(employeeServiceImpl, never()).findByEmail(anyString());
+        verify(employeeServiceImpl, never()).getEmployeeById(anyLong());
+        Assertions.assertThat(employeeService.pendingCount()).isZero();
+        Assertions.assertThat(employeeService.getRejected()).isEqualTo(1);
+        Assertions.assertThat(journal.replay()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("JUnit test for flush writing the updates of every tenant as that tenant")
+    public void givenUpdatesOfSeveralTenants_whenFlush_thenWriteEveryTenantAsItself() {
+        // given - precondition or setup
+        List<String> tenants = new ArrayList<>();
+        given(employeeServiceImpl.updateEmployees(anyCollection())).willAnswer(invocation -> {
+            tenants.add(TenantContext.current());
+            return List.copyOf(invocation.<Collection<Employee>>getArgument(0));
+        });
+        employeeService.updateEmployee(employee.toBuilder().tenantId(null).build());
+        try (TenantContext.Scope scope = TenantContext.enter("acme")) {
+            employeeService.updateEmployee(employee.toBuilder().id(2L).tenantId(null).build());
+            // An id of another tenant is not one of this tenant's employees
+            Assertions.assertThatThrownBy(() -> employeeService.updateEmployee(employee.toBuilder().tenantId(null).build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        }
+
+        // when - action or the behaviour that we are going to test
+        employeeService.flush();
+
+        // then - verify the output
+        Assertions.assertThat(tenants).containsExactlyInAnyOrder(TenantContext.DEFAULT, "acme");
+        Assertions.assertThat(employeeService.pendingCount()).isZero();
+    }
+}
@@ -0,0 +1,205 @@
+package com.bitwise.springboot.shard;
+
+import com.bitwise.springboot.exception.DuplicateEmailException;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
+import com.bitwise.springboot.service.EmployeeService;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the employee service against three in-memory H2 databases acting as shards.
+ */
+@SpringBootTest(properties = {
+    "employee.sharding.enabled=true",
+    "employee.sharding.urls=jdbc:h2:mem:employees-shard0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:employees-shard1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:employees-shard2;DB_CLOSE_DELAY=-1"
+})
+public class ShardingTests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @Autowired
+    private Shards shards;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    public void setup() {
+        for (int shard = 0; shard < shards.count(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource.getShard(shard));
+            jdbcTemplate.update("delete from employees");
+            jdbcTemplate.update("delete from employee_email_shards");
+            jdbcTemplate.update("delete from employee_outbox");
+        }
+
+        employees = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            employees.add(employeeService.saveEmployee(Employee.builder()
+                .firstName("First" + i)
+                .lastName("Last" + i)
+                .email("employee" + i + "@gmail.com")
+                .build()));
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for spreading saved employees over the shards of their ids")
+    public void givenEmployees_whenSaveEmployee_thenStoreEachOnShardOfItsId() {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        List<Integer> rowsPerShard = new ArrayList<>();
+        for (int shard = 0; shard < shards.count(); shard++) {
+            rowsPerShard.add(new JdbcTemplate(dataSource.getShard(shard)).queryForObject("select count(*) from employees", Integer.class));
+        }
+
+        // then - verify the output
+        Assertions.assertThat(rowsPerShard).allMatch(rows -> rows > 0);
+        Assertions.assertThat(rowsPerShard.stream().mapToInt(Integer::intValue).sum()).isEqualTo(30);
+        for (Employee employee : employees) {
+            Integer rows = new JdbcTemplate(dataSource.getShard(shards.shardFor(employee.getId())))
+                .queryForObject("select count(*) from employees where id = ?", Integer.class, employee.getId());
+            Assertions.assertThat(rows).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employee by id routed to its shard")
+    public void givenShardedEmployees_whenGetEmployeeById_thenReturnEmployee() {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> foundEmployees = employees.stream()
+            .map(employee -> employeeService.getEmployeeById(employee.getId()).orElseThrow())
+            .toList();
+
+        // then - verify the output
+        Assertions.assertThat(foundEmployees).extracting(Employee::getEmail)
+            .containsExactlyElementsOf(employees.stream().map(Employee::getEmail).toList());
+    }
+
+    @Test
+    @DisplayName("JUnit test for get all employees merged from every shard in id order")
+    public void givenShardedEmployees_whenGetAllEmployees_thenReturnAllInIdOrder() {
+        // given - precondition or setup
+
+        // when - action or the behaviour that we are going to test
+        List<Employee> allEmployees = employeeService.getAllEmployees();
+
+        // then - verify the output
+        Assertions.assertThat(allEmployees).hasSize(30);
+        Assertions.assertThat(allEmployees).extracting(Employee::getId).isSorted()
+            .containsExactlyInAnyOrderElementsOf(employees.stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    @DisplayName("JUnit test for batch get of employees spread over several shards")
+    public void givenIdsOnSeveralShards_whenGetEmployeesByIds_thenReturnResultsInRequestOrder() {
+        // given - precondition or setup
+        List<Long> ids = List.of(employees.get(5).getId(), -1L, employees.get(0).getId(), employees.get(17).getId());
+
+        // when - action or the behaviour that we are going to test
+        List<EmployeeLookupResult> results = employeeService.getEmployeesByIds(ids);
+
+        // then - verify the output
+        Assertions.assertThat(results).extracting(EmployeeLookupResult::getId).containsExactlyElementsOf(ids);
+        Assertions.assertThat(results).extracting(EmployeeLookupResult::isFound).containsExactly(true, false, true, true);
+    }
+
+    @Test
+    @DisplayName("JUnit test for save employee with an email taken on another shard")
+    public void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
+        // given - precondition or setup
+        Employee employee = employees.get(3);
+        Employee otherShard = employees.stream()
+            .filter(candidate -> shards.shardFor(candidate.getId()) != shards.shardFor(employee.getId()))
+            .findFirst().orElseThrow();
+        otherShard.setEmail("moved@gmail.com");
+        employeeService.updateEmployee(otherShard);
+
+        // when - action or the behaviour that we are going to test
+        Employee duplicate = Employee.builder().firstName("Ram").lastName("Jadhav").email("moved@gmail.com").build();
+
+        // then - verify the output
+        Assertions.assertThatThrownBy(() -> employeeService.saveEmployee(duplicate))
+            .isInstanceOf(DuplicateEmailException.class);
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee to an email taken on another shard")
+    public void givenEmailTakenOnOtherShard_whenUpdateEmployee_thenThrowsException() {
+        // given - precondition or setup
+        Employee employee = employees.get(3);
+        Employee otherShard = employees.stream()
+            .filter(candidate -> shards.shardFor(candidate.getId()) != shards.shardFor(employee.getId()))
+            .findFirst().orElseThrow();
+        Employee update = employeeService.getEmployeeById(otherShard.getId()).orElseThrow();
+        update.setEmail(employee.getEmail());
+
+        // when - action or the behaviour that we are going to test
+        Assertions.assertThatThrownBy(() -> employeeService.updateEmployee(update))
+            .isInstanceOf(DuplicateEmailException.class);
+
+        // then - verify the output
+        Assertions.assertThat(employeeService.getEmployeeById(otherShard.getId())).get()
+            .extracting(Employee::getEmail).isEqualTo(otherShard.getEmail());
+        Integer entries = new JdbcTemplate(dataSource.getShard(Shards.DIRECTORY_SHARD))
+            .queryForObject("select count(*) from employee_email_shards where email = ? and employee_id = ?",
+                Integer.class, employee.getEmail(), employee.getId());
+        Assertions.assertThat(entries).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("JUnit test for save employee with an email taken in another tenant")
+    public void givenEmailTakenInOtherTenant_whenSaveEmployee_thenEmployeeIsSaved() {
+        // given - precondition or setup
+        Employee employee = employees.get(5);
+        Employee otherTenant = Employee.builder().firstName("Ram").lastName("Jadhav").email(employee.getEmail()).build();
+
+        // when - action or the behaviour that we are going to test
+        Employee savedEmployee;
+        try (TenantContext.Scope scope = TenantContext.enter("acme")) {
+            savedEmployee = employeeService.saveEmployee(otherTenant);
+        }
+
+        // then - verify the output
+        try (TenantContext.Scope scope = TenantContext.enter("acme")) {
+            Assertions.assertThat(employeeService.getEmployeeById(savedEmployee.getId())).get()
+                .extracting(Employee::getTenantId).isEqualTo("acme");
+            Employee duplicate = Employee.builder().firstName("Sam").lastName("Jadhav").email(employee.getEmail()).build();
+            Assertions.assertThatThrownBy(() -> employeeService.saveEmployee(duplicate))
+                .isInstanceOf(DuplicateEmailException.class);
+        }
+        Assertions.assertThat(employeeService.getEmployeeById(employee.getId())).isPresent();
+        Integer entries = new JdbcTemplate(dataSource.getShard(Shards.DIRECTORY_SHARD))
+            .queryForObject("select count(*) from employee_email_shards where email = ?", Integer.class, employee.getEmail());
+        Assertions.assertThat(entries).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employee routed to its shard")
+    public void givenShardedEmployee_whenDeleteEmployee_thenEmployeeIsGone() {
+        // given - precondition or setup
+        Employee employee = employees.get(11);
+
+        // when - action or the behaviour that we are going to test
+        employeeService.deleteEmployee(employee.getId());
+
+        // then - verify the output
+        Assertions.assertThat(employeeService.getEmployeeById(employee.getId())).isEmpty();
+        Assertions.assertThat(employeeService.getAllEmployees()).hasSize(29);
+    }
+}
@@ -0,0 +1,34 @@
+package com.bitwise.springboot.startup;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.concurrent.TimeUnit;
+
+public class StartupTimingReportTests {
+
+    @Test
+    @DisplayName("JUnit test for startup report listing the slowest steps first")
+    public void givenStartupSteps_whenReport_thenListSlowestStepsFirst() throws Exception {
+        // given - precondition or setup
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(100);
+        StartupStep slowStep = applicationStartup.start("spring.beans.instantiate").tag("beanName", "entityManagerFactory");
+        TimeUnit.MILLISECONDS.sleep(30);
+        slowStep.end();
+        applicationStartup.start("spring.beans.instantiate").tag("beanName", "employeeController").end();
+        applicationStartup.start("spring.context.refresh").end();
+
+        StartupTimingReport startupTimingReport = new StartupTimingReport(2);
+
+        // when - action or the behaviour that we are going to test
+        String report = startupTimingReport.report(applicationStartup.getBufferedTimeline().getEvents());
+
+        // then - verify the output
+        Assertions.assertThat(report.lines().filter(line -> !line.isBlank()))
+            .hasSize(2)
+            .first().asString().contains("spring.beans.instantiate [beanName=entityManagerFactory]");
+    }
+}
@@ -0,0 +1,91 @@
+package com.bitwise.springboot.stats;
+
+import com.bitwise.springboot.event.EmployeeChangedEvent;
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeStats;
+import com.bitwise.springboot.repository.EmployeeRepository;
+import com.bitwise.springboot.shard.Shards;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeStatsServiceTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeStatsService employeeStatsService;
+
+    private Employee ramesh;
+    private Employee tony;
+    private Employee rameshwar;
+
+    @BeforeEach
+    public void setup() {
+        employeeStatsService = new EmployeeStatsService(employeeRepository, Shards.single(), 2);
+
+        ramesh = Employee.builder().id(1L).tenantId(TenantContext.DEFAULT)
+            .firstName("Ramesh").lastName("Fadatare").email("ramesh.fadatare@gmail.com").build();
+        tony = Employee.builder().id(2L).tenantId(TenantContext.DEFAULT)
+            .firstName("Tony").lastName("Stark").email("tony.stark@Gmail.com").build();
+        rameshwar = Employee.builder().id(3L).tenantId("acme")
+            .firstName("Rameshwar").lastName("singh").email("rsingh@yahoo.com").build();
+    }
+
+    @Test
+    @DisplayName("JUnit test for stats following creates, updates and deletes")
+    public void givenEmployeeChanges_whenGetStats_thenReturnUpdatedCounts() {
+        // given - precondition or setup
+        employeeStatsService.onEmployeeChanged(EmployeeChangedEvent.created(ramesh));
+        employeeStatsService.onEmployeeChanged(EmployeeChangedEvent.created(tony));
+        employeeStatsService.onEmployeeChanged(EmployeeChangedEvent.created(rameshwar));
+
+        // when - action or the behaviour that we are going to test
+        employeeStatsService.onEmployeeChanged(EmployeeChangedEvent.updated(tony.toBuilder().email("tony@stark.com").build()));
+        employeeStatsService.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+        employeeStatsService.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+        EmployeeStats stats = employeeStatsService.getStats();
+
+        // then - verify the output
+        Assertions.assertThat(stats.getTotal()).isEqualTo(1);
+        Assertions.assertThat(stats.getByEmailDomain()).containsExactly(Map.entry("stark.com", 1L));
+        Assertions.assertThat(stats.getByLastNameInitial()).containsExactly(Map.entry("S", 1L));
+        try (TenantContext.Scope scope = TenantContext.enter("acme")) {
+            Assertions.assertThat(employeeStatsService.getStats().getByEmailDomain()).containsExactly(Map.entry("yahoo.com", 1L));
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit test for reconciling drifted stats with the database")
+    public void givenDriftedStats_whenReconcile_thenReturnDatabaseCounts() {
+        // given - precondition or setup
+        employeeStatsService.onEmployeeChanged(EmployeeChangedEvent.created(rameshwar.toBuilder().id(4L).tenantId(TenantContext.DEFAULT).build()));
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).willAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            return afterId < 2 ? List.of(ramesh, tony) : afterId == 2 ? List.of(rameshwar) : List.of();
+        });
+
+        // when - action or the behaviour that we are going to test
+        employeeStatsService.reconcile();
+        EmployeeStats stats = employeeStatsService.getStats();
+
+        // then - verify the output
+        Assertions.assertThat(stats.getTotal()).isEqualTo(2);
+        Assertions.assertThat(stats.getByEmailDomain()).containsExactly(Map.entry("gmail.com", 2L));
+        Assertions.assertThat(stats.getByLastNameInitial()).containsExactly(Map.entry("F", 1L), Map.entry("S", 1L));
+        Assertions.assertThat(stats.getReconciledAt()).isNotNull();
+    }
+}
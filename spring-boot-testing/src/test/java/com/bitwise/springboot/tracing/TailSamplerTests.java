@@ -0,0 +1,54 @@
+package com.bitwise.springboot.tracing;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public class TailSamplerTests {
+
+    private static Span span(long durationMicros, String error) {
+        return new Span(TraceParent.newTraceId(), TraceParent.newSpanId(), null, "http.server.requests", null,
+            Instant.now(), durationMicros, Map.of(), error);
+    }
+
+    @Test
+    @DisplayName("JUnit test for keeping slow and failed traces")
+    public void givenTraces_whenKeep_thenKeepSlowFailedAndSampledTraces() {
+        // given - precondition or setup
+        TailSampler sampler = new TailSampler(Duration.ofMillis(500), 0);
+        Span fast = span(1_000, null);
+
+        // when - action or the behaviour that we are going to test
+
+        // then - verify the output
+        Assertions.assertThat(sampler.keep(List.of(fast), false)).isFalse();
+        Assertions.assertThat(sampler.keep(List.of(fast), true)).isTrue();
+        Assertions.assertThat(sampler.keep(List.of(span(600_000, null)), false)).isTrue();
+        Assertions.assertThat(sampler.keep(List.of(span(10, "java.sql.SQLException: timeout"), fast), false)).isTrue();
+    }
+
+    @Test
+    @DisplayName("JUnit test for parsing the traceparent header")
+    public void givenTraceParentHeaders_whenParse_thenReturnTraceContext() {
+        // given - precondition or setup
+        String header = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+        // when - action or the behaviour that we are going to test
+        TraceParent traceParent = TraceParent.parse(header);
+
+        // then - verify the output
+        Assertions.assertThat(traceParent.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        Assertions.assertThat(traceParent.spanId()).isEqualTo("00f067aa0ba902b7");
+        Assertions.assertThat(traceParent.sampled()).isTrue();
+        Assertions.assertThat(traceParent.format()).isEqualTo(header);
+        Assertions.assertThat(TraceParent.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01")).isNull();
+        Assertions.assertThat(TraceParent.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")).isNull();
+        Assertions.assertThat(TraceParent.parse("not a traceparent")).isNull();
+        Assertions.assertThat(TraceParent.parse(null)).isNull();
+    }
+}
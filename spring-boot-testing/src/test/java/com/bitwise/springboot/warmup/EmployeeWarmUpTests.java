@@ -0,0 +1,95 @@
+package com.bitwise.springboot.warmup;
+
+import com.bitwise.springboot.model.Employee;
+import com.bitwise.springboot.model.EmployeeLookupResult;
+import com.bitwise.springboot.service.EmployeeCache;
+import com.bitwise.springboot.service.EmployeeServiceImpl;
+import com.bitwise.springboot.tenant.TenantContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeWarmUpTests {
+
+    @Mock
+    private EmployeeServiceImpl employeeService;
+
+    @TempDir
+    private Path directory;
+
+    private EmployeeCache employeeCache;
+
+    @BeforeEach
+    public void setup() {
+        employeeCache = new EmployeeCache();
+        employeeCache.setMaxSize(100);
+    }
+
+    private static Employee employee(long id, String tenantId) {
+        return Employee.builder().id(id).tenantId(tenantId)
+            .firstName("Ramesh").lastName("Fadatare").email("ramesh" + id + "@gmail.com").build();
+    }
+
+    @Test
+    @DisplayName("JUnit test for reading back a warm-up snapshot")
+    public void givenWrittenSnapshot_whenRead_thenReturnIdsByTenant() throws Exception {
+        // given - precondition or setup
+        WarmUpSnapshot snapshot = new WarmUpSnapshot(directory.resolve("warm-up.snapshot"));
+        snapshot.write(Map.of(TenantContext.DEFAULT, List.of(1L, 2L, 3L)));
+
+        // when - action or the behaviour that we are going to test
+        Map<String, List<Long>> idsByTenant = snapshot.read();
+        Files.write(directory.resolve("warm-up.snapshot"), new byte[]{1, 2});
+
+        // then - verify the output
+        Assertions.assertThat(idsByTenant).containsExactly(Map.entry(TenantContext.DEFAULT, List.of(1L, 2L, 3L)));
+        Assertions.assertThat(snapshot.read()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("JUnit test for warming up the cache with the hot employees of the last run")
+    public void givenSnapshotOfHotEmployees_whenRun_thenCacheHoldsThem() {
+        // given - precondition or setup
+        given(employeeService.getEmployeeCache()).willReturn(employeeCache);
+        employeeCache.put(employee(1L, TenantContext.DEFAULT), employeeCache.generation());
+        employeeCache.put(employee(2L, TenantContext.DEFAULT), employeeCache.generation());
+        employeeCache.put(employee(3L, "acme"), employeeCache.generation());
+        employeeCache.get(TenantContext.DEFAULT, 2L);
+        employeeCache.get("acme", 3L);
+        Path snapshot = directory.resolve("warm-up.snapshot");
+        new EmployeeWarmUp(employeeService, snapshot, 2, 1, 2, Duration.ofSeconds(10)).close();
+
+        EmployeeCache restartedCache = new EmployeeCache();
+        restartedCache.setMaxSize(100);
+        given(employeeService.getEmployeeCache()).willReturn(restartedCache);
+        given(employeeService.getEmployeesByIds(anyList())).willAnswer(invocation -> {
+            Long id = invocation.<List<Long>>getArgument(0).get(0);
+            return List.of(EmployeeLookupResult.found(employee(id, TenantContext.current())));
+        });
+        EmployeeWarmUp warmUp = new EmployeeWarmUp(employeeService, snapshot, 2, 1, 2, Duration.ofSeconds(10));
+
+        // when - action or the behaviour that we are going to test
+        warmUp.run(null);
+
+        // then - verify the output
+        Assertions.assertThat(warmUp.getWarmedUp()).isEqualTo(2);
+        Assertions.assertThat(restartedCache.get(TenantContext.DEFAULT, 2L)).isNotNull();
+        Assertions.assertThat(restartedCache.get("acme", 3L)).isNotNull();
+        Assertions.assertThat(restartedCache.get(TenantContext.DEFAULT, 1L)).isNull();
+    }
+}